@@ -1,7 +1,6 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.io.Serial;
-import java.util.List;
 
 /**
  * An abstract class representing a frame for displaying a question in a vocabulary trainer.
@@ -23,6 +22,12 @@ public abstract class AbstractQuestionFrame extends JFrame {
   /** The word associated with the question. */
   protected Word word;
 
+  /**
+   * The direction of the question. A word asked in {@link Direction#REVERSE} shows a translation as
+   * its original and accepts the originals as its translations.
+   */
+  protected Direction direction;
+
   /** The user's response to the question. */
   protected String userResponse;
 
@@ -40,7 +45,25 @@ public abstract class AbstractQuestionFrame extends JFrame {
    * @param callback The callback to handle submitted answers.
    */
   public AbstractQuestionFrame(final Word word, final Nutzer currentUser, final Callback callback) {
+    this(word, Direction.FORWARD, currentUser, callback);
+  }
+
+  /**
+   * Constructs a new QuestionFrame instance asking in a direction.
+   *
+   * @param word The word associated with the question, reversed if it is asked in reverse.
+   * @param direction The direction of the question, {@link Direction#FORWARD} or {@link
+   *     Direction#REVERSE}.
+   * @param currentUser The current user of the vocabulary trainer.
+   * @param callback The callback to handle submitted answers.
+   */
+  public AbstractQuestionFrame(
+      final Word word,
+      final Direction direction,
+      final Nutzer currentUser,
+      final Callback callback) {
     this.word = word;
+    this.direction = direction;
     this.currentUser = currentUser;
     this.callback = callback;
     this.answerSubmitted = false;
@@ -51,11 +74,7 @@ public abstract class AbstractQuestionFrame extends JFrame {
 
   /** Abstract method to navigate back to the main menu. */
   protected void toMainMenu(){    closeFrame();
-    final java.util.List<String> availableLanguages = java.util.List.of("Spanish", "Russian");
-    final java.util.List<String> availableLevels = List.of("Beginner", "Intermediate", "Advanced");
     new MainMenu(
-            availableLanguages,
-            availableLevels,
             this.currentUser.getSelectedLanguage(),
             this.currentUser.getSelectedLevel(),
             currentUser)
@@ -0,0 +1,295 @@
+import java.text.Normalizer;
+import java.util.Set;
+
+/**
+ * The {@code AnswerMatcher} class grades the answer of a user against the translation of a word.
+ * Both are reduced to a key first: decomposed (NFD), stripped of diacritics, case-folded, without
+ * punctuation and with single spaces, so {@code "Cafe"} is the same answer as {@code "café"} and
+ * {@code "еж"} the same as {@code "ёж"}. The letters {@code ñ} and {@code й} keep their marks, since
+ * they are letters of their own and not accented letters.
+ *
+ * <p>An answer with the same key is {@link Grade#EXACT}. An answer within {@link #tolerance(int)}
+ * edits of the key is a {@link Grade#NEAR_MISS}, everything else {@link Grade#WRONG}. The edit
+ * distance stops as soon as it exceeds the tolerance.
+ *
+ * <p>The keys of the translations are computed once per word (see {@link Word#getAnswerKeys()}).
+ * The characters are folded with a table computed at class initialization, and every matcher reuses
+ * its buffers, so checking an answer against the first translation does not allocate. Only for a
+ * word with several translations, an answer that is not the first one is turned into a string and
+ * looked up in the hash set of keys. A matcher is not thread-safe; {@link #check(String, Word)} uses
+ * one matcher per thread.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class AnswerMatcher {
+  /** The grade of an answer. */
+  public enum Grade {
+    /** The answer is the translation, apart from case, diacritics and punctuation. */
+    EXACT,
+    /** The answer is the translation with a typo. */
+    NEAR_MISS,
+    /** The answer is not the translation. */
+    WRONG
+  }
+
+  /** The number of characters folded with {@link #FOLDED}. */
+  private static final int TABLE_SIZE = 0x2000;
+
+  /** The folded form of every character below {@link #TABLE_SIZE}; 0 drops the character. */
+  private static final char[] FOLDED = new char[TABLE_SIZE];
+
+  /** The matcher of every thread. */
+  private static final ThreadLocal<AnswerMatcher> MATCHERS =
+      ThreadLocal.withInitial(AnswerMatcher::new);
+
+  static {
+    for (int c = 0; c < TABLE_SIZE; c++) {
+      FOLDED[c] = foldSlowly((char) c);
+    }
+  }
+
+  /** The folded answer. */
+  private char[] answer;
+
+  /** The previous row of the edit distance. */
+  private int[] previous;
+
+  /** The current row of the edit distance. */
+  private int[] current;
+
+  /** Constructs a new {@code AnswerMatcher}. */
+  public AnswerMatcher() {
+    this.answer = new char[32];
+    this.previous = new int[33];
+    this.current = new int[33];
+  }
+
+  /**
+   * Grades an answer with the matcher of the current thread.
+   *
+   * @param userResponse The answer of the user.
+   * @param word The word asked.
+   * @return The grade.
+   */
+  public static Grade check(final String userResponse, final Word word) {
+    return MATCHERS.get().grade(userResponse, word);
+  }
+
+  /**
+   * Grades an answer against all translations of a word.
+   *
+   * @param userResponse The answer of the user.
+   * @param word The word asked.
+   * @return The grade.
+   */
+  public Grade grade(final CharSequence userResponse, final Word word) {
+    // Keys computed on first use are folded by this matcher, so they must be known before the answer
+    final String firstKey = word.getAnswerKey();
+    final Set<String> keys = word.getAnswerKeys();
+    final int length = fold(userResponse);
+    if (length == firstKey.length() && matches(firstKey, length)) {
+      return Grade.EXACT;
+    }
+    if (keys.size() > 1 && keys.contains(new String(answer, 0, length))) {
+      return Grade.EXACT;
+    }
+    if (isNearMiss(firstKey, length)) {
+      return Grade.NEAR_MISS;
+    }
+    if (keys.size() > 1) {
+      for (final String key : keys) {
+        if (isNearMiss(key, length)) {
+          return Grade.NEAR_MISS;
+        }
+      }
+    }
+    return Grade.WRONG;
+  }
+
+  /**
+   * Grades an answer.
+   *
+   * @param userResponse The answer of the user.
+   * @param key The key of the correct answer, see {@link #key(String)}.
+   * @return The grade.
+   */
+  public Grade grade(final CharSequence userResponse, final String key) {
+    final int length = fold(userResponse);
+    if (length == key.length() && matches(key, length)) {
+      return Grade.EXACT;
+    }
+    return isNearMiss(key, length) ? Grade.NEAR_MISS : Grade.WRONG;
+  }
+
+  /**
+   * Computes the key of a text.
+   *
+   * @param text The text.
+   * @return The text decomposed, without diacritics and punctuation, in lower case and with single
+   *     spaces between words.
+   */
+  public static String key(final String text) {
+    final AnswerMatcher matcher = MATCHERS.get();
+    final int length = matcher.fold(text);
+    return new String(matcher.answer, 0, length);
+  }
+
+  /**
+   * Gets the number of edits that still count as a near miss: none for keys of up to 3 characters,
+   * one up to 7 characters and two for longer keys.
+   *
+   * @param keyLength The length of the key.
+   * @return The number of edits.
+   */
+  static int tolerance(final int keyLength) {
+    if (keyLength <= 3) {
+      return 0;
+    }
+    return keyLength <= 7 ? 1 : 2;
+  }
+
+  /**
+   * Folds a text into the answer buffer.
+   *
+   * @param text The text.
+   * @return The length of the folded text.
+   */
+  private int fold(final CharSequence text) {
+    if (answer.length < text.length()) {
+      answer = new char[Math.max(text.length(), answer.length * 2)];
+    }
+    int length = 0;
+    boolean space = false;
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      final char folded = c < TABLE_SIZE ? FOLDED[c] : foldOther(c);
+      if (folded == 0) {
+        continue;
+      }
+      if (folded == ' ') {
+        // Spaces are only kept between words
+        space = length > 0;
+      } else {
+        if (space) {
+          answer[length++] = ' ';
+          space = false;
+        }
+        answer[length++] = folded;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Checks whether the answer buffer is within the tolerance of a key.
+   *
+   * @param key The key.
+   * @param length The length of the answer.
+   * @return {@code true} if the answer is a near miss of the key.
+   */
+  private boolean isNearMiss(final String key, final int length) {
+    final int tolerance = tolerance(key.length());
+    return tolerance > 0 && distance(key, length, tolerance) <= tolerance;
+  }
+
+  /**
+   * Compares the answer buffer with a key of the same length.
+   *
+   * @param key The key.
+   * @param length The length of the answer.
+   * @return {@code true} if they are equal.
+   */
+  private boolean matches(final String key, final int length) {
+    for (int i = 0; i < length; i++) {
+      if (answer[i] != key.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Calculates the Levenshtein distance between a key and the answer buffer, stopping as soon as it
+   * exceeds a bound. Only the cells at most {@code bound} away from the diagonal are computed, since
+   * every other cell is larger than the bound.
+   *
+   * @param key The key.
+   * @param length The length of the answer.
+   * @param bound The largest distance of interest.
+   * @return The distance, or {@code bound + 1} if it is larger than the bound.
+   */
+  private int distance(final String key, final int length, final int bound) {
+    if (Math.abs(key.length() - length) > bound) {
+      return bound + 1;
+    }
+    if (previous.length <= length + 1) {
+      previous = new int[length + 2];
+      current = new int[length + 2];
+    }
+    final int outside = bound + 1;
+    for (int j = 0; j <= Math.min(length, bound); j++) {
+      previous[j] = j;
+    }
+    previous[Math.min(length, bound) + 1] = outside;
+    for (int i = 1; i <= key.length(); i++) {
+      final int first = Math.max(1, i - bound);
+      final int last = Math.min(length, i + bound);
+      current[first - 1] = first == 1 ? i : outside;
+      int rowMinimum = current[first - 1];
+      final char c = key.charAt(i - 1);
+      for (int j = first; j <= last; j++) {
+        final int substitution = previous[j - 1] + (c == answer[j - 1] ? 0 : 1);
+        current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+        rowMinimum = Math.min(rowMinimum, current[j]);
+      }
+      current[last + 1] = outside;
+      if (rowMinimum > bound) {
+        return outside;
+      }
+      final int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return Math.min(previous[length], outside);
+  }
+
+  /**
+   * Folds a character of the table.
+   *
+   * @param c The character.
+   * @return The base letter in lower case, a space for whitespace, or 0 to drop the character.
+   */
+  private static char foldSlowly(final char c) {
+    if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+      return ' ';
+    }
+    if (!Character.isLetterOrDigit(c)) {
+      // Combining marks, punctuation and symbols
+      return 0;
+    }
+    final char lower = Character.toLowerCase(c);
+    // Keep the tilde of ñ and the breve of й
+    if (lower == '\u00f1' || lower == '\u0439') {
+      return lower;
+    }
+    return Normalizer.normalize(String.valueOf(lower), Normalizer.Form.NFD).charAt(0);
+  }
+
+  /**
+   * Folds a character above the table.
+   *
+   * @param c The character.
+   * @return The character in lower case, a space for whitespace, or 0 to drop the character.
+   */
+  private static char foldOther(final char c) {
+    if (Character.isSurrogate(c)) {
+      return c;
+    }
+    if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+      return ' ';
+    }
+    return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : 0;
+  }
+}
@@ -0,0 +1,393 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code BinaryUserStore} class stores the users as fixed-width binary records in a
+ * memory-mapped file. A username-to-slot index is kept in memory, so a high score update is a single
+ * in-place write of 4 bytes and no text has to be split or parsed.
+ *
+ * <p>The file starts with a header (magic number, format version, number of records, record size
+ * and a generation counter that is incremented with every write). Each record holds the high score
+ * followed by the username, password and email as length-prefixed UTF-8 fields of fixed width. A
+ * missing password or email (guest users) is stored with the length {@value #NULL_LENGTH}.
+ *
+ * <p>{@link #importText(Path, Path)} and {@link #exportText(Path, Path)} convert between this
+ * format and the text format of userDatabase.txt. They can also be used from the command line:
+ * {@code java BinaryUserStore import|export <from> <to>}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class BinaryUserStore implements UserStore {
+  /** The logger of the BinaryUserStore class. */
+  private static final Logger logger = Logger.getLogger(BinaryUserStore.class.getName());
+
+  /** The magic number at the start of the file ("VTUD"). */
+  private static final int MAGIC = 0x56545544;
+
+  /** The version of the file format. */
+  private static final int FORMAT_VERSION = 1;
+
+  /** The offset of the record count in the header. */
+  private static final int COUNT_OFFSET = 8;
+
+  /** The offset of the generation counter in the header. */
+  private static final int GENERATION_OFFSET = 16;
+
+  /** The size of the header in bytes. */
+  private static final int HEADER_SIZE = 24;
+
+  /** The width of the username field in bytes, including the length byte. */
+  private static final int USERNAME_WIDTH = 64;
+
+  /** The width of the password field in bytes, including the length byte. */
+  private static final int PASSWORD_WIDTH = 64;
+
+  /** The width of the email field in bytes, including the length byte. */
+  private static final int EMAIL_WIDTH = 128;
+
+  /** The size of a record in bytes. */
+  static final int RECORD_SIZE = Integer.BYTES + USERNAME_WIDTH + PASSWORD_WIDTH + EMAIL_WIDTH;
+
+  /** The length byte marking a missing field. */
+  private static final int NULL_LENGTH = 0xFF;
+
+  /** The number of record slots the file is created with. */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /** The path of the binary database file. */
+  private final Path databaseFile;
+
+  /** The slots of the users in the file, indexed by username. */
+  private final Map<String, Integer> slots;
+
+  /** The memory-mapped content of the file. */
+  private volatile MappedByteBuffer buffer;
+
+  /** The generation of the file at the time it was last loaded or written. */
+  private volatile long loadedGeneration;
+
+  /** The file key of the file at the time it was mapped. */
+  private volatile Object mappedFileKey;
+
+  /**
+   * Constructs a new {@code BinaryUserStore} for the given binary database file.
+   *
+   * @param databaseFile The path of the binary database file.
+   */
+  public BinaryUserStore(final Path databaseFile) {
+    this.databaseFile = databaseFile;
+    this.slots = new HashMap<>();
+  }
+
+  @Override
+  public Map<String, UserRecord> load() throws IOException {
+    map(INITIAL_CAPACITY);
+    slots.clear();
+
+    final Map<String, UserRecord> users = new LinkedHashMap<>();
+    final int count = buffer.getInt(COUNT_OFFSET);
+    for (int slot = 0; slot < count; slot++) {
+      final UserRecord user = readRecord(slot);
+      if (users.putIfAbsent(user.username(), user) == null) {
+        slots.put(user.username(), slot);
+      }
+    }
+    loadedGeneration = buffer.getLong(GENERATION_OFFSET);
+    return users;
+  }
+
+  @Override
+  public Path getDatabaseFile() {
+    return databaseFile;
+  }
+
+  @Override
+  public boolean hasChanged() throws IOException {
+    return buffer == null
+        || !Files.exists(databaseFile)
+        || !Objects.equals(mappedFileKey, readFileKey())
+        || buffer.getLong(GENERATION_OFFSET) != loadedGeneration;
+  }
+
+  @Override
+  public void append(final UserRecord user) throws IOException {
+    final int slot = buffer.getInt(COUNT_OFFSET);
+    if (HEADER_SIZE + (long) (slot + 1) * RECORD_SIZE > buffer.capacity()) {
+      map(Math.max(INITIAL_CAPACITY, slot * 2));
+    }
+    writeRecord(slot, user);
+    buffer.putInt(COUNT_OFFSET, slot + 1);
+    slots.putIfAbsent(user.username(), slot);
+    nextGeneration();
+  }
+
+  @Override
+  public void update(final UserRecord user) throws IOException {
+    final Integer slot = slots.get(user.username());
+    if (slot == null) {
+      // If the user is not found in the file, add a new entry
+      append(user);
+      return;
+    }
+    buffer.putInt(HEADER_SIZE + slot * RECORD_SIZE, user.highScore());
+    nextGeneration();
+  }
+
+  /** Forces the content of the file to the storage device. */
+  public void force() {
+    if (buffer != null) {
+      buffer.force();
+    }
+  }
+
+  /**
+   * Maps the file into memory, creating it or growing it to hold at least the given number of
+   * records.
+   *
+   * @param capacity The minimum number of records the mapping must hold.
+   * @throws IOException If an error occurs while mapping the file.
+   */
+  private void map(final int capacity) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            databaseFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      final boolean created = channel.size() < HEADER_SIZE;
+      final long existingSize = created ? 0 : channel.size();
+      final long size = Math.max(existingSize, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+      if (created) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(COUNT_OFFSET, 0);
+        buffer.putInt(12, RECORD_SIZE);
+        buffer.putLong(GENERATION_OFFSET, 0);
+      } else if (buffer.getInt(0) != MAGIC || buffer.getInt(12) != RECORD_SIZE) {
+        throw new IOException("Not a binary user database: " + databaseFile);
+      }
+    }
+    mappedFileKey = readFileKey();
+  }
+
+  /**
+   * Reads the file key identifying the database file, which changes when the file is replaced.
+   *
+   * @return The file key of the database file.
+   * @throws IOException If the attributes cannot be read.
+   */
+  private Object readFileKey() throws IOException {
+    return Files.readAttributes(databaseFile, BasicFileAttributes.class).fileKey();
+  }
+
+  /** Increments the generation counter after a write. */
+  private void nextGeneration() {
+    loadedGeneration = buffer.getLong(GENERATION_OFFSET) + 1;
+    buffer.putLong(GENERATION_OFFSET, loadedGeneration);
+  }
+
+  /**
+   * Reads the record in the given slot.
+   *
+   * @param slot The slot of the record.
+   * @return The record.
+   */
+  private UserRecord readRecord(final int slot) {
+    final int offset = HEADER_SIZE + slot * RECORD_SIZE;
+    final int highScore = buffer.getInt(offset);
+    final String username = readField(offset + Integer.BYTES);
+    final String password = readField(offset + Integer.BYTES + USERNAME_WIDTH);
+    final String email = readField(offset + Integer.BYTES + USERNAME_WIDTH + PASSWORD_WIDTH);
+    return new UserRecord(username, highScore, password, email);
+  }
+
+  /**
+   * Writes a record into the given slot.
+   *
+   * @param slot The slot of the record.
+   * @param user The record to write.
+   * @throws IOException if a field of the record does not fit into its width.
+   */
+  private void writeRecord(final int slot, final UserRecord user) throws IOException {
+    if (!fits(user)) {
+      throw new IOException(
+          "User too long for the binary user database (max "
+              + (USERNAME_WIDTH - 1)
+              + " bytes per username and password, "
+              + (EMAIL_WIDTH - 1)
+              + " per email): "
+              + user.username());
+    }
+    final int offset = HEADER_SIZE + slot * RECORD_SIZE;
+    buffer.putInt(offset, user.highScore());
+    writeField(offset + Integer.BYTES, USERNAME_WIDTH, user.username());
+    writeField(offset + Integer.BYTES + USERNAME_WIDTH, PASSWORD_WIDTH, user.password());
+    writeField(
+        offset + Integer.BYTES + USERNAME_WIDTH + PASSWORD_WIDTH, EMAIL_WIDTH, user.email());
+  }
+
+  /**
+   * Reads a length-prefixed UTF-8 field.
+   *
+   * @param offset The offset of the field.
+   * @return The value of the field, or {@code null} if it is missing.
+   */
+  private String readField(final int offset) {
+    final int length = buffer.get(offset) & 0xFF;
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    final byte[] bytes = new byte[length];
+    buffer.get(offset + 1, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes a length-prefixed UTF-8 field.
+   *
+   * @param offset The offset of the field.
+   * @param width The width of the field, including the length byte.
+   * @param value The value of the field, or {@code null} if it is missing.
+   * @throws IOException if the value does not fit into the field.
+   */
+  private void writeField(final int offset, final int width, final String value)
+      throws IOException {
+    if (value == null) {
+      buffer.put(offset, (byte) NULL_LENGTH);
+      return;
+    }
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (!fits(bytes, width)) {
+      throw new IOException(
+          "Value too long for the binary user database (max " + (width - 1) + " bytes): " + value);
+    }
+    buffer.put(offset, (byte) bytes.length);
+    buffer.put(offset + 1, bytes);
+    buffer.put(offset + 1 + bytes.length, new byte[width - 1 - bytes.length]);
+  }
+
+  /**
+   * Checks that every field of a record fits into its width.
+   *
+   * @param user The record.
+   * @return {@code true} if the record can be stored.
+   */
+  static boolean fits(final UserRecord user) {
+    return fits(user.username(), USERNAME_WIDTH)
+        && fits(user.password(), PASSWORD_WIDTH)
+        && fits(user.email(), EMAIL_WIDTH);
+  }
+
+  /**
+   * Checks that a value fits into a field.
+   *
+   * @param value The value, or {@code null} if it is missing.
+   * @param width The width of the field, including the length byte.
+   * @return {@code true} if the value can be stored.
+   */
+  private static boolean fits(final String value, final int width) {
+    return value == null || fits(value.getBytes(StandardCharsets.UTF_8), width);
+  }
+
+  /**
+   * Checks that an encoded value fits into a field.
+   *
+   * @param bytes The UTF-8 bytes of the value.
+   * @param width The width of the field, including the length byte.
+   * @return {@code true} if the value can be stored.
+   */
+  private static boolean fits(final byte[] bytes, final int width) {
+    return bytes.length <= width - 1 && bytes.length < NULL_LENGTH;
+  }
+
+  /**
+   * Imports a user database in the text format into a new binary database file. Users with a field
+   * that does not fit into the binary format are skipped and logged.
+   *
+   * @param textFile The path of the text database.
+   * @param binaryFile The path of the binary database to create.
+   * @return The number of imported users.
+   * @throws IOException If an error occurs while reading or writing the databases.
+   */
+  public static int importText(final Path textFile, final Path binaryFile) throws IOException {
+    Files.deleteIfExists(binaryFile);
+    final BinaryUserStore store = new BinaryUserStore(binaryFile);
+    store.load();
+    int count = 0;
+    try (BufferedReader reader = new BufferedReader(new FileReader(textFile.toFile()))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final UserRecord user = TextUserStore.parseLine(line);
+        if (user == null || store.slots.containsKey(user.username())) {
+          continue;
+        }
+        if (!fits(user)) {
+          logger.log(
+              Level.WARNING, "Skipping user too long for the binary format: " + user.username());
+          continue;
+        }
+        store.append(user);
+        count++;
+      }
+    }
+    store.force();
+    return count;
+  }
+
+  /**
+   * Exports a binary user database into the text format.
+   *
+   * @param binaryFile The path of the binary database.
+   * @param textFile The path of the text database to write.
+   * @return The number of exported users.
+   * @throws IOException If an error occurs while reading or writing the databases.
+   */
+  public static int exportText(final Path binaryFile, final Path textFile) throws IOException {
+    final Map<String, UserRecord> users = new BinaryUserStore(binaryFile).load();
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(textFile.toFile()))) {
+      for (final UserRecord user : users.values()) {
+        writer.write(user.toLine() + "\n");
+      }
+    }
+    return users.size();
+  }
+
+  /**
+   * Converts between the text and the binary user database.
+   *
+   * @param args {@code import <text file> <binary file>} or {@code export <binary file> <text
+   *     file>}.
+   * @throws IOException If an error occurs while reading or writing the databases.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 3 || !(args[0].equals("import") || args[0].equals("export"))) {
+      System.err.println("Usage: BinaryUserStore import|export <from> <to>");
+      return;
+    }
+    final Path from = Paths.get(args[1]);
+    final Path to = Paths.get(args[2]);
+    final int count = args[0].equals("import") ? importText(from, to) : exportText(from, to);
+    logger.log(Level.INFO, "Converted " + count + " users from " + from + " to " + to);
+  }
+}
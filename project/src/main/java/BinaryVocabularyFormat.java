@@ -0,0 +1,33 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The {@code BinaryVocabularyFormat} class is the {@link VocabularyFormat} of the precompiled
+ * binary vocabulary files written by {@link VocabularyFile}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class BinaryVocabularyFormat implements VocabularyFormat {
+  @Override
+  public String getName() {
+    return "vocab";
+  }
+
+  @Override
+  public String getExtension() {
+    return VocabularyFile.EXTENSION;
+  }
+
+  @Override
+  public List<Word> read(final Path file) throws IOException {
+    return VocabularyFile.read(file);
+  }
+
+  @Override
+  public List<Word> readResource(final String resourceName) {
+    return VocabularyFile.readResource(resourceName);
+  }
+}
@@ -0,0 +1,199 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code BloomFilter} class is a probabilistic set of strings. It answers whether a string
+ * might have been added: a negative answer is always correct, a positive answer is wrong with the
+ * false positive rate the filter was sized for.
+ *
+ * <p>The filter is sized from the expected number of strings and the false positive rate. Each
+ * string sets a fixed number of bits, derived from one 64-bit hash by double hashing. Strings are
+ * added by a single thread, but the filter can be queried from any thread.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class BloomFilter {
+  /** The magic number at the start of a persisted filter ("VTBF"). */
+  private static final int MAGIC = 0x56544246;
+
+  /** The bits of the filter. */
+  private final AtomicLongArray bits;
+
+  /** The number of bits of the filter. */
+  private final long bitCount;
+
+  /** The number of bits set per string. */
+  private final int hashCount;
+
+  /** The number of strings the filter was sized for. */
+  private final int expectedInsertions;
+
+  /**
+   * Constructs a new empty {@code BloomFilter}.
+   *
+   * @param expectedInsertions The number of strings the filter is sized for.
+   * @param falsePositiveRate The false positive rate at the expected number of strings.
+   * @throws IllegalArgumentException if the false positive rate is not between 0 and 1.
+   */
+  public BloomFilter(final int expectedInsertions, final double falsePositiveRate) {
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+      throw new IllegalArgumentException(
+          "The false positive rate must be between 0 and 1: " + falsePositiveRate);
+    }
+    this.expectedInsertions = Math.max(1, expectedInsertions);
+    final double bitsPerString = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    final long size =
+        Math.max(Long.SIZE, (long) Math.ceil(this.expectedInsertions * bitsPerString));
+    this.bits = new AtomicLongArray((int) ((size + Long.SIZE - 1) / Long.SIZE));
+    this.bitCount = (long) bits.length() * Long.SIZE;
+    this.hashCount = Math.max(1, (int) Math.round(bitsPerString * Math.log(2)));
+  }
+
+  /**
+   * Constructs a {@code BloomFilter} from persisted bits.
+   *
+   * @param bits The bits of the filter.
+   * @param hashCount The number of bits set per string.
+   * @param expectedInsertions The number of strings the filter was sized for.
+   */
+  private BloomFilter(final long[] bits, final int hashCount, final int expectedInsertions) {
+    this.bits = new AtomicLongArray(bits);
+    this.bitCount = (long) bits.length * Long.SIZE;
+    this.hashCount = hashCount;
+    this.expectedInsertions = expectedInsertions;
+  }
+
+  /**
+   * Adds a string to the filter.
+   *
+   * @param value The string to add.
+   */
+  public void add(final String value) {
+    final long hash = hash(value);
+    final int hash1 = (int) hash;
+    final int hash2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      final long bit = index(hash1, hash2, i);
+      final int word = (int) (bit >>> 6);
+      final long mask = 1L << bit;
+      if ((bits.get(word) & mask) == 0) {
+        bits.getAndUpdate(word, current -> current | mask);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a string might have been added to the filter.
+   *
+   * @param value The string to check.
+   * @return {@code false} if the string was definitely not added, {@code true} if it might have
+   *     been.
+   */
+  public boolean mightContain(final String value) {
+    final long hash = hash(value);
+    final int hash1 = (int) hash;
+    final int hash2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      final long bit = index(hash1, hash2, i);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the number of strings the filter was sized for. Beyond it, the false positive rate grows.
+   *
+   * @return The expected number of strings.
+   */
+  public int getExpectedInsertions() {
+    return expectedInsertions;
+  }
+
+  /**
+   * Writes the filter to a file, replacing it atomically.
+   *
+   * @param file The path of the file.
+   * @throws IOException If an error occurs while writing the file.
+   */
+  public void writeTo(final Path file) throws IOException {
+    final Path tempFile = Paths.get(file + "_temp");
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      output.writeInt(MAGIC);
+      output.writeInt(hashCount);
+      output.writeInt(expectedInsertions);
+      output.writeInt(bits.length());
+      for (int i = 0; i < bits.length(); i++) {
+        output.writeLong(bits.get(i));
+      }
+    }
+    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Reads a filter written by {@link #writeTo(Path)}.
+   *
+   * @param file The path of the file.
+   * @return The filter read from the file.
+   * @throws IOException If an error occurs while reading the file or it is not a filter.
+   */
+  public static BloomFilter readFrom(final Path file) throws IOException {
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != MAGIC) {
+        throw new IOException("Not a bloom filter: " + file);
+      }
+      final int hashCount = input.readInt();
+      final int expectedInsertions = input.readInt();
+      final long[] words = new long[input.readInt()];
+      for (int i = 0; i < words.length; i++) {
+        words[i] = input.readLong();
+      }
+      return new BloomFilter(words, hashCount, expectedInsertions);
+    }
+  }
+
+  /**
+   * Computes the bit for the given round of double hashing.
+   *
+   * @param hash1 The first hash of the string.
+   * @param hash2 The second hash of the string.
+   * @param round The round, between 0 and the number of bits set per string.
+   * @return The index of the bit.
+   */
+  private long index(final int hash1, final int hash2, final int round) {
+    return Math.floorMod(hash1 + (long) round * hash2, bitCount);
+  }
+
+  /**
+   * Computes a 64-bit hash of a string (FNV-1a followed by the MurmurHash3 finalizer).
+   *
+   * @param value The string to hash.
+   * @return The hash of the string.
+   */
+  private static long hash(final String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -15,4 +15,17 @@ public interface Callback {
    * @param correctAnswer The correct answer against which the user's response is compared.
    */
   void answerSubmitted(String userResponse, String correctAnswer);
+
+  /**
+   * Handles an answer that was already graded by the question. By default, the answer is passed to
+   * {@link #answerSubmitted(String, String)}.
+   *
+   * @param userResponse The user's response.
+   * @param word The word asked.
+   * @param grade The grade of the response.
+   */
+  default void answerGraded(
+      final String userResponse, final Word word, final AnswerMatcher.Grade grade) {
+    answerSubmitted(userResponse, word.getTranslation());
+  }
 }
@@ -0,0 +1,88 @@
+import java.util.List;
+
+/**
+ * The {@code CatalogVocabularyFactory} class is the {@link VocabularyFactory} of a language of the
+ * {@link VocabularyCatalog}. It replaces one factory class per language: the vocabulary file and
+ * format of every level come from the catalog. The words are parsed once and then served from the
+ * {@link VocabularyCache}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class CatalogVocabularyFactory implements VocabularyFactory {
+  /** The catalog listing the levels of the language. */
+  private final VocabularyCatalog catalog;
+
+  /** The name of the language. */
+  private final String language;
+
+  /**
+   * Constructs a new {@code CatalogVocabularyFactory}.
+   *
+   * @param catalog The catalog listing the levels of the language.
+   * @param language The name of the language.
+   */
+  public CatalogVocabularyFactory(final VocabularyCatalog catalog, final String language) {
+    this.catalog = catalog;
+    this.language = language;
+  }
+
+  /**
+   * Creates a new language instance based on the specified vocabulary level.
+   *
+   * @param level the vocabulary level for which to create a language
+   * @return a new Language instance with the words of the level
+   */
+  @Override
+  public Language createLanguage(final VocabularyLevel level) {
+    return new Language(language, createWord(level.getLevelName()));
+  }
+
+  /**
+   * Creates a list of words based on the specified vocabulary level.
+   *
+   * @param level the vocabulary level for which to create words
+   * @return a list of Word instances
+   * @throws IllegalArgumentException if the catalog has no such level for the language
+   */
+  @Override
+  public List<Word> createWord(final String level) {
+    final VocabularyCatalog.Entry entry = catalog.find(language, level);
+    if (entry == null) {
+      throw new IllegalArgumentException("No " + language + " vocabulary for level " + level);
+    }
+    return VocabularyCache.getInstance()
+        .get(
+            language,
+            level,
+            () -> {
+              final WordTable words = WordTable.copyOf(catalog.readWords(entry));
+              // Prepare the translations while loading, so the questions do not wait for it
+              words.computeAnswerKeys();
+              words.getSimilarityIndex();
+              words.reversed().getSimilarityIndex();
+              return words;
+            });
+  }
+
+  /**
+   * Creates a new vocabulary level instance based on the specified level name.
+   *
+   * @param level the name of the vocabulary level
+   * @return a new VocabularyLevel instance
+   */
+  @Override
+  public VocabularyLevel createVocabularyLevel(final String level) {
+    return new VocabularyLevel(level);
+  }
+
+  /**
+   * Gets the name of the language.
+   *
+   * @return The name of the language.
+   */
+  public String getLanguage() {
+    return language;
+  }
+}
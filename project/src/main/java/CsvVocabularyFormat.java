@@ -0,0 +1,33 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The {@code CsvVocabularyFormat} class is the {@link VocabularyFormat} of comma-separated text
+ * files, read by {@link DelimitedTextReader}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class CsvVocabularyFormat implements VocabularyFormat {
+  @Override
+  public String getName() {
+    return "csv";
+  }
+
+  @Override
+  public String getExtension() {
+    return ".csv";
+  }
+
+  @Override
+  public List<Word> read(final Path file) throws IOException {
+    return DelimitedTextReader.readWords(file);
+  }
+
+  @Override
+  public List<Word> readResource(final String resourceName) {
+    return DelimitedTextReader.readResource(resourceName);
+  }
+}
@@ -0,0 +1,287 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code DelimitedTextReader} class reads words from UTF-8 text files with one word per line,
+ * as exported by spreadsheets and dictionaries. The delimiter is chosen by the file extension: a tab
+ * for {@code .tsv} files and a comma for {@code .csv} files. As with the Excel files, the first
+ * field of a line is the original and the second field is the translation; further fields that
+ * are not blank are accepted translations as well, and lines with fewer than two fields are skipped.
+ *
+ * <p>Files are mapped into memory and parsed byte by byte, so no string is created for a line or
+ * for a blank field. A field may be quoted with double quotes to contain the
+ * delimiter or a line break; a double quote inside a quoted field is written twice.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class DelimitedTextReader {
+  /** The logger of the DelimitedTextReader class. */
+  private static final Logger logger = Logger.getLogger(DelimitedTextReader.class.getName());
+
+  /** The extensions of the supported files, in the order they are looked up. */
+  public static final List<String> EXTENSIONS = List.of(".tsv", ".csv");
+
+  /** The byte order mark some editors write at the start of UTF-8 files. */
+  private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  /** Private constructor to prevent instantiation. */
+  private DelimitedTextReader() {}
+
+  /**
+   * Reads the words of a delimited text file by mapping it into memory.
+   *
+   * @param file The path of the file.
+   * @return The words of the file.
+   * @throws IOException If the file cannot be read.
+   * @throws IllegalArgumentException if the file extension is not supported.
+   */
+  public static List<Word> readWords(final Path file) throws IOException {
+    final byte delimiter = delimiterFor(file.getFileName().toString());
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      final WordTable.Builder words = new WordTable.Builder(0);
+      parse(buffer, delimiter, words::add);
+      return words.build();
+    }
+  }
+
+  /**
+   * Reads the words of a delimited text file and passes them to a consumer line by line.
+   *
+   * @param file The path of the file.
+   * @param consumer Receives the words in the order of the lines.
+   * @throws IOException If the file cannot be read.
+   * @throws IllegalArgumentException if the file extension is not supported.
+   */
+  public static void readWords(final Path file, final Consumer<Word> consumer) throws IOException {
+    final byte delimiter = delimiterFor(file.getFileName().toString());
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      parse(
+          buffer,
+          delimiter,
+          (original, translations) -> consumer.accept(new Word(original, translations)));
+    }
+  }
+
+  /**
+   * Reads the words of a delimited text file on the classpath. A resource in a directory is mapped
+   * into memory; a resource in a JAR file is read into memory.
+   *
+   * @param resourceName The name of the resource, for example {@code /spanish_beginner.tsv}.
+   * @return The words of the file, or {@code null} if there is no such resource or it cannot be
+   *     read.
+   */
+  public static List<Word> readResource(final String resourceName) {
+    final URL resource = DelimitedTextReader.class.getResource(resourceName);
+    if (resource == null) {
+      return null;
+    }
+    try {
+      if ("file".equals(resource.getProtocol())) {
+        return readWords(Paths.get(resource.toURI()));
+      }
+      final WordTable.Builder words = new WordTable.Builder(0);
+      try (InputStream inputStream = resource.openStream()) {
+        parse(ByteBuffer.wrap(inputStream.readAllBytes()), delimiterFor(resourceName), words::add);
+      }
+      return words.build();
+    } catch (IOException | URISyntaxException e) {
+      logger.log(Level.WARNING, "Error reading vocabulary " + resourceName, e);
+      return null;
+    }
+  }
+
+  /**
+   * Gets the delimiter of a file by its extension.
+   *
+   * @param fileName The name of the file.
+   * @return The delimiter.
+   * @throws IllegalArgumentException if the file extension is not supported.
+   */
+  static byte delimiterFor(final String fileName) {
+    final String name = fileName.toLowerCase(Locale.ROOT);
+    if (name.endsWith(".tsv")) {
+      return '\t';
+    }
+    if (name.endsWith(".csv")) {
+      return ',';
+    }
+    throw new IllegalArgumentException("Unsupported vocabulary file: " + fileName);
+  }
+
+  /**
+   * Parses the lines of a delimited text.
+   *
+   * @param buffer The UTF-8 text, from its position to its limit.
+   * @param delimiter The delimiter of the fields.
+   * @param sink Receives the original and translations of every line with at least two fields. The
+   *     list of translations is reused for the next line, so it must be copied to be kept.
+   */
+  static void parse(
+      final ByteBuffer buffer,
+      final byte delimiter,
+      final BiConsumer<String, List<String>> sink) {
+    final int limit = buffer.limit();
+    int position = buffer.position();
+    if (limit - position >= BYTE_ORDER_MARK.length
+        && buffer.get(position) == BYTE_ORDER_MARK[0]
+        && buffer.get(position + 1) == BYTE_ORDER_MARK[1]
+        && buffer.get(position + 2) == BYTE_ORDER_MARK[2]) {
+      position += BYTE_ORDER_MARK.length;
+    }
+
+    final FieldBuffer field = new FieldBuffer();
+    final List<String> translations = new ArrayList<>();
+    String original = null;
+    int fieldIndex = 0;
+    while (position < limit) {
+      // Read one field, it is decoded unless it is empty
+      field.length = 0;
+      if (buffer.get(position) == '"') {
+        position++;
+        while (position < limit) {
+          final byte b = buffer.get(position++);
+          if (b == '"') {
+            if (position < limit && buffer.get(position) == '"') {
+              position++;
+            } else {
+              break;
+            }
+          }
+          field.append(b);
+        }
+        // Characters between the closing quote and the delimiter are ignored
+        position = endOfField(buffer, position, limit, delimiter);
+      } else {
+        final int start = position;
+        position = endOfField(buffer, position, limit, delimiter);
+        field.append(buffer, start, position - start);
+      }
+      if (fieldIndex == 0) {
+        original = field.decode();
+        translations.clear();
+      } else if (fieldIndex == 1) {
+        translations.add(field.decode());
+      } else if (field.length > 0) {
+        // Further translations are only accepted if they are not blank
+        final String translation = field.decode();
+        if (!translation.isBlank()) {
+          translations.add(translation);
+        }
+      }
+      fieldIndex++;
+
+      if (position < limit && buffer.get(position) == delimiter) {
+        position++;
+        continue;
+      }
+      // End of the line
+      if (position < limit && buffer.get(position) == '\r') {
+        position++;
+      }
+      if (position < limit && buffer.get(position) == '\n') {
+        position++;
+      }
+      if (fieldIndex >= 2) {
+        sink.accept(original, translations);
+      }
+      fieldIndex = 0;
+    }
+    if (fieldIndex >= 2) {
+      sink.accept(original, translations);
+    }
+  }
+
+  /**
+   * Finds the end of an unquoted field.
+   *
+   * @param buffer The text.
+   * @param position The position in the field.
+   * @param limit The end of the text.
+   * @param delimiter The delimiter of the fields.
+   * @return The position of the delimiter or line break after the field, or the limit.
+   */
+  private static int endOfField(
+      final ByteBuffer buffer, final int position, final int limit, final byte delimiter) {
+    int end = position;
+    while (end < limit) {
+      final byte b = buffer.get(end);
+      if (b == delimiter || b == '\n' || b == '\r') {
+        break;
+      }
+      end++;
+    }
+    return end;
+  }
+
+  /** Collects the bytes of a field so that it can be decoded with a single string allocation. */
+  private static final class FieldBuffer {
+    /** The bytes of the field. */
+    private byte[] bytes = new byte[64];
+
+    /** The number of bytes of the field. */
+    private int length;
+
+    /**
+     * Appends a byte.
+     *
+     * @param b The byte.
+     */
+    private void append(final byte b) {
+      ensureCapacity(length + 1);
+      bytes[length++] = b;
+    }
+
+    /**
+     * Appends bytes of a buffer.
+     *
+     * @param buffer The buffer.
+     * @param start The index of the first byte.
+     * @param count The number of bytes.
+     */
+    private void append(final ByteBuffer buffer, final int start, final int count) {
+      ensureCapacity(length + count);
+      buffer.get(start, bytes, length, count);
+      length += count;
+    }
+
+    /**
+     * Decodes the field.
+     *
+     * @return The field as a string.
+     */
+    private String decode() {
+      return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Grows the bytes if needed.
+     *
+     * @param capacity The needed capacity.
+     */
+    private void ensureCapacity(final int capacity) {
+      if (capacity > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+      }
+    }
+  }
+}
@@ -0,0 +1,55 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code Direction} enum lists the directions in which the words of a round are asked: from the
+ * original to the translation, from the translation back to the original, or both mixed at random.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public enum Direction {
+  /** The original is shown and the translation is asked. */
+  FORWARD("Original to translation"),
+
+  /** The translation is shown and the original is asked. */
+  REVERSE("Translation to original"),
+
+  /** Every question is asked forward or reverse at random. */
+  MIXED("Both directions");
+
+  /** The name shown to the user. */
+  private final String label;
+
+  /**
+   * Constructs a direction.
+   *
+   * @param label The name shown to the user.
+   */
+  Direction(final String label) {
+    this.label = label;
+  }
+
+  /**
+   * Gets the direction of a single question.
+   *
+   * @param random The random generator choosing the direction of a mixed round.
+   * @return {@link #FORWARD} or {@link #REVERSE}.
+   */
+  public Direction resolve(final RandomGenerator random) {
+    if (this == MIXED) {
+      return random.nextBoolean() ? FORWARD : REVERSE;
+    }
+    return this;
+  }
+
+  /**
+   * Returns the name shown to the user.
+   *
+   * @return The name of the direction.
+   */
+  @Override
+  public String toString() {
+    return label;
+  }
+}
@@ -0,0 +1,190 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code DistractorSampler} class picks the wrong answers (distractors) of a multiple-choice
+ * question. It draws random indices of the word list and rejects words equal to the correct answer
+ * or with the translation of a word already drawn, so neither the list is copied nor all words are
+ * visited: as long as the list is much larger than the number of distractors, a sample takes O(k)
+ * expected time and memory for k distractors.
+ *
+ * <p>Lists with few distinct words, where rejection would rarely succeed, are scanned once from a
+ * random offset instead. The list should implement {@link java.util.RandomAccess}, as {@link
+ * WordTable} does.
+ *
+ * <p>With a difficulty above 0, some distractors are instead taken from the {@link SimilarityIndex}
+ * of the list, so that they look like the correct translation: every distractor is a similar word
+ * with the probability given by the difficulty, as long as similar words are left. The difficulty of
+ * the questions of a round is set with the system property {@value #DIFFICULTY_PROPERTY}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class DistractorSampler {
+  /** The logger of the DistractorSampler class. */
+  private static final Logger logger = Logger.getLogger(DistractorSampler.class.getName());
+
+  /** The system property with the probability that a distractor is a similar word. */
+  static final String DIFFICULTY_PROPERTY = "vocabtrainer.distractorDifficulty";
+
+  /** The default probability that a distractor is a similar word. */
+  static final double DEFAULT_DIFFICULTY = 0.5;
+
+  /** The number of random draws per distractor before falling back to a scan. */
+  private static final int DRAWS_PER_DISTRACTOR = 4;
+
+  /** Private constructor to prevent instantiation. */
+  private DistractorSampler() {}
+
+  /**
+   * Picks distinct words that differ from the correct answer, using the random generator of the
+   * current thread.
+   *
+   * @param words The words to pick from.
+   * @param correctAnswer The correct answer, which is never picked.
+   * @param count The number of distractors.
+   * @return The distractors in random order; fewer than {@code count} only if the list does not have
+   *     enough words with distinct translations.
+   */
+  public static List<Word> sample(
+      final List<Word> words, final Word correctAnswer, final int count) {
+    return sample(words, correctAnswer, count, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Picks distinct words that differ from the correct answer.
+   *
+   * @param words The words to pick from.
+   * @param correctAnswer The correct answer, which is never picked.
+   * @param count The number of distractors.
+   * @param random The random generator.
+   * @return The distractors in random order; fewer than {@code count} only if the list does not have
+   *     enough words with distinct translations.
+   */
+  public static List<Word> sample(
+      final List<Word> words,
+      final Word correctAnswer,
+      final int count,
+      final RandomGenerator random) {
+    final int size = words.size();
+    final List<Word> distractors = new ArrayList<>(count + 1);
+    if (count <= 0 || size == 0) {
+      return distractors;
+    }
+
+    final int maxDraws = DRAWS_PER_DISTRACTOR * count;
+    for (int draw = 0; draw < maxDraws && distractors.size() < count; draw++) {
+      addIfDistinct(distractors, words.get(random.nextInt(size)), correctAnswer);
+    }
+
+    if (distractors.size() < count) {
+      // Too many rejections, the list has few distinct words: take the next ones in order
+      final int offset = random.nextInt(size);
+      for (int i = 0; i < size && distractors.size() < count; i++) {
+        addIfDistinct(distractors, words.get((offset + i) % size), correctAnswer);
+      }
+      // Words taken in order are adjacent in the list, so mix them
+      for (int i = distractors.size() - 1; i > 0; i--) {
+        final int j = random.nextInt(i + 1);
+        distractors.set(i, distractors.set(j, distractors.get(i)));
+      }
+    }
+    return distractors;
+  }
+
+  /**
+   * Picks distinct words that differ from the correct answer, blending similar and random words.
+   *
+   * @param words The words to pick from.
+   * @param correctAnswer The correct answer, which is never picked.
+   * @param count The number of distractors.
+   * @param difficulty The probability from 0 to 1 that a distractor is a similar word.
+   * @param random The random generator.
+   * @return The distractors in random order; fewer than {@code count} only if the list does not have
+   *     enough words with distinct translations.
+   */
+  public static List<Word> sample(
+      final List<Word> words,
+      final Word correctAnswer,
+      final int count,
+      final double difficulty,
+      final RandomGenerator random) {
+    int similarCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (random.nextDouble() < difficulty) {
+        similarCount++;
+      }
+    }
+    if (similarCount == 0) {
+      return sample(words, correctAnswer, count, random);
+    }
+
+    final List<Word> distractors = new ArrayList<>(count + 1);
+    for (final Word word : SimilarityIndex.of(words).findSimilar(correctAnswer, similarCount)) {
+      addIfDistinct(distractors, word, correctAnswer);
+    }
+    // The remaining distractors are random, also if there were not enough similar words
+    for (final Word word : sample(words, correctAnswer, count, random)) {
+      if (distractors.size() == count) {
+        break;
+      }
+      addIfDistinct(distractors, word, correctAnswer);
+    }
+    for (int i = distractors.size() - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      distractors.set(i, distractors.set(j, distractors.get(i)));
+    }
+    return distractors;
+  }
+
+  /**
+   * Reads the configured difficulty.
+   *
+   * @return The probability from 0 to 1 that a distractor is a similar word, or the default if the
+   *     property is missing or invalid.
+   */
+  public static double getDifficulty() {
+    final String value = System.getProperty(DIFFICULTY_PROPERTY);
+    if (value != null) {
+      try {
+        final double difficulty = Double.parseDouble(value);
+        if (difficulty >= 0 && difficulty <= 1) {
+          return difficulty;
+        }
+      } catch (NumberFormatException e) {
+        // Fall through to the warning below
+      }
+      logger.log(Level.WARNING, "Invalid " + DIFFICULTY_PROPERTY + ": " + value);
+    }
+    return DEFAULT_DIFFICULTY;
+  }
+
+  /**
+   * Adds a word unless it is the correct answer, another accepted answer or has the same
+   * translation as a word already picked, so no two answer buttons look the same. The picked words
+   * are compared one by one, which is cheaper than hashing for the handful of distractors of a
+   * question.
+   *
+   * @param distractors The words picked so far.
+   * @param word The candidate.
+   * @param correctAnswer The correct answer.
+   */
+  private static void addIfDistinct(
+      final List<Word> distractors, final Word word, final Word correctAnswer) {
+    final String key = word.getAnswerKey();
+    if (word.equals(correctAnswer) || correctAnswer.getAnswerKeys().contains(key)) {
+      return;
+    }
+    for (final Word distractor : distractors) {
+      if (distractor.getAnswerKey().equals(key)) {
+        return;
+      }
+    }
+    distractors.add(word);
+  }
+}
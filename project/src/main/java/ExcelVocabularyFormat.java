@@ -0,0 +1,48 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code ExcelVocabularyFormat} class is the {@link VocabularyFormat} of Excel files, read by
+ * {@link StreamingExcelReader}. The first cell of a row is the original and the second cell is the
+ * translation.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class ExcelVocabularyFormat implements VocabularyFormat {
+  /** The logger of the ExcelVocabularyFormat class. */
+  private static final Logger logger = Logger.getLogger(ExcelVocabularyFormat.class.getName());
+
+  @Override
+  public String getName() {
+    return "xlsx";
+  }
+
+  @Override
+  public String getExtension() {
+    return ".xlsx";
+  }
+
+  @Override
+  public List<Word> read(final Path file) {
+    final WordTable.Builder words = new WordTable.Builder(0);
+    StreamingExcelReader.readWords(
+        file.toString(), word -> words.add(word.getOriginal(), word.getTranslations()));
+    return words.build();
+  }
+
+  @Override
+  public List<Word> readResource(final String resourceName) {
+    try (InputStream inputStream = getClass().getResourceAsStream(resourceName)) {
+      return inputStream == null ? null : StreamingExcelReader.readWords(inputStream);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Error reading vocabulary " + resourceName, e);
+      return null;
+    }
+  }
+}
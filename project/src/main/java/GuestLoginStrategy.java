@@ -1,4 +1,4 @@
-import java.io.*;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -11,51 +11,45 @@ import java.util.logging.Logger;
  * @version 1.0
  */
 public class GuestLoginStrategy implements LoginStrategy {
-  /** The path to the user database file. */
-  private static final String DATABASE_FILE = "./userDatabase.txt";
-
   /**
-   * Attempts to log in a user as a guest.
+   * Logs in a user as a guest.
    *
    * @param username the username to be logged in
    * @param password not used for guest login
-   * @return {@code true} if the login is successful, {@code false} otherwise
+   * @return the logged in guest user
    */
   @Override
-  public boolean login(final String username, final String password) {
+  public Nutzer authenticate(final String username, final String password) {
     // Check if the username is in the "database" file
-    if (isUsernameInDatabase(username)) {
+    final UserRecord user = findInDatabase(username);
+    if (user != null) {
       Logger.getLogger(GuestLoginStrategy.class.getName())
           .log(Level.INFO, "Guest login for username: " + username + " successful");
-    } else {
-      // If the username is not in the database, add it with an initialized high score of 0
-      addToDatabase(username);
-      Logger.getLogger(GuestLoginStrategy.class.getName())
-          .log(Level.INFO, "Guest login for username: " + username + " successful (new user)");
+      return new Nutzer(username, user.highScore(), null, null);
     }
-    return true;
+
+    // If the username is not in the database, add it with an initialized high score of 0
+    addToDatabase(username);
+    Logger.getLogger(GuestLoginStrategy.class.getName())
+        .log(Level.INFO, "Guest login for username: " + username + " successful (new user)");
+    return new Nutzer(username, 0, null, null);
   }
 
   /**
-   * Checks if the provided username is in the "database" file.
+   * Looks up the provided username in the "database" file. Most guests are new; the repository
+   * asks the username filter first, so only a possible hit is looked up in the index.
    *
-   * @param username the username to be checked
-   * @return {@code true} if the username is found in the database, {@code false} otherwise
+   * @param username the username to be looked up
+   * @return the stored user, or {@code null} if the username is not found in the database
    */
-  private boolean isUsernameInDatabase(final String username) {
-    try (BufferedReader reader = new BufferedReader(new FileReader(DATABASE_FILE))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        final String[] parts = line.split(",");
-        if (parts.length > 0 && parts[0].equals(username)) {
-          return true;
-        }
-      }
+  private UserRecord findInDatabase(final String username) {
+    try {
+      return ScoreBuffer.getInstance().find(username);
     } catch (IOException e) {
       Logger.getLogger(GuestLoginStrategy.class.getName())
           .log(Level.SEVERE, "Error reading userDatabase.txt", e);
     }
-    return false;
+    return null;
   }
 
   /**
@@ -64,8 +58,8 @@ public class GuestLoginStrategy implements LoginStrategy {
    * @param username the username to be added to the database
    */
   public static void addToDatabase(final String username) {
-    try (PrintWriter writer = new PrintWriter(new FileWriter(DATABASE_FILE, true))) {
-      writer.println(username + "," + 0);
+    try {
+      UserRepository.getInstance().addUser(new UserRecord(username, 0, null, null));
     } catch (IOException e) {
       Logger.getLogger(GuestLoginStrategy.class.getName())
           .log(Level.SEVERE, "Error writing to userDatabase.txt", e);
@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,7 +17,10 @@ public class Language {
   private final String name;
 
   /** The list of words in the corresponding language. */
-  private final List<Word> words;
+  private final WordTable words;
+
+  /** The words with originals and translations swapped, for questions asked in reverse. */
+  private final WordTable reversedWords;
 
   /**
    * Constructs a new Language with the specified name and list of words.
@@ -28,7 +30,9 @@ public class Language {
    */
   public Language(final String name, final List<Word> words) {
     this.name = name;
-    this.words = new ArrayList<>(words);
+    this.words = WordTable.copyOf(words);
+    // Built once per table, so languages sharing cached words share the index
+    this.reversedWords = this.words.reversed();
   }
 
   /**
@@ -41,7 +45,8 @@ public class Language {
   }
 
   /**
-   * Gets the list of words in the language.
+   * Gets the list of words in the language. The list is an immutable {@link WordTable}, so it can be
+   * shared with the {@link VocabularyCache} without copying.
    *
    * @return the list of words in the language
    */
@@ -49,6 +54,16 @@ public class Language {
     return words;
   }
 
+  /**
+   * Gets the words of the language the other way round, see {@link WordTable#reversed()}. Word
+   * {@code i} of the list asks word {@code i} of {@link #getWords()} from its translation.
+   *
+   * @return the reversed list of words
+   */
+  public List<Word> getReversedWords() {
+    return reversedWords;
+  }
+
   /**
    * Returns a string representation of the Language. The string representation includes the name of
    * the language and its list of words.
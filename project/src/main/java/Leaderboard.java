@@ -0,0 +1,206 @@
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code Leaderboard} class ranks the users by their scores. The global view ranks the high
+ * scores of all users in the database; a view per language and level ranks the points users earned
+ * in that language and level. Every view is a {@link RankedScores}, which is updated incrementally
+ * whenever a user earns points, so that the top entries and the rank of a user are available in
+ * O(log n).
+ *
+ * <p>The database only stores the total high score, so the views per language and level count the
+ * points earned while the application is running.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class Leaderboard {
+  /** The logger of the Leaderboard class. */
+  private static final Logger logger = Logger.getLogger(Leaderboard.class.getName());
+
+  /** The singleton instance of the Leaderboard. */
+  private static Leaderboard instance;
+
+  /** The ranking of the high scores of all users. */
+  private final RankedScores global;
+
+  /** The rankings of the points per language and level, indexed by view key. */
+  private final Map<String, RankedScores> views;
+
+  /**
+   * Constructs a new {@code Leaderboard} ranking the given users.
+   *
+   * @param users The users to rank by high score.
+   */
+  Leaderboard(final Collection<UserRecord> users) {
+    this(rank(users));
+  }
+
+  /**
+   * Constructs a new {@code Leaderboard} with the given ranking of the high scores.
+   *
+   * @param global The ranking of the high scores of all users.
+   */
+  private Leaderboard(final RankedScores global) {
+    this.global = global;
+    this.views = new HashMap<>();
+  }
+
+  /**
+   * Gets the singleton instance of the {@code Leaderboard}. It is initialized with the users of the
+   * database on first use; a sharded database is ranked shard by shard in parallel.
+   *
+   * @return The singleton instance of the {@code Leaderboard}.
+   */
+  public static synchronized Leaderboard getInstance() {
+    if (instance == null) {
+      RankedScores global = new RankedScores();
+      try {
+        global = UserRepository.getInstance().aggregate(Leaderboard::rank, Leaderboard::merge);
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Error reading userDatabase.txt for the leaderboard", e);
+      }
+      instance = new Leaderboard(global);
+    }
+    return instance;
+  }
+
+  /**
+   * Ranks users by high score.
+   *
+   * @param users The users to rank.
+   * @return The ranking of the users.
+   */
+  static RankedScores rank(final Collection<UserRecord> users) {
+    final RankedScores ranking = new RankedScores();
+    for (final UserRecord user : users) {
+      ranking.put(user.username(), user.highScore());
+    }
+    return ranking;
+  }
+
+  /**
+   * Merges two rankings of different users by adding the smaller one to the larger one.
+   *
+   * @param first The first ranking.
+   * @param second The second ranking.
+   * @return The merged ranking.
+   */
+  static RankedScores merge(final RankedScores first, final RankedScores second) {
+    final RankedScores larger = first.size() >= second.size() ? first : second;
+    larger.putAll(larger == first ? second : first);
+    return larger;
+  }
+
+  /**
+   * Sets the high score of a user in the global view.
+   *
+   * @param username The username of the user.
+   * @param highScore The new high score.
+   */
+  public synchronized void updateHighScore(final String username, final int highScore) {
+    global.put(username, highScore);
+  }
+
+  /**
+   * Adds points a user earned to the view of a language and level.
+   *
+   * @param username The username of the user.
+   * @param language The language the points were earned in.
+   * @param level The level the points were earned in.
+   * @param points The points earned.
+   */
+  public synchronized void addPoints(
+      final String username, final String language, final String level, final int points) {
+    if (language == null || level == null) {
+      return;
+    }
+    views.computeIfAbsent(viewKey(language, level), key -> new RankedScores()).add(username, points);
+  }
+
+  /**
+   * Resets the points of a user in all views to 0.
+   *
+   * @param username The username of the user.
+   */
+  public synchronized void reset(final String username) {
+    global.put(username, 0);
+    for (final RankedScores view : views.values()) {
+      view.remove(username);
+    }
+  }
+
+  /**
+   * Gets the users with the highest high scores.
+   *
+   * @param count The maximum number of entries.
+   * @return The entries, highest score first.
+   */
+  public synchronized List<RankedScores.Entry> getTop(final int count) {
+    return global.getTop(count);
+  }
+
+  /**
+   * Gets the users who earned the most points in a language and level.
+   *
+   * @param language The language.
+   * @param level The level.
+   * @param count The maximum number of entries.
+   * @return The entries, highest score first.
+   */
+  public synchronized List<RankedScores.Entry> getTop(
+      final String language, final String level, final int count) {
+    final RankedScores view = views.get(viewKey(language, level));
+    return view == null ? List.of() : view.getTop(count);
+  }
+
+  /**
+   * Gets the rank of a user by high score.
+   *
+   * @param username The username of the user.
+   * @return The rank of the user, starting with 1, or 0 if the user is not ranked.
+   */
+  public synchronized int getRank(final String username) {
+    return global.getRank(username);
+  }
+
+  /**
+   * Gets the rank of a user by the points earned in a language and level.
+   *
+   * @param username The username of the user.
+   * @param language The language.
+   * @param level The level.
+   * @return The rank of the user, starting with 1, or 0 if the user is not ranked.
+   */
+  public synchronized int getRank(final String username, final String language, final String level) {
+    final RankedScores view = views.get(viewKey(language, level));
+    return view == null ? 0 : view.getRank(username);
+  }
+
+  /**
+   * Gets the number of users ranked by high score.
+   *
+   * @return The number of ranked users.
+   */
+  public synchronized int size() {
+    return global.size();
+  }
+
+  /**
+   * Builds the key of the view of a language and level.
+   *
+   * @param language The language.
+   * @param level The level.
+   * @return The key of the view.
+   */
+  private static String viewKey(final String language, final String level) {
+    return language.toLowerCase(Locale.ROOT) + "/" + level.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,285 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code LogStructuredUserStore} class stores the users in the userDatabase.txt snapshot plus an
+ * append-only log next to it. New users and high score changes are appended to the log as small
+ * records, so saving a round costs one append no matter how many users exist.
+ *
+ * <p>When the store is loaded, the log is replayed on top of the snapshot; when it is reloaded
+ * after another process appended to the log, only the new records are replayed. Once the log holds
+ * enough records, it is folded back into the snapshot (compaction) by the {@link UserRepository},
+ * right after recovering such a log or with the next write. The first line of the log names the
+ * snapshot version it belongs to; a log that does not match the snapshot (for example because the
+ * snapshot was replaced by hand) is discarded.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class LogStructuredUserStore extends TextUserStore {
+  /** The logger of the LogStructuredUserStore class. */
+  private static final Logger logger = Logger.getLogger(LogStructuredUserStore.class.getName());
+
+  /** The prefix of the header line naming the snapshot version. */
+  private static final String HEADER_PREFIX = "#snapshot ";
+
+  /** The prefix of a record adding a new user. */
+  private static final char ADD_RECORD = '+';
+
+  /** The prefix of a record setting the high score of a user. */
+  private static final char SCORE_RECORD = '=';
+
+  /** The path of the log file. */
+  private final Path logFile;
+
+  /** The number of log records after which the log is folded into the snapshot. */
+  private final int compactionThreshold;
+
+  /** The number of records in the log. */
+  private int logRecords;
+
+  /** The size of the log file at the time it was last read or written. */
+  private volatile long logSize;
+
+  /** Whether the log file exists and belongs to the current snapshot. */
+  private boolean logValid;
+
+  /** The number of bytes of a record torn by a crash at the end of the log. */
+  private int tornBytes;
+
+  /**
+   * Constructs a new {@code LogStructuredUserStore} for the given database file.
+   *
+   * @param databaseFile The path of the user database snapshot.
+   * @param compactionThreshold The number of log records after which the log is compacted.
+   */
+  public LogStructuredUserStore(final Path databaseFile, final int compactionThreshold) {
+    super(databaseFile);
+    this.logFile = Paths.get(databaseFile + ".log");
+    this.compactionThreshold = Math.max(1, compactionThreshold);
+  }
+
+  @Override
+  public Map<String, UserRecord> load() throws IOException {
+    final Map<String, UserRecord> users = super.load();
+    logRecords = 0;
+    logSize = 0;
+    logValid = false;
+    tornBytes = 0;
+
+    if (Files.exists(logFile)) {
+      final byte[] content = Files.readAllBytes(logFile);
+      replay(new String(content, StandardCharsets.UTF_8), users, true);
+      logSize = content.length;
+      tornBytes = tornLength(content, content.length);
+    }
+    return users;
+  }
+
+  @Override
+  public Map<String, UserRecord> reload(final Map<String, UserRecord> users) throws IOException {
+    final long currentSize = currentLogSize();
+    if (!logValid || tornBytes > 0 || super.hasChanged() || currentSize < logSize) {
+      // The snapshot was compacted or replaced, or a torn record may have been cut off by another
+      // writer, so the log has to be read from the start
+      return load();
+    }
+
+    // Only records were appended to the log, so replay just those
+    final ByteBuffer appended = ByteBuffer.allocate((int) (currentSize - logSize));
+    try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+      int read = 0;
+      while (appended.hasRemaining() && read >= 0) {
+        read = channel.read(appended, logSize + appended.position());
+      }
+    }
+    final String records =
+        new String(appended.array(), 0, appended.position(), StandardCharsets.UTF_8);
+    replay(records, users, false);
+    logSize += appended.position();
+    tornBytes = tornLength(appended.array(), appended.position());
+    return users;
+  }
+
+  @Override
+  public boolean hasChanged() throws IOException {
+    return super.hasChanged() || currentLogSize() != logSize;
+  }
+
+  @Override
+  public FileTime getLastModifiedTime() throws IOException {
+    final FileTime snapshotTime = super.getLastModifiedTime();
+    final FileTime logTime = UserStore.lastModifiedTime(logFile);
+    return logTime.compareTo(snapshotTime) > 0 ? logTime : snapshotTime;
+  }
+
+  @Override
+  public void append(final UserRecord user) throws IOException {
+    appendRecord(ADD_RECORD + user.toLine());
+  }
+
+  @Override
+  public void update(final UserRecord user) throws IOException {
+    appendRecord(SCORE_RECORD + user.username() + "," + user.highScore());
+  }
+
+  @Override
+  public void updateAll(final Collection<UserRecord> users) throws IOException {
+    final StringBuilder records = new StringBuilder();
+    for (final UserRecord user : users) {
+      records.append(SCORE_RECORD).append(user.username()).append(',').append(user.highScore());
+      records.append('\n');
+    }
+    appendRecords(records.toString(), users.size());
+  }
+
+  @Override
+  public boolean needsCompaction() {
+    return logRecords >= compactionThreshold;
+  }
+
+  @Override
+  public void compact(final Collection<UserRecord> users) throws IOException {
+    super.compact(users);
+
+    // The old log is fully contained in the new snapshot, start a new one
+    startLog();
+    logger.log(Level.INFO, "Compacted user database log into snapshot");
+  }
+
+  /**
+   * Replays the records of the log on top of the snapshot. Only complete lines are applied, so a
+   * record torn by a crash in the middle of an append is ignored.
+   *
+   * @param content The content of the log file, or the part of it that was not replayed yet.
+   * @param users The users of the snapshot, which are updated in place.
+   * @param withHeader Whether the content starts with the header line of the log.
+   */
+  private void replay(
+      final String content, final Map<String, UserRecord> users, final boolean withHeader) {
+    int start = 0;
+    int end;
+    boolean header = withHeader;
+    while ((end = content.indexOf('\n', start)) >= 0) {
+      final String line = content.substring(start, end);
+      start = end + 1;
+
+      if (header) {
+        header = false;
+        logValid = line.equals(HEADER_PREFIX + loadedVersion);
+        if (!logValid) {
+          logger.log(Level.WARNING, "Discarding user database log of another snapshot");
+          return;
+        }
+        continue;
+      }
+      if (line.isEmpty()) {
+        continue;
+      }
+
+      final UserRecord record = parseLine(line.substring(1));
+      if (record == null) {
+        continue;
+      }
+      if (line.charAt(0) == ADD_RECORD) {
+        users.putIfAbsent(record.username(), record);
+      } else if (line.charAt(0) == SCORE_RECORD) {
+        final UserRecord stored = users.get(record.username());
+        users.put(
+            record.username(), stored == null ? record : stored.withHighScore(record.highScore()));
+      }
+      logRecords++;
+    }
+  }
+
+  /**
+   * Appends a record to the log.
+   *
+   * @param record The record to append (without line separator).
+   * @throws IOException If an error occurs while writing the log.
+   */
+  private void appendRecord(final String record) throws IOException {
+    appendRecords(record + "\n", 1);
+  }
+
+  /**
+   * Appends records to the log with a single write, starting a new log first if there is no valid
+   * one. A record torn by a crash at the end of the log is cut off first; otherwise the first
+   * appended record would be glued onto it and both would be lost.
+   *
+   * @param records The records to append, each terminated by a line separator.
+   * @param count The number of records.
+   * @throws IOException If an error occurs while writing the log.
+   */
+  private void appendRecords(final String records, final int count) throws IOException {
+    if (!logValid) {
+      startLog();
+    }
+    if (tornBytes > 0) {
+      try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+        channel.truncate(logSize - tornBytes);
+      }
+      logger.log(Level.WARNING, "Cut off torn record at the end of the user database log");
+      logSize -= tornBytes;
+      tornBytes = 0;
+    }
+    final byte[] bytes = records.getBytes(StandardCharsets.UTF_8);
+    Files.write(logFile, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    logRecords += count;
+    logSize += bytes.length;
+  }
+
+  /**
+   * Replaces the log with an empty log belonging to the current snapshot.
+   *
+   * @throws IOException If an error occurs while writing the log.
+   */
+  private void startLog() throws IOException {
+    final Path tempFile = Paths.get(logFile + "_temp");
+    final byte[] header = (HEADER_PREFIX + loadedVersion + "\n").getBytes(StandardCharsets.UTF_8);
+    Files.write(tempFile, header);
+    Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING);
+    logRecords = 0;
+    logSize = header.length;
+    logValid = true;
+    tornBytes = 0;
+  }
+
+  /**
+   * Counts the bytes after the last line separator, which belong to a record torn by a crash.
+   *
+   * @param content The content read from the log.
+   * @param length The number of bytes read.
+   * @return The number of bytes of the torn record, or 0 if the content ends with a full line.
+   */
+  private static int tornLength(final byte[] content, final int length) {
+    int end = length;
+    while (end > 0 && content[end - 1] != '\n') {
+      end--;
+    }
+    return length - end;
+  }
+
+  /**
+   * Reads the current size of the log file.
+   *
+   * @return The size of the log file, or 0 if it does not exist.
+   * @throws IOException If the size cannot be read.
+   */
+  private long currentLogSize() throws IOException {
+    return Files.exists(logFile) ? Files.size(logFile) : 0;
+  }
+}
@@ -149,23 +149,14 @@ public class Login extends JFrame {
    */
   private void regularLogin(final String enteredUsername, final String enteredPassword) {
     if (loginStrategy instanceof RegularLoginStrategy regularLoginStrategy) {
+      // The strategy resolves the complete user with a single lookup
       final RegistrierterNutzer registeredUser =
-          new RegistrierterNutzer(enteredUsername, null, null);
+          regularLoginStrategy.authenticate(enteredUsername, enteredPassword);
 
-      if (!regularLoginStrategy.login(enteredUsername, enteredPassword)) {
+      if (registeredUser == null) {
         showError("Please enter the correct password!");
-      } else {
-        if (loginListener != null) {
-          String email = registeredUser.getEmailAddress();
-          String password = registeredUser.getPassword();
-
-          registeredUser.setUsername(enteredUsername);
-          registeredUser.setHighScore();
-          registeredUser.setEmail(email);
-          registeredUser.setPassword(password);
-
-          loginListener.onLogin(enteredUsername, enteredPassword, registeredUser);
-        }
+      } else if (loginListener != null) {
+        loginListener.onLogin(enteredUsername, enteredPassword, registeredUser);
       }
     }
   }
@@ -246,11 +237,8 @@ public class Login extends JFrame {
       frame.toFront();
     } else {
       if (loginListener != null && loginStrategy instanceof GuestLoginStrategy guestLoginStrategy) {
-        final boolean loginSuccessful = guestLoginStrategy.login(enteredUsername, null);
-        if (loginSuccessful) {
-          final Nutzer guestUser = new Nutzer(enteredUsername, null, null);
-          guestUser.setUsername(enteredUsername);
-          guestUser.setHighScore();
+        final Nutzer guestUser = guestLoginStrategy.authenticate(enteredUsername, null);
+        if (guestUser != null) {
           loginListener.onLogin(enteredUsername, null, guestUser);
           frame.dispose();
         }
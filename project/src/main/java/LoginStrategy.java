@@ -7,6 +7,17 @@
  * @version 1.0
  */
 public interface LoginStrategy {
+  /**
+   * Attempts to authenticate a user based on the provided username and password and resolves the
+   * complete user (high score and, for registered users, email and password) with a single lookup
+   * in the user database.
+   *
+   * @param username The username entered by the user.
+   * @param password The password entered by the user.
+   * @return The logged in user, or {@code null} if the login is not successful.
+   */
+  Nutzer authenticate(String username, String password);
+
   /**
    * Attempts to authenticate a user based on the provided username and password.
    *
@@ -14,5 +25,7 @@ public interface LoginStrategy {
    * @param password The password entered by the user.
    * @return {@code true} if the login is successful, {@code false} otherwise.
    */
-  boolean login(String username, String password);
+  default boolean login(final String username, final String password) {
+    return authenticate(username, password) != null;
+  }
 }
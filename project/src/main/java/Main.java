@@ -1,4 +1,3 @@
-import java.util.List;
 import javax.swing.*;
 
 /**
@@ -19,16 +18,22 @@ public class Main {
     startMainGUI();
   }
 
-  /** Starts the main GUI of the Vocabulary Trainer application. */
+  /**
+   * Starts the main GUI of the Vocabulary Trainer application. The vocabulary is preloaded in the
+   * background while the login window is shown, and reloaded when an external vocabulary directory
+   * is configured and its files change. Nothing is preloaded if the catalog is empty.
+   */
   public static void startMainGUI() {
+    VocabularyWatcher.startDefault();
+    final VocabularyCatalog catalog = VocabularyCatalog.getInstance();
+    if (!catalog.getEntries().isEmpty()) {
+      VocabularyPreloader.getInstance().start(catalog.getLanguages(), catalog.getLevels());
+    }
     SwingUtilities.invokeLater(Main::createAndShowLoginWindow);
   }
 
   /** Creates and shows the login window. */
   private static void createAndShowLoginWindow() {
-    final List<String> availableLanguages = List.of("Spanish", "Russian");
-    final List<String> availableLevels = List.of("Beginner", "Intermediate", "Advanced");
-
     final Login loginWindow = new Login();
     loginWindow.loginMenu();
     loginWindow.setVisible(true);
@@ -37,19 +42,30 @@ public class Main {
     loginWindow.addLoginListener(
         (username, password, user) -> {
           loginWindow.dispose();
-          openMainMenu(availableLanguages, availableLevels, user);
+          openMainMenu(user);
         });
   }
 
   /**
-   * Opens the main menu with the provided parameters.
+   * Opens the main menu for the user who logged in. The last used language and level are
+   * selected if they are still in the catalog. If the catalog has no vocabulary at all, an error
+   * is shown instead.
    *
-   * @param availableLanguages The list of available languages.
-   * @param availableLevels The list of available levels.
    * @param user The user who logged in.
    */
-  private static void openMainMenu(
-      final List<String> availableLanguages, final List<String> availableLevels, final Nutzer user) {
-    new MainMenu(availableLanguages, availableLevels, "Spanish", "Beginner", user).setVisible(true);
+  private static void openMainMenu(final Nutzer user) {
+    final VocabularyCatalog catalog = VocabularyCatalog.getInstance();
+    if (catalog.getEntries().isEmpty()) {
+      JOptionPane.showMessageDialog(
+          null, "No vocabulary lists were found.", "Error", JOptionPane.ERROR_MESSAGE);
+      return;
+    }
+    final VocabularyPreloader preloader = VocabularyPreloader.getInstance();
+    VocabularyCatalog.Entry entry =
+        catalog.find(preloader.getLastUsedLanguage(), preloader.getLastUsedLevel());
+    if (entry == null) {
+      entry = catalog.getEntries().get(0);
+    }
+    new MainMenu(entry.language(), entry.level(), user).setVisible(true);
   }
 }
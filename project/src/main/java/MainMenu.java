@@ -6,8 +6,8 @@ import java.util.List;
 
 /**
  * The {@code MainMenu} class represents the main menu of the vocabulary trainer application. It
- * extends {@code JFrame} and provides options to start learning, change user, view credits, and
- * access instructions.
+ * extends {@code JFrame} and provides options to start learning in either direction, change user,
+ * view the leaderboard, view credits, and access instructions.
  *
  * @author Alejandra Camelo Cruz
  * @author Iuliia Mozhina
@@ -31,6 +31,9 @@ public class MainMenu extends JFrame {
     /** JComboBox for level selection. */
     private JComboBox<String> levelComboBox;
 
+    /** JComboBox for the direction of the questions. */
+    private JComboBox<Direction> directionComboBox;
+
     /** Current learning language of the application. */
     private String currentLanguage;
 
@@ -40,6 +43,26 @@ public class MainMenu extends JFrame {
     /** JPanel to hold GUI components. */
     private JPanel contentPane;
 
+    /** Number of entries shown per leaderboard view. */
+    private static final int LEADERBOARD_ENTRIES = 10;
+
+    /**
+     * Constructs a {@code MainMenu} object offering the languages and levels of the {@link
+     * VocabularyCatalog}, with the current language and level, and the current user.
+     *
+     * @param currentLanguage The current language.
+     * @param currentLevel The current level.
+     * @param user The current user.
+     */
+    public MainMenu(final String currentLanguage, final String currentLevel, final Nutzer user) {
+        this(
+                VocabularyCatalog.getInstance().getLanguages(),
+                VocabularyCatalog.getInstance().getLevels(),
+                currentLanguage,
+                currentLevel,
+                user);
+    }
+
     /**
      * Constructs a {@code MainMenu} object with the specified lists of languages and levels, the
      * current language and level, and the current user.
@@ -78,6 +101,7 @@ public class MainMenu extends JFrame {
 
         selectLanguage();
         selectLevel();
+        selectDirection();
 
         final JLabel userLabel = new JLabel("User: " + this.currentUser.getUserName());
         userLabel.setBounds(60, 39, 120, 16);
@@ -107,16 +131,51 @@ public class MainMenu extends JFrame {
         start.setBounds(73, 154, 161, 29);
         contentPane.add(start);
 
+        final JButton leaderboardBtn = new JButton("Leaderboard");
+        leaderboardBtn.addActionListener(e -> showLeaderboard());
+        leaderboardBtn.setBounds(73, 236, 334, 29);
+        contentPane.add(leaderboardBtn);
+
         setVisible(true);
     }
-    /** Starts the vocabulary trainer with the selected language and level. */
+    /**
+     * Starts the vocabulary trainer with the selected language and level. The words are usually
+     * already preloaded; otherwise the round starts as soon as they are loaded, without blocking
+     * the event dispatch thread.
+     */
     private void startVocabularyTrainer() {
-        VocabularyFactory factory;
-        if (this.currentLanguage.equalsIgnoreCase("Russian")) {
-            factory = new RussianFactory();
-        } else {
-            factory = new SpanishFactory();
-        }
+        final String language = this.currentLanguage;
+        final String level = this.currentLevel;
+        final VocabularyPreloader preloader = VocabularyPreloader.getInstance();
+        preloader.recordLastUsed(language, level);
+
+        setEnabled(false);
+        preloader
+                .load(language, level)
+                .whenCompleteAsync(
+                        (words, e) -> {
+                            if (e != null) {
+                                setEnabled(true);
+                                JOptionPane.showMessageDialog(
+                                        this,
+                                        "Could not load the vocabulary of " + language + " " + level,
+                                        "Error",
+                                        JOptionPane.ERROR_MESSAGE);
+                            } else {
+                                startRound(language, level);
+                            }
+                        },
+                        SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Starts a round once the words of the language and level are loaded.
+     *
+     * @param languageName The name of the language.
+     * @param levelName The name of the level.
+     */
+    private void startRound(final String languageName, final String levelName) {
+        final VocabularyFactory factory = VocabularyCatalog.getInstance().getFactory(languageName);
 
         // Obtain the VocabularyTrainer instance
         // achieved by calling the getInstance() method, since it's a singleton
@@ -124,16 +183,20 @@ public class MainMenu extends JFrame {
 
         vocabularyTrainer.setVocabularyFactory(factory);
 
-        // Create Language and VocabularyLevel instances
-        final Language language = factory.createLanguage(new VocabularyLevel(this.currentLevel));
-        final VocabularyLevel level = factory.createVocabularyLevel(this.currentLevel);
+        // Create Language and VocabularyLevel instances, the words come from the cache
+        final Language language = factory.createLanguage(new VocabularyLevel(levelName));
+        final VocabularyLevel level = factory.createVocabularyLevel(levelName);
 
         // Update language and level in the VocabularyTrainer
         vocabularyTrainer.updateLanguageAndLevel(language, level);
 
-        // Create an instance of PlayRound
+        // Create an instance of PlayRound asking the words that are due first
+        final List<Word> words = vocabularyTrainer.getCurrentLanguage().getWords();
+        final ReviewQueue reviews =
+                ReviewScheduler.getInstance()
+                        .getQueue(this.currentUser.getUserName(), languageName, levelName, words);
         final PlayRound playRound =
-                new PlayRound(vocabularyTrainer.getCurrentLanguage().getWords(), this.currentUser);
+                new PlayRound(words, this.currentUser, reviews, this.currentUser.getSelectedDirection());
 
         closeFrame();
         playRound.startRound();
@@ -178,6 +241,23 @@ public class MainMenu extends JFrame {
         this.contentPane.add(levelComboBox);
     }
 
+    /** Sets up the direction selection components in the GUI. */
+    private void selectDirection() {
+        final JLabel directionLabel = new JLabel("Asking:");
+        directionLabel.setBounds(60, 107, 200, 16);
+        this.contentPane.add(directionLabel);
+
+        directionComboBox = new JComboBox<>(Direction.values());
+        directionComboBox.setSelectedItem(this.currentUser.getSelectedDirection());
+        directionComboBox.setBounds(122, 103, 274, 27);
+        directionComboBox.addActionListener(
+                e ->
+                        // Update the direction of the next rounds when an item is selected
+                        this.currentUser.setSelectedDirection(
+                                (Direction) directionComboBox.getSelectedItem()));
+        this.contentPane.add(directionComboBox);
+    }
+
     /** Displays the credits of developers in a new frame. */
     public void showCredits() {
         final JFrame creditsFrame = new JFrame("Credits");
@@ -206,6 +286,85 @@ public class MainMenu extends JFrame {
         creditsFrame.setVisible(true);
     }
 
+    /**
+     * Displays the leaderboard in a new frame: the best high scores overall and the best scores in
+     * the selected language and level, each with the rank of the current user.
+     */
+    public void showLeaderboard() {
+        final Leaderboard leaderboard = Leaderboard.getInstance();
+        final String username = this.currentUser.getUserName();
+
+        final JFrame leaderboardFrame = new JFrame("Leaderboard");
+        leaderboardFrame.setBounds(100, 100, 400, 560);
+        final JPanel leaderboardPanel = new JPanel();
+        leaderboardPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
+        leaderboardFrame.getContentPane().add(leaderboardPanel);
+        leaderboardPanel.setLayout(new BoxLayout(leaderboardPanel, BoxLayout.Y_AXIS));
+
+        addLeaderboardView(
+                leaderboardPanel,
+                "All languages",
+                leaderboard.getTop(LEADERBOARD_ENTRIES),
+                leaderboard.getRank(username),
+                leaderboard.size());
+        addLeaderboardView(
+                leaderboardPanel,
+                this.currentLanguage + " " + this.currentLevel,
+                leaderboard.getTop(this.currentLanguage, this.currentLevel, LEADERBOARD_ENTRIES),
+                leaderboard.getRank(username, this.currentLanguage, this.currentLevel),
+                -1);
+
+        final JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> leaderboardFrame.dispose());
+        closeButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        leaderboardPanel.add(closeButton);
+
+        leaderboardFrame.setVisible(true);
+    }
+
+    /**
+     * Adds one view of the leaderboard to a panel.
+     *
+     * @param panel The panel to add the view to.
+     * @param title The title of the view.
+     * @param entries The top entries of the view.
+     * @param rank The rank of the current user in the view, or 0 if unranked.
+     * @param total The number of ranked users, or -1 if it is not shown.
+     */
+    private void addLeaderboardView(
+            final JPanel panel,
+            final String title,
+            final List<RankedScores.Entry> entries,
+            final int rank,
+            final int total) {
+        final JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(titleLabel.getFont().deriveFont(Font.BOLD));
+        titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(titleLabel);
+
+        if (entries.isEmpty()) {
+            final JLabel emptyLabel = new JLabel("No scores yet");
+            emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            panel.add(emptyLabel);
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            final RankedScores.Entry entry = entries.get(i);
+            final JLabel entryLabel =
+                    new JLabel((i + 1) + ". " + entry.username() + " - " + entry.score());
+            entryLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            panel.add(entryLabel);
+        }
+
+        String rankText = "not ranked yet";
+        if (rank > 0) {
+            rankText = total < 0 ? "#" + rank : "#" + rank + " of " + total;
+        }
+        final JLabel rankLabel = new JLabel("Your rank: " + rankText);
+        rankLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(rankLabel);
+        panel.add(Box.createVerticalStrut(10));
+    }
+
     /** Displays the instructions for playing in a new frame. */
     public void showInstructions() {
         dispose();
@@ -40,7 +40,25 @@ public class MultipleQuestion extends AbstractQuestionFrame {
    */
   public MultipleQuestion(
       final Word word, final List<Word> words, final Nutzer currentUser, final Callback callback) {
-    super(word, currentUser, callback);
+    this(word, words, Direction.FORWARD, currentUser, callback);
+  }
+
+  /**
+   * Constructs a new MultipleQuestion instance asking in a direction.
+   *
+   * @param word The word associated with the question, reversed if it is asked in reverse.
+   * @param words The list of words representing answer options, reversed like the word.
+   * @param direction The direction of the question.
+   * @param currentUser The current user of the vocabulary trainer.
+   * @param callback The callback to handle submitted answers.
+   */
+  public MultipleQuestion(
+      final Word word,
+      final List<Word> words,
+      final Direction direction,
+      final Nutzer currentUser,
+      final Callback callback) {
+    super(word, direction, currentUser, callback);
     this.words = words;
     this.answerSubmitted = false;
     initializeFrame();
@@ -76,7 +94,11 @@ public class MultipleQuestion extends AbstractQuestionFrame {
     contentPane.add(option4);
     buttonGroup.add(option4);
 
-    final JLabel lblNewLabel = new JLabel("What is the correct translation?");
+    final JLabel lblNewLabel =
+        new JLabel(
+            direction == Direction.REVERSE
+                ? "What is the original word?"
+                : "What is the correct translation?");
     lblNewLabel.setHorizontalAlignment(SwingConstants.CENTER);
     lblNewLabel.setBounds(126, 75, 209, 16);
     contentPane.add(lblNewLabel);
@@ -110,21 +132,29 @@ public class MultipleQuestion extends AbstractQuestionFrame {
       this.userResponse = option4.getText();
     }
 
-    final boolean isCorrect = this.userResponse.equalsIgnoreCase(word.getTranslation());
+    // The options are whole translations, so there is no typo to forgive: a picked option that is
+    // only similar to the answer is another word and therefore wrong, never a near miss
+    final AnswerMatcher.Grade grade =
+        word.getAnswerKeys().contains(AnswerMatcher.key(this.userResponse))
+            ? AnswerMatcher.Grade.EXACT
+            : AnswerMatcher.Grade.WRONG;
 
-    if (isCorrect) {
+    if (grade == AnswerMatcher.Grade.EXACT) {
       JOptionPane.showMessageDialog(
           this, "Correct! Well done!", "Result", JOptionPane.INFORMATION_MESSAGE);
     } else {
       JOptionPane.showMessageDialog(
           this,
-          "Incorrect. The correct translation is: " + word.getTranslation(),
+          (direction == Direction.REVERSE
+                  ? "Incorrect. The correct word is: "
+                  : "Incorrect. The correct translation is: ")
+              + word.getTranslation(),
           "Result",
           JOptionPane.ERROR_MESSAGE);
     }
     closeFrame();
 
-    callback.answerSubmitted(this.userResponse, this.word.getTranslation());
+    callback.answerGraded(this.userResponse, this.word, grade);
     this.answerSubmitted = true;
   }
 
@@ -1,4 +1,4 @@
-import java.io.*;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -11,9 +11,6 @@ import java.util.logging.Logger;
  * @version 1.0
  */
 public class Nutzer {
-  /** The file name for the user database. */
-  private static final String USER_DATABASE_FILE = "./userDatabase.txt";
-
   /** The username of the user. */
   private String username;
 
@@ -26,6 +23,9 @@ public class Nutzer {
   /** The selected level of the user. */
   private String selectedLevel;
 
+  /** The selected direction of the questions, for the current session only. */
+  private Direction selectedDirection = Direction.FORWARD;
+
   /**
    * Constructs a new {@code Nutzer} object with the specified username, selected language, and
    * selected level. Reads and sets the high score from the userDatabase.txt file.
@@ -43,6 +43,26 @@ public class Nutzer {
     setHighScore();
   }
 
+  /**
+   * Constructs a new {@code Nutzer} object with a high score that was already read from the
+   * userDatabase.txt file.
+   *
+   * @param username The username of the user.
+   * @param highScore The high score of the user.
+   * @param selectedLanguage The selected language preference of the user.
+   * @param selectedLevel The selected level of the user.
+   */
+  public Nutzer(
+      final String username,
+      final int highScore,
+      final String selectedLanguage,
+      final String selectedLevel) {
+    this.username = username;
+    this.highScore = highScore;
+    this.selectedLanguage = selectedLanguage;
+    this.selectedLevel = selectedLevel;
+  }
+
   /**
    * Gets the username of the user.
    *
@@ -112,93 +132,61 @@ public class Nutzer {
     this.selectedLevel = level;
   }
 
+  /**
+   * Gets the selected direction of the questions.
+   *
+   * @return The selected direction of the user.
+   */
+  public Direction getSelectedDirection() {
+    return this.selectedDirection;
+  }
+
+  /**
+   * Sets the selected direction of the questions.
+   *
+   * @param direction The selected direction of the user.
+   */
+  public void setSelectedDirection(final Direction direction) {
+    this.selectedDirection = direction;
+  }
+
   private int readHighScoreFromFile() {
-    try (BufferedReader reader = new BufferedReader(new FileReader(USER_DATABASE_FILE))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        final String[] parts = line.split(",");
-        if (parts.length >= 2 && parts[0].equals(username)) {
-          // Return the high score if the username is found
-          return Integer.parseInt(parts[1].trim());
-        }
-      }
-    } catch (IOException | NumberFormatException e) {
+    try {
+      // Include the points of finished rounds that are still waiting in the write-behind buffer
+      return ScoreBuffer.getInstance().getHighScore(username);
+    } catch (IOException e) {
       Logger.getLogger(Nutzer.class.getName())
               .log(Level.SEVERE, "Error reading high score from file", e);
     }
-    // Return 0 if the user or high score is not found
+    // Return 0 if the high score cannot be read
     return 0;
   }
 
-  /**
-   * Updates the high score in the userDatabase.txt file based on the obtained points in a play
-   * round.
-   *
-   * @param sessionPoints The points earned in the current session to be added to the high score.
-   */
   /**
    * Updates the high score of the user in the userDatabase.txt file.
    *
    * @param newHighScore The new high score to be set.
    */
   private void updateHighScoreInFile(int newHighScore) {
-    try (BufferedReader reader = new BufferedReader(new FileReader(USER_DATABASE_FILE));
-         BufferedWriter writer = new BufferedWriter(new FileWriter(USER_DATABASE_FILE + "_temp"))) {
-
-      String line;
-      boolean userUpdated = false;
-
-      while ((line = reader.readLine()) != null) {
-        final String[] parts = line.split(",");
-        if (parts.length >= 2 && parts[0].equals(username)) {
-          // Update high score if the username is found
-          if (parts.length >= 4) {
-            // Check if there are at least 4 columns (for registered users)
-            line =
-                    username.trim()
-                            + ", "
-                            + newHighScore
-                            + ", "
-                            + parts[2].trim()
-                            + ", "
-                            + parts[3].trim();
-          } else {
-            // Less than 4 columns (guest users)
-            line = username.trim() + ", " + newHighScore;
-          }
-          userUpdated = true;
-        }
-        writer.write(line + "\n");
-      }
-
-      if (!userUpdated) {
-        // If the user is not found in the file, add a new entry
-        writer.write(username.trim() + ", " + newHighScore + "\n");
-      }
-
+    try {
+      UserRepository.getInstance().updateHighScore(username, newHighScore);
+      Logger.getLogger(Nutzer.class.getName()).log(Level.INFO, "High score updated successfully");
     } catch (IOException e) {
       Logger.getLogger(Nutzer.class.getName())
               .log(Level.SEVERE, "Error updating high score in file", e);
     }
 
-    // Rename the temporary file to the original file
-    final File tempFile = new File(USER_DATABASE_FILE + "_temp");
-    final File originalFile = new File(USER_DATABASE_FILE);
-
-    if (tempFile.renameTo(originalFile)) {
-      Logger.getLogger(Nutzer.class.getName()).log(Level.INFO, "High score updated successfully");
-    } else {
-      Logger.getLogger(Nutzer.class.getName()).log(Level.SEVERE, "Failed to update high score");
-    }
-
     this.highScore = newHighScore;
+    Leaderboard.getInstance().updateHighScore(username, newHighScore);
   }
 
   /**
    * Resets the high score of the user to 0 in the userDatabase.txt file.
    */
   public void resetHighScore() {
+    ScoreBuffer.getInstance().discard(username);
     updateHighScoreInFile(0);
+    Leaderboard.getInstance().reset(username);
   }
 
   /**
@@ -207,17 +195,58 @@ public class Nutzer {
    * @param sessionPoints The points earned in the current session to be added to the high score.
    */
   public void updateHighScore(final int sessionPoints) {
-    if (sessionPoints < 0 || sessionPoints > PlayRound.getMaxQuestions()) {
-      throw new IllegalArgumentException("Session points must be a positive integer" +
-              " and cannot exceed maximum number of questions allowed");
+    validateSessionPoints(sessionPoints);
+
+    try {
+      // Add the session points to the stored high score
+      UserRepository.getInstance().addToHighScore(username, sessionPoints);
+      Logger.getLogger(Nutzer.class.getName()).log(Level.INFO, "High score updated successfully");
+    } catch (IOException e) {
+      Logger.getLogger(Nutzer.class.getName())
+              .log(Level.SEVERE, "Error updating high score in file", e);
     }
 
-    // Read the existing high score from the file
-    final int currentHighScore = readHighScoreFromFile();
+    setHighScore();
+    updateLeaderboard(sessionPoints);
+  }
 
-    // Update the high score by adding session points
-    final int newHighScore = currentHighScore + sessionPoints;
+  /**
+   * Adds the points obtained in a play round to the high score. Unlike {@link
+   * #updateHighScore(int)}, the points are not written immediately but collected by the {@link
+   * ScoreBuffer}, which writes them in batches.
+   *
+   * @param sessionPoints The points earned in the current session to be added to the high score.
+   */
+  public void addSessionPoints(final int sessionPoints) {
+    validateSessionPoints(sessionPoints);
+
+    ScoreBuffer.getInstance().add(username, sessionPoints);
+    this.highScore += sessionPoints;
+    updateLeaderboard(sessionPoints);
+  }
+
+  /**
+   * Updates the leaderboard with the new high score and the points earned in the selected language
+   * and level.
+   *
+   * @param sessionPoints The points earned in the current session.
+   */
+  private void updateLeaderboard(final int sessionPoints) {
+    final Leaderboard leaderboard = Leaderboard.getInstance();
+    leaderboard.updateHighScore(username, highScore);
+    leaderboard.addPoints(username, selectedLanguage, selectedLevel, sessionPoints);
+  }
 
-    updateHighScoreInFile(newHighScore);
+  /**
+   * Checks that the points of a play round are in the valid range.
+   *
+   * @param sessionPoints The points earned in the current session.
+   * @throws IllegalArgumentException if the points are negative or exceed the number of questions.
+   */
+  private static void validateSessionPoints(final int sessionPoints) {
+    if (sessionPoints < 0 || sessionPoints > PlayRound.getMaxQuestions()) {
+      throw new IllegalArgumentException("Session points must be a positive integer" +
+              " and cannot exceed maximum number of questions allowed");
+    }
   }
 }
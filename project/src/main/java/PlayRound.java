@@ -1,6 +1,8 @@
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
 
 /**
  * The {@code PlayRound} class represents a session where a user engages in multiple-choice and
@@ -12,13 +14,27 @@ import java.util.Random;
  * @version 1.0
  */
 public class PlayRound implements Callback {
+  /** The logger of the PlayRound class. */
+  private static final Logger logger = Logger.getLogger(PlayRound.class.getName());
 
   /** The number of questions in a play round */
   private static final int MAX_QUESTIONS = 15;
 
+  /** The number of wrong answers of a multiple-choice question */
+  private static final int DISTRACTORS = 3;
+
   /** The list of words for the play round. */
   private final List<Word> wordsForPlayRound;
 
+  /** The queue choosing the words to ask. */
+  private final ReviewQueue reviews;
+
+  /** The direction in which the words are asked. */
+  private final Direction direction;
+
+  /** The planned questions of the play round, empty until they are planned. */
+  private List<RoundPlanner.QuestionPlan> plans;
+
   /** The current user participating in the play round. */
   private final Nutzer currentUser;
 
@@ -29,15 +45,24 @@ public class PlayRound implements Callback {
   private int currentQuestionIndex;
 
   /**
-   * Constructs a new {@code PlayRound} instance with the specified list of words for the play round
-   * and the current user. Initializes session points, question index, and user details.
+   * Constructs a new {@code PlayRound} instance that asks the words of a review queue in a
+   * direction: from the original, from the translation, or both mixed.
    *
    * @param wordsForPlayRound The list of words for the play round.
    * @param currentUser The current user participating in the play round.
+   * @param reviews The review queue of the user, language and level.
+   * @param direction The direction in which the words are asked.
    */
-  public PlayRound(final List<Word> wordsForPlayRound, final Nutzer currentUser) {
+  public PlayRound(
+      final List<Word> wordsForPlayRound,
+      final Nutzer currentUser,
+      final ReviewQueue reviews,
+      final Direction direction) {
     this.sessionPoints = 0;
     this.wordsForPlayRound = wordsForPlayRound;
+    this.reviews = reviews;
+    this.direction = direction;
+    this.plans = List.of();
     this.currentQuestionIndex = 0;
     this.currentUser = currentUser;
   }
@@ -46,47 +71,24 @@ public class PlayRound implements Callback {
     return MAX_QUESTIONS;
   }
 
-  /**
-   * Gets a random word from the provided list of words.
-   *
-   * @param words The list of words to select from.
-   * @return A randomly selected word.
-   */
-  private Word getRandomWord(final List<Word> words) {
-    final Random random = new Random();
-    final int randomIndex = random.nextInt(words.size());
-    return words.get(randomIndex);
-  }
-
   /**
    * Generates answer options for a multiple-choice question.
    *
-   * <p>This method takes a correct answer and a list of words, shuffles the list, and selects three
-   * incorrect answers. It then adds the correct answer at a random position to create a list of
-   * four answer options.
+   * <p>This method picks three incorrect answers with the {@link DistractorSampler}, which neither
+   * copies nor shuffles the list, and adds the correct answer at a random position to create a list
+   * of four answer options. Depending on the configured difficulty, some incorrect answers are
+   * words with a similar translation. Fewer options are only returned if the list does not have
+   * enough distinct words.
    *
    * @param correctAnswer The correct answer.
    * @param words The list of words for generating options.
    * @return A list of four answer options.
    */
   public static List<Word> generateAnswerOptions(final Word correctAnswer, final List<Word> words) {
-    final List<Word> answerOptions = new ArrayList<>();
-
-    // Add three incorrect answers
-    final List<Word> shuffledWords = new ArrayList<>(words);
-    final Random random = new Random();
-    for (int i = shuffledWords.size() - 1; i > 0; i--) {
-      final int index = random.nextInt(i + 1);
-      final Word temp = shuffledWords.get(index);
-      shuffledWords.set(index, shuffledWords.get(i));
-      shuffledWords.set(i, temp);
-    }
-
-    for (int i = 0; i < Math.min(3, shuffledWords.size()); i++) {
-      if (!shuffledWords.get(i).equals(correctAnswer)) {
-        answerOptions.add(shuffledWords.get(i));
-      }
-    }
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final List<Word> answerOptions =
+        DistractorSampler.sample(
+            words, correctAnswer, DISTRACTORS, DistractorSampler.getDifficulty(), random);
 
     // Add the correct answer at a random position
     final int correctAnswerIndex = random.nextInt(answerOptions.size() + 1);
@@ -95,29 +97,34 @@ public class PlayRound implements Callback {
     return answerOptions;
   }
 
-  /** Starts the play round by initiating the first question. */
+  /**
+   * Starts the play round. All questions are planned on a background thread, then the first one is
+   * shown.
+   */
   public void startRound() {
-    nextQuestion();
+    RoundPlanner.planAsync(wordsForPlayRound, reviews, MAX_QUESTIONS, direction)
+        .whenCompleteAsync(
+            (planned, e) -> {
+              if (e != null) {
+                logger.log(Level.SEVERE, "Error planning the play round", e);
+                endRound();
+              } else {
+                plans = planned;
+                nextQuestion();
+              }
+            },
+            SwingUtilities::invokeLater);
   }
 
-  /**
-   * Moves to the next question in the play round. If the maximum number of questions is reached,
-   * ends the round.
-   */
+  /** Shows the next planned question. If all questions were asked, ends the round. */
   private void nextQuestion() {
-    if
-    (currentQuestionIndex < wordsForPlayRound.size() && currentQuestionIndex < MAX_QUESTIONS) {
-      final Word randomWord = getRandomWord(wordsForPlayRound);
-
-      final Question questionInstance = new Question();
-      questionInstance.setQuestionType(List.of("Multiple Choice", "Translation"));
-      final String questionType = questionInstance.getQuestionType();
-
-      if ("Translation".equalsIgnoreCase(questionType)) {
-        new TranslationQuestion(randomWord, this.currentUser, this);
-      } else if ("Multiple Choice".equalsIgnoreCase(questionType)) {
-        final List<Word> otherWords = generateAnswerOptions(randomWord, wordsForPlayRound);
-        new MultipleQuestion(randomWord, otherWords, this.currentUser, this);
+    if (currentQuestionIndex < plans.size()) {
+      final RoundPlanner.QuestionPlan plan = plans.get(currentQuestionIndex);
+      if (RoundPlanner.TRANSLATION.equals(plan.questionType())) {
+        new TranslationQuestion(plan.askedWord(), plan.direction(), this.currentUser, this);
+      } else {
+        new MultipleQuestion(
+            plan.askedWord(), plan.answerOptions(), plan.direction(), this.currentUser, this);
       }
     } else {
       endRound();
@@ -127,23 +134,22 @@ public class PlayRound implements Callback {
   /** Ends the play round, saves points, and shows the main menu. */
   public void endRound() {
     savePoints();
+    // Planned questions that were not asked can be asked in the next round
+    reviews.releaseTaken();
+    ReviewScheduler.getInstance().save(reviews);
     showMainMenu(this.currentUser);
   }
 
-  /** Saves the session points for the current user. */
+  /** Saves the session points for the current user. The points are written in the background. */
   private void savePoints() {
     if (this.currentUser != null) {
-      this.currentUser.updateHighScore(this.sessionPoints);
+      this.currentUser.addSessionPoints(this.sessionPoints);
     }
   }
 
   /** Shows the main menu. */
   public static void showMainMenu(Nutzer currentUser) {
-    final List<String> availableLanguages = List.of("Spanish", "Russian");
-    final List<String> availableLevels = List.of("Beginner", "Intermediate", "Advanced");
     new MainMenu(
-            availableLanguages,
-            availableLevels,
             currentUser.getSelectedLanguage(),
             currentUser.getSelectedLevel(),
             currentUser)
@@ -158,12 +164,32 @@ public class PlayRound implements Callback {
    */
   @Override
   public void answerSubmitted(final String userResponse, final String correctAnswer) {
+    final Word word = plans.get(currentQuestionIndex).askedWord();
+    answerGraded(userResponse, word, AnswerMatcher.check(userResponse, word));
+  }
 
-    final boolean answerIsCorrect = userResponse.equalsIgnoreCase(correctAnswer);
-
-    if (answerIsCorrect) {
+  /**
+   * Handles an answer graded by the question. A near miss earns the point, but the word is
+   * scheduled as harder to remember than after an exact answer.
+   *
+   * @param userResponse The user's response.
+   * @param word The word asked, reversed if it was asked in reverse. The answer is recorded for the
+   *     planned word, so both directions share its schedule.
+   * @param grade The grade of the response.
+   */
+  @Override
+  public void answerGraded(
+      final String userResponse, final Word word, final AnswerMatcher.Grade grade) {
+    if (grade != AnswerMatcher.Grade.WRONG) {
       this.sessionPoints++;
     }
+    final int quality =
+        switch (grade) {
+          case EXACT -> ReviewQueue.QUALITY_CORRECT;
+          case NEAR_MISS -> ReviewQueue.QUALITY_NEAR_MISS;
+          case WRONG -> ReviewQueue.QUALITY_WRONG;
+        };
+    reviews.record(plans.get(currentQuestionIndex).word(), quality, System.currentTimeMillis());
     // Move to the next question after the user has submitted an answer
     currentQuestionIndex++;
     nextQuestion();
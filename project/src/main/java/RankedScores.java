@@ -0,0 +1,330 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code RankedScores} class keeps the scores of users sorted by score (highest first, ties
+ * broken by username). It is an order-statistic treap: every node knows the size of its subtree, so
+ * changing a score, looking up the rank of a user and reading the first entries take O(log n)
+ * expected time (plus the number of entries read) without ever sorting all users.
+ *
+ * <p>The class is not thread-safe; the {@link Leaderboard} synchronizes access to it.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class RankedScores {
+  /**
+   * An entry of the ranking.
+   *
+   * @param username The username of the user.
+   * @param score The score of the user.
+   */
+  public record Entry(String username, int score) {}
+
+  /** A node of the treap. */
+  private static final class Node {
+    /** The username of the entry. */
+    private final String username;
+
+    /** The score of the entry. */
+    private final int score;
+
+    /** The random heap priority of the node. */
+    private final int priority;
+
+    /** The number of nodes in the subtree of this node. */
+    private int size;
+
+    /** The subtree of the entries ranked before this one. */
+    private Node left;
+
+    /** The subtree of the entries ranked after this one. */
+    private Node right;
+
+    /**
+     * Constructs a new leaf node.
+     *
+     * @param username The username of the entry.
+     * @param score The score of the entry.
+     */
+    private Node(final String username, final int score) {
+      this.username = username;
+      this.score = score;
+      this.priority = ThreadLocalRandom.current().nextInt();
+      this.size = 1;
+    }
+  }
+
+  /** The scores of the users, indexed by username, to find the node of a user. */
+  private final Map<String, Integer> scores;
+
+  /** The root of the treap, or {@code null} if it is empty. */
+  private Node root;
+
+  /** Constructs a new empty {@code RankedScores}. */
+  public RankedScores() {
+    this.scores = new HashMap<>();
+  }
+
+  /**
+   * Sets the score of a user, adding the user if necessary.
+   *
+   * @param username The username of the user.
+   * @param score The new score.
+   */
+  public void put(final String username, final int score) {
+    final Integer previous = scores.put(username, score);
+    if (previous != null) {
+      if (previous == score) {
+        return;
+      }
+      root = remove(root, username, previous);
+    }
+    final Node node = new Node(username, score);
+    final Node[] parts = split(root, username, score);
+    root = merge(merge(parts[0], node), parts[1]);
+  }
+
+  /**
+   * Sets the scores of all users of another ranking, adding the users if necessary.
+   *
+   * @param other The ranking to take the scores from.
+   */
+  public void putAll(final RankedScores other) {
+    other.scores.forEach(this::put);
+  }
+
+  /**
+   * Adds points to the score of a user, adding the user with the points if necessary.
+   *
+   * @param username The username of the user.
+   * @param points The points to add.
+   */
+  public void add(final String username, final int points) {
+    put(username, scores.getOrDefault(username, 0) + points);
+  }
+
+  /**
+   * Removes a user from the ranking.
+   *
+   * @param username The username of the user.
+   */
+  public void remove(final String username) {
+    final Integer previous = scores.remove(username);
+    if (previous != null) {
+      root = remove(root, username, previous);
+    }
+  }
+
+  /**
+   * Gets the score of a user.
+   *
+   * @param username The username of the user.
+   * @return The score of the user, or {@code null} if the user is not ranked.
+   */
+  public Integer getScore(final String username) {
+    return scores.get(username);
+  }
+
+  /**
+   * Gets the rank of a user, starting with 1 for the highest score.
+   *
+   * @param username The username of the user.
+   * @return The rank of the user, or 0 if the user is not ranked.
+   */
+  public int getRank(final String username) {
+    final Integer score = scores.get(username);
+    if (score == null) {
+      return 0;
+    }
+    int before = 0;
+    Node node = root;
+    while (node != null) {
+      final int comparison = compare(username, score, node);
+      if (comparison == 0) {
+        return before + size(node.left) + 1;
+      }
+      if (comparison < 0) {
+        node = node.left;
+      } else {
+        before += size(node.left) + 1;
+        node = node.right;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Gets the entry with the given rank.
+   *
+   * @param rank The rank, starting with 1 for the highest score.
+   * @return The entry, or {@code null} if there is no entry with this rank.
+   */
+  public Entry getEntry(final int rank) {
+    int remaining = rank;
+    Node node = root;
+    while (node != null) {
+      final int leftSize = size(node.left);
+      if (remaining <= leftSize) {
+        node = node.left;
+      } else if (remaining == leftSize + 1) {
+        return new Entry(node.username, node.score);
+      } else {
+        remaining -= leftSize + 1;
+        node = node.right;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the entries with the highest scores.
+   *
+   * @param count The maximum number of entries.
+   * @return The entries, highest score first.
+   */
+  public List<Entry> getTop(final int count) {
+    final List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size())));
+    collect(root, count, entries);
+    return entries;
+  }
+
+  /**
+   * Gets the number of ranked users.
+   *
+   * @return The number of ranked users.
+   */
+  public int size() {
+    return size(root);
+  }
+
+  /**
+   * Collects the entries of a subtree in rank order until enough were collected.
+   *
+   * @param node The root of the subtree.
+   * @param count The maximum number of entries.
+   * @param entries The collected entries.
+   */
+  private static void collect(final Node node, final int count, final List<Entry> entries) {
+    if (node == null || entries.size() >= count) {
+      return;
+    }
+    collect(node.left, count, entries);
+    if (entries.size() < count) {
+      entries.add(new Entry(node.username, node.score));
+      collect(node.right, count, entries);
+    }
+  }
+
+  /**
+   * Splits a subtree into the entries ranked before the given key and the others.
+   *
+   * @param node The root of the subtree.
+   * @param username The username of the key.
+   * @param score The score of the key.
+   * @return The roots of the entries before the key and of the remaining entries.
+   */
+  private static Node[] split(final Node node, final String username, final int score) {
+    if (node == null) {
+      return new Node[2];
+    }
+    if (compare(username, score, node) > 0) {
+      final Node[] parts = split(node.right, username, score);
+      node.right = parts[0];
+      update(node);
+      parts[0] = node;
+      return parts;
+    }
+    final Node[] parts = split(node.left, username, score);
+    node.left = parts[1];
+    update(node);
+    parts[1] = node;
+    return parts;
+  }
+
+  /**
+   * Merges two subtrees where all entries of the first are ranked before those of the second.
+   *
+   * @param first The root of the first subtree.
+   * @param second The root of the second subtree.
+   * @return The root of the merged subtree.
+   */
+  private static Node merge(final Node first, final Node second) {
+    if (first == null) {
+      return second;
+    }
+    if (second == null) {
+      return first;
+    }
+    if (first.priority > second.priority) {
+      first.right = merge(first.right, second);
+      update(first);
+      return first;
+    }
+    second.left = merge(first, second.left);
+    update(second);
+    return second;
+  }
+
+  /**
+   * Removes an entry from a subtree.
+   *
+   * @param node The root of the subtree.
+   * @param username The username of the entry.
+   * @param score The score of the entry.
+   * @return The root of the subtree without the entry.
+   */
+  private static Node remove(final Node node, final String username, final int score) {
+    if (node == null) {
+      return null;
+    }
+    final int comparison = compare(username, score, node);
+    if (comparison == 0) {
+      return merge(node.left, node.right);
+    }
+    if (comparison < 0) {
+      node.left = remove(node.left, username, score);
+    } else {
+      node.right = remove(node.right, username, score);
+    }
+    update(node);
+    return node;
+  }
+
+  /**
+   * Compares a key with the entry of a node in rank order.
+   *
+   * @param username The username of the key.
+   * @param score The score of the key.
+   * @param node The node to compare with.
+   * @return A negative number if the key is ranked before the node, 0 if it is the same entry, a
+   *     positive number otherwise.
+   */
+  private static int compare(final String username, final int score, final Node node) {
+    final int comparison = Integer.compare(node.score, score);
+    return comparison != 0 ? comparison : username.compareTo(node.username);
+  }
+
+  /**
+   * Recomputes the subtree size of a node from its children.
+   *
+   * @param node The node to update.
+   */
+  private static void update(final Node node) {
+    node.size = size(node.left) + size(node.right) + 1;
+  }
+
+  /**
+   * Gets the size of a subtree.
+   *
+   * @param node The root of the subtree, or {@code null}.
+   * @return The number of nodes in the subtree.
+   */
+  private static int size(final Node node) {
+    return node == null ? 0 : node.size;
+  }
+}
@@ -1,5 +1,3 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -16,9 +14,6 @@ public class RegistrierterNutzer extends Nutzer {
   /** The logger for the {@code RegistrierterNutzer} class. */
   private static final Logger logger = Logger.getLogger(RegistrierterNutzer.class.getName());
 
-  /** The file name for the user database. */
-  private static final String USER_DATABASE_FILE = "./userDatabase.txt";
-
   /** The email of the user. */
   private String email;
 
@@ -40,6 +35,21 @@ public class RegistrierterNutzer extends Nutzer {
     readEmailAndPasswordFromDatabase();
   }
 
+  /**
+   * Constructs a new {@code RegistrierterNutzer} object from a user that was already read from the
+   * userDatabase.txt file, without reading the file again.
+   *
+   * @param user The stored user.
+   * @param selectedLanguage The selected language preference of the user.
+   * @param selectedLevel The selected level of the user.
+   */
+  public RegistrierterNutzer(
+      final UserRecord user, final String selectedLanguage, final String selectedLevel) {
+    super(user.username(), user.highScore(), selectedLanguage, selectedLevel);
+    this.email = user.email();
+    this.password = user.password();
+  }
+
   /**
    * Gets the email address of the registered user.
    *
@@ -81,16 +91,12 @@ public class RegistrierterNutzer extends Nutzer {
    * are associated with the current username.
    */
   private void readEmailAndPasswordFromDatabase() {
-    try (BufferedReader reader = new BufferedReader(new FileReader(USER_DATABASE_FILE))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        final String[] parts = line.split(",");
-        if (parts.length >= 4 && parts[0].equals(getUserName())) {
-          // Username found, set email and password
-          setEmail(parts[3].trim());
-          setPassword(parts[2].trim());
-          return;
-        }
+    try {
+      final UserRecord user = UserRepository.getInstance().find(getUserName());
+      if (user != null && user.email() != null) {
+        // Username found, set email and password
+        setEmail(user.email());
+        setPassword(user.password());
       }
     } catch (IOException e) {
       logger.log(Level.SEVERE, "Error reading email and password from file", e);
@@ -6,7 +6,7 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
-import java.io.*;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -22,7 +22,6 @@ public class Registrierung extends JFrame {
   private LoginListener loginListener;
   private LoginStrategy loginStrategy;
   private static final Logger logger = Logger.getLogger(Registrierung.class.getName());
-  private static final String USER_DATABASE_FILE = "./userDatabase.txt";
 
   public Registrierung(LoginListener loginListener, LoginStrategy loginStrategy) {
     this.loginListener = loginListener;
@@ -60,11 +59,8 @@ public class Registrierung extends JFrame {
           if (loginListener != null && loginStrategy != null) {
             boolean loginSuccessful = loginStrategy.login(username, password);
             if (loginSuccessful) {
-              RegistrierterNutzer registeredUser = new RegistrierterNutzer(username, null, null);
-              registeredUser.setUsername(username);
-              registeredUser.setHighScore();
-              registeredUser.setEmail(email);
-              registeredUser.setPassword(password);
+              RegistrierterNutzer registeredUser =
+                  new RegistrierterNutzer(new UserRecord(username, 0, password, email), null, null);
 
               loginListener.onLogin(username, password, registeredUser);
             }
@@ -75,25 +71,9 @@ public class Registrierung extends JFrame {
   }
 
   private boolean writeUserToFile(String username, String email, String password) {
-    // Check if the file exists, create it if not
-    try (BufferedReader reader = new BufferedReader(new FileReader(USER_DATABASE_FILE))) {
-      // File exists, continue with reading
-    } catch (FileNotFoundException e) {
-      // File not found, create the file
-      try {
-        new FileWriter(USER_DATABASE_FILE).close();
-      } catch (IOException ex) {
-        logError("Error creating userDatabase.txt", ex);
-        return false;
-      }
-    } catch (IOException e) {
-      logError("Error reading userDatabase.txt", e);
-      return false;
-    }
-
-    // Write user information to the file
-    try (PrintWriter writer = new PrintWriter(new FileWriter(USER_DATABASE_FILE, true))) {
-      writer.println(username + ",0," + password + "," + email);
+    // Write user information to the file (it is created if it does not exist yet)
+    try {
+      UserRepository.getInstance().addUser(new UserRecord(username, 0, password, email));
       return true;
     } catch (IOException e) {
       logError("Error writing to userDatabase.txt", e);
@@ -1,5 +1,3 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -15,48 +13,35 @@ import java.util.logging.Logger;
 public class RegularLoginStrategy implements LoginStrategy {
   private static final Logger LOGGER = Logger.getLogger(RegularLoginStrategy.class.getName());
 
-  /** The path to the user database file. */
-  private static final String USER_DATABASE_FILE = "./userDatabase.txt";
-
   /**
-   * Attempts to authenticate a user based on the provided username and password.
+   * Attempts to authenticate a registered user based on the provided username and password.
    *
    * @param username The username entered by the user.
    * @param password The password entered by the user.
-   * @return {@code true} if the login is successful, {@code false} otherwise.
+   * @return The logged in user, or {@code null} if the login is not successful.
    */
   @Override
-  public boolean login(final String username, final String password) {
+  public RegistrierterNutzer authenticate(final String username, final String password) {
     try {
-      final String storedPassword = readPasswordFromDatabase(username);
-      if (storedPassword != null) {
-        return storedPassword.equals(password);
+      final UserRecord user = readUserFromDatabase(username);
+      if (user != null && user.password() != null && user.password().equals(password)) {
+        return new RegistrierterNutzer(user, null, null);
       }
-      return false;
+      return null;
     } catch (IOException e) {
       LOGGER.log(Level.SEVERE, "Error during login", e);
-      return false;
+      return null;
     }
   }
 
   /**
-   * Reads the stored password from the user database for the specified username.
+   * Reads the stored user from the user database for the specified username.
    *
-   * @param targetUsername The username for which the password is to be retrieved.
-   * @return The stored password associated with the username, or {@code null} if the username is
-   *     not found.
+   * @param targetUsername The username for which the user is to be retrieved.
+   * @return The stored user, or {@code null} if the username is not found.
    * @throws IOException If an error occurs while reading the user database.
    */
-  private String readPasswordFromDatabase(final String targetUsername) throws IOException {
-    try (BufferedReader reader = new BufferedReader(new FileReader(USER_DATABASE_FILE))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        final String[] parts = line.split(",");
-        if (parts.length >= 3 && parts[0].equals(targetUsername)) {
-          return parts[2].trim();
-        }
-      }
-      return null;
-    }
+  private UserRecord readUserFromDatabase(final String targetUsername) throws IOException {
+    return ScoreBuffer.getInstance().find(targetUsername);
   }
 }
@@ -0,0 +1,462 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code ReviewQueue} class schedules the words of one user, language and level with the SM-2
+ * spaced-repetition algorithm. Every word that was asked has a due time, an interval and an ease
+ * factor; a correct answer pushes the due time further into the future the more often the word was
+ * known, a wrong answer brings the word back after {@value #RELEARN_DELAY_MILLIS} ms.
+ *
+ * <p>The asked words are kept in a heap ordered by due time, so {@link #next(long)} takes the most
+ * overdue word in O(log n). If no word is due, a word that was never asked is taken at random, and
+ * only if there is none of those either, the word that will be due next. A word taken by {@code
+ * next} is not returned again until its answer is recorded or it is released with {@link
+ * #releaseTaken()}.
+ *
+ * <p>The state is written with {@link #writeTo(DataOutput)} and read with {@link
+ * #readFrom(DataInput, List)}; words that are no longer in the word list keep their state, so it is
+ * not lost if they come back.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class ReviewQueue {
+  /** The quality of a correct answer on the SM-2 scale from 0 to 5. */
+  public static final int QUALITY_CORRECT = 4;
+
+  /** The quality of an answer with a typo on the SM-2 scale from 0 to 5. */
+  public static final int QUALITY_NEAR_MISS = 3;
+
+  /** The quality of a wrong answer on the SM-2 scale from 0 to 5. */
+  public static final int QUALITY_WRONG = 1;
+
+  /** The lowest quality that counts as remembered. */
+  static final int QUALITY_PASSED = 3;
+
+  /** The ease factor of a new word. */
+  static final double INITIAL_EASE = 2.5;
+
+  /** The smallest ease factor. */
+  static final double MIN_EASE = 1.3;
+
+  /** The time after which a word answered wrongly is asked again. */
+  static final long RELEARN_DELAY_MILLIS = 60_000;
+
+  /** The length of a day in milliseconds. */
+  static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+  /** The review state of a word. */
+  static final class Item {
+    /** The word. */
+    private final Word word;
+
+    /** The time at which the word is due, in milliseconds since the epoch. */
+    private long due;
+
+    /** The current interval in days. */
+    private int interval;
+
+    /** The ease factor. */
+    private double ease;
+
+    /** The number of correct answers in a row. */
+    private int repetitions;
+
+    /** Whether the item is in the heap. */
+    private boolean queued;
+
+    /**
+     * Constructs a new {@code Item}.
+     *
+     * @param word The word.
+     * @param due The due time.
+     * @param interval The interval in days.
+     * @param ease The ease factor.
+     * @param repetitions The number of correct answers in a row.
+     */
+    private Item(
+        final Word word,
+        final long due,
+        final int interval,
+        final double ease,
+        final int repetitions) {
+      this.word = word;
+      this.due = due;
+      this.interval = interval;
+      this.ease = ease;
+      this.repetitions = repetitions;
+    }
+
+    long getDue() {
+      return due;
+    }
+
+    int getInterval() {
+      return interval;
+    }
+
+    double getEase() {
+      return ease;
+    }
+
+    int getRepetitions() {
+      return repetitions;
+    }
+  }
+
+  /** The state of every word that was asked, including words no longer in the list. */
+  private final Map<Word, Item> items;
+
+  /** The asked words of the current list that are not taken, the earliest due time on top. */
+  private final PriorityQueue<Item> scheduled;
+
+  /** The words of the current list that were never asked and are not taken. */
+  private final List<Word> newWords;
+
+  /** The words taken by {@link #next(long)} whose answer was not recorded yet. */
+  private final Set<Word> taken;
+
+  /** The random generator choosing new words. */
+  private final RandomGenerator random;
+
+  /** The current word list. */
+  private List<Word> words;
+
+  /** Whether the state changed since it was last written. */
+  private boolean changed;
+
+  /**
+   * Constructs a new {@code ReviewQueue} in which no word was asked yet.
+   *
+   * @param words The words to schedule.
+   */
+  public ReviewQueue(final List<Word> words) {
+    this(words, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Constructs a new {@code ReviewQueue} in which no word was asked yet.
+   *
+   * @param words The words to schedule.
+   * @param random The random generator choosing new words.
+   */
+  ReviewQueue(final List<Word> words, final RandomGenerator random) {
+    this.items = new HashMap<>();
+    this.scheduled = new PriorityQueue<>(Comparator.comparingLong(Item::getDue));
+    this.newWords = new ArrayList<>();
+    this.taken = new HashSet<>();
+    this.random = random;
+    update(words);
+    this.changed = false;
+  }
+
+  /**
+   * Takes the word to ask next.
+   *
+   * @param now The current time in milliseconds since the epoch.
+   * @return The most overdue word, a new word if none is due, or the word due next if every word was
+   *     asked; {@code null} if all words are taken.
+   */
+  public synchronized Word next(final long now) {
+    final Item top = scheduled.peek();
+    while ((top == null || top.due > now) && !newWords.isEmpty()) {
+      // Remove a random new word by moving the last one into its place
+      final int index = random.nextInt(newWords.size());
+      final Word last = newWords.remove(newWords.size() - 1);
+      final Word word = index < newWords.size() ? newWords.set(index, last) : last;
+      // A new word may have been recorded without being taken, it is then in the heap
+      if (!items.containsKey(word)) {
+        taken.add(word);
+        return word;
+      }
+    }
+    if (top == null) {
+      return null;
+    }
+    scheduled.poll();
+    top.queued = false;
+    taken.add(top.word);
+    return top.word;
+  }
+
+  /**
+   * Records the answer to a word and schedules it again.
+   *
+   * @param word The word.
+   * @param quality The quality of the answer from 0 to 5, for example {@link #QUALITY_CORRECT}.
+   * @param now The current time in milliseconds since the epoch.
+   */
+  public synchronized void record(final Word word, final int quality, final long now) {
+    taken.remove(word);
+    Item item = items.get(word);
+    if (item == null) {
+      item = new Item(word, now, 0, INITIAL_EASE, 0);
+      items.put(word, item);
+    } else if (item.queued) {
+      scheduled.remove(item);
+    }
+
+    if (quality >= QUALITY_PASSED) {
+      if (item.repetitions == 0) {
+        item.interval = 1;
+      } else if (item.repetitions == 1) {
+        item.interval = 6;
+      } else {
+        item.interval = (int) Math.round(item.interval * item.ease);
+      }
+      item.repetitions++;
+      item.due = now + item.interval * DAY_MILLIS;
+    } else {
+      item.repetitions = 0;
+      item.interval = 0;
+      item.due = now + RELEARN_DELAY_MILLIS;
+    }
+    final int lapse = 5 - quality;
+    item.ease = Math.max(MIN_EASE, item.ease + 0.1 - lapse * (0.08 + lapse * 0.02));
+
+    item.queued = true;
+    scheduled.add(item);
+    changed = true;
+  }
+
+  /**
+   * Replaces the word list, for example after it was reloaded. Added words become new words; removed
+   * words keep their state but are no longer asked. Taken words are returned to the queue.
+   *
+   * @param newList The new word list.
+   */
+  public synchronized void update(final List<Word> newList) {
+    if (newList == words) {
+      return;
+    }
+    words = newList;
+    scheduled.clear();
+    newWords.clear();
+    taken.clear();
+    for (final Item item : items.values()) {
+      item.queued = false;
+    }
+    final Set<Word> distinctNewWords = new HashSet<>();
+    for (final Word word : newList) {
+      final Item item = items.get(word);
+      if (item == null) {
+        if (distinctNewWords.add(word)) {
+          newWords.add(word);
+        }
+      } else if (!item.queued) {
+        item.queued = true;
+        scheduled.add(item);
+      }
+    }
+  }
+
+  /**
+   * Replaces the word list with a list that differs from the current one only by the given words,
+   * for example after a file of the vocabulary directory was edited. Unlike {@link #update(List)},
+   * only the added and removed words are visited, so the state of all other words is kept without
+   * rebuilding the queue.
+   *
+   * @param newList The new word list.
+   * @param added The words of the new list that are not in the current list.
+   * @param removed The words of the current list that are not in the new list.
+   */
+  public synchronized void update(
+      final List<Word> newList, final Collection<Word> added, final Collection<Word> removed) {
+    if (newList == words) {
+      return;
+    }
+    words = newList;
+    for (final Word word : removed) {
+      final Item item = items.get(word);
+      if (item != null && item.queued) {
+        scheduled.remove(item);
+        item.queued = false;
+      }
+      newWords.remove(word);
+      taken.remove(word);
+    }
+    for (final Word word : added) {
+      final Item item = items.get(word);
+      if (item == null) {
+        newWords.add(word);
+      } else if (!item.queued && !taken.contains(word)) {
+        item.queued = true;
+        scheduled.add(item);
+      }
+    }
+  }
+
+  /**
+   * Returns the taken words whose answer was not recorded, for example the remaining words of a round
+   * that was left early, so they can be taken again.
+   */
+  public synchronized void releaseTaken() {
+    for (final Word word : taken) {
+      final Item item = items.get(word);
+      if (item == null) {
+        newWords.add(word);
+      } else if (!item.queued) {
+        item.queued = true;
+        scheduled.add(item);
+      }
+    }
+    taken.clear();
+  }
+
+  /**
+   * Gets the number of words that were asked and are due.
+   *
+   * @param now The current time in milliseconds since the epoch.
+   * @return The number of due words.
+   */
+  public synchronized int getDueCount(final long now) {
+    int due = 0;
+    for (final Item item : scheduled) {
+      if (item.due <= now) {
+        due++;
+      }
+    }
+    return due;
+  }
+
+  /**
+   * Gets the number of words of the list that were never asked and are not taken.
+   *
+   * @return The number of new words, including words recorded without being taken.
+   */
+  public synchronized int getNewCount() {
+    return newWords.size();
+  }
+
+  /**
+   * Gets the review state of a word.
+   *
+   * @param word The word.
+   * @return The state, or {@code null} if the word was never asked.
+   */
+  synchronized Item getItem(final Word word) {
+    return items.get(word);
+  }
+
+  /**
+   * Checks whether the state changed since it was last written.
+   *
+   * @return {@code true} if the state changed.
+   */
+  public synchronized boolean isChanged() {
+    return changed;
+  }
+
+  /**
+   * Writes the state of every word that was asked: the original as a modified UTF-8 string, the
+   * number of translations as a short followed by the translations, the due time as a long, the
+   * interval as an int, the ease factor in hundredths and the repetitions as shorts.
+   *
+   * @param out The output.
+   * @throws IOException If an error occurs while writing.
+   */
+  public synchronized void writeTo(final DataOutput out) throws IOException {
+    out.writeInt(items.size());
+    for (final Item item : items.values()) {
+      out.writeUTF(item.word.getOriginal());
+      final List<String> translations = item.word.getTranslations();
+      out.writeShort(translations.size());
+      for (final String translation : translations) {
+        out.writeUTF(translation);
+      }
+      out.writeLong(item.due);
+      out.writeInt(item.interval);
+      out.writeShort((int) Math.round(item.ease * 100));
+      out.writeShort(Math.min(item.repetitions, Short.MAX_VALUE));
+    }
+    changed = false;
+  }
+
+  /**
+   * Indexes the words with several translations by their original and first translation.
+   *
+   * @param words The words to schedule.
+   * @return The words by a word with their original and first translation.
+   */
+  private static Map<Word, Word> indexByFirstTranslation(final List<Word> words) {
+    final Map<Word, Word> index = new HashMap<>();
+    for (final Word word : words) {
+      if (word.getTranslations().size() > 1) {
+        index.putIfAbsent(new Word(word.getOriginal(), word.getTranslation()), word);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Reads the state written by {@link #writeTo(DataOutput)}. The state may also be in the older
+   * format that only held the first translation of every word; its words are then matched to the
+   * words to schedule by their original and first translation.
+   *
+   * @param in The input.
+   * @param allTranslations {@code true} if the state holds all translations of every word, {@code
+   *     false} if it holds only the first one.
+   * @param words The words to schedule.
+   * @return The queue.
+   * @throws IOException If an error occurs while reading.
+   */
+  public static ReviewQueue readFrom(
+      final DataInput in, final boolean allTranslations, final List<Word> words)
+      throws IOException {
+    final int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Invalid number of review items: " + count);
+    }
+    final Map<Word, Word> wordsByFirstTranslation =
+        allTranslations || count == 0 ? Map.of() : indexByFirstTranslation(words);
+    final Map<Word, Item> items = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      final Word word;
+      if (allTranslations) {
+        final String original = in.readUTF();
+        final int translationCount = in.readUnsignedShort();
+        if (translationCount == 0) {
+          throw new IOException("Review item without translation: " + original);
+        }
+        final List<String> translations = new ArrayList<>(translationCount);
+        for (int j = 0; j < translationCount; j++) {
+          translations.add(in.readUTF());
+        }
+        word = new Word(original, translations);
+      } else {
+        final Word stored = new Word(in.readUTF(), in.readUTF());
+        word = wordsByFirstTranslation.getOrDefault(stored, stored);
+      }
+      final long due = in.readLong();
+      final int interval = in.readInt();
+      final double ease = in.readShort() / 100.0;
+      final int repetitions = in.readShort();
+      // An older state may hold a word twice if it was asked again after a reload: keep the later
+      items.merge(
+          word,
+          new Item(word, due, interval, ease, repetitions),
+          (stored, read) -> stored.due >= read.due ? stored : read);
+    }
+    final ReviewQueue queue = new ReviewQueue(List.of());
+    synchronized (queue) {
+      queue.items.putAll(items);
+      queue.words = null;
+      queue.update(words);
+      queue.changed = false;
+    }
+    return queue;
+  }
+}
@@ -0,0 +1,269 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code ReviewScheduler} class keeps the {@link ReviewQueue} of every user, language and level.
+ * A queue is read from its file the first time it is asked for, so only the levels a user actually
+ * plays are loaded, and written back in the background after a round.
+ *
+ * <p>Each queue is stored in its own file in the directory given by the system property {@value
+ * #DIRECTORY_PROPERTY} (by default {@value #DEFAULT_DIRECTORY}). A file starts with a magic number
+ * and a format version followed by the state written by {@link ReviewQueue}. A file that cannot be
+ * read is logged and replaced by an empty state.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class ReviewScheduler {
+  /** The logger of the ReviewScheduler class. */
+  private static final Logger logger = Logger.getLogger(ReviewScheduler.class.getName());
+
+  /** The system property naming the directory of the review files. */
+  static final String DIRECTORY_PROPERTY = "vocabtrainer.reviewDirectory";
+
+  /** The default directory of the review files. */
+  static final String DEFAULT_DIRECTORY = "./reviews";
+
+  /** The extension of the review files. */
+  static final String EXTENSION = ".srs";
+
+  /** The magic number at the start of a review file ("VTSR"). */
+  private static final int MAGIC = 0x56545352;
+
+  /** The version of the file format. */
+  private static final int FORMAT_VERSION = 2;
+
+  /** The version of the file format that only held the first translation of every word. */
+  private static final int SINGLE_TRANSLATION_VERSION = 1;
+
+  /** The singleton instance of the ReviewScheduler class. */
+  private static ReviewScheduler instance;
+
+  /** The directory of the review files. */
+  private final Path directory;
+
+  /** The loaded queues, indexed by user, language and level. */
+  private final Map<String, ReviewQueue> queues;
+
+  /** The file of every loaded queue. */
+  private final Map<ReviewQueue, Path> files;
+
+  /** The executor writing the files one after another. */
+  private final ExecutorService writer;
+
+  /**
+   * Constructs a new {@code ReviewScheduler}.
+   *
+   * @param directory The directory of the review files.
+   */
+  ReviewScheduler(final Path directory) {
+    this.directory = directory;
+    this.queues = new ConcurrentHashMap<>();
+    this.files = new ConcurrentHashMap<>();
+    this.writer =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "review-writer");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Gets the singleton instance of the {@code ReviewScheduler}. Pending writes are finished when the
+   * application shuts down.
+   *
+   * @return The singleton instance of the {@code ReviewScheduler}.
+   */
+  public static synchronized ReviewScheduler getInstance() {
+    if (instance == null) {
+      instance =
+          new ReviewScheduler(
+              Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)));
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(instance::shutdown, "review-scheduler-shutdown"));
+    }
+    return instance;
+  }
+
+  /**
+   * Gets the queue of a user, language and level, reading it from its file the first time. If the
+   * words changed since the last call, the queue is updated with them. Words taken by an earlier
+   * round but never answered are released.
+   *
+   * @param username The username of the user.
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param words The current words of the level.
+   * @return The queue.
+   */
+  public ReviewQueue getQueue(
+      final String username, final String language, final String level, final List<Word> words) {
+    final Path file = fileOf(username, language, level);
+    final ReviewQueue queue =
+        queues.computeIfAbsent(
+            file.getFileName().toString(),
+            name -> {
+              final ReviewQueue loaded = read(file, words);
+              files.put(loaded, file);
+              return loaded;
+            });
+    queue.update(words);
+    queue.releaseTaken();
+    return queue;
+  }
+
+  /**
+   * Passes the words added to and removed from a level to the loaded queues of that level, so the
+   * review state of the unchanged words is kept without rebuilding the queues.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param words All words of the level after the change.
+   * @param added The words that were added.
+   * @param removed The words that were removed.
+   */
+  public void update(
+      final String language,
+      final String level,
+      final List<Word> words,
+      final List<Word> added,
+      final List<Word> removed) {
+    final String suffix = levelSuffix(language, level).toLowerCase(Locale.ROOT);
+    for (final Map.Entry<String, ReviewQueue> entry : queues.entrySet()) {
+      if (entry.getKey().toLowerCase(Locale.ROOT).endsWith(suffix)) {
+        entry.getValue().update(words, added, removed);
+      }
+    }
+  }
+
+  /**
+   * Writes a queue to its file in the background if it changed. Queues that were not created by
+   * {@link #getQueue(String, String, String, List)} are not written.
+   *
+   * @param queue The queue.
+   * @return A future completing when the file is written.
+   */
+  public CompletableFuture<Void> save(final ReviewQueue queue) {
+    final Path file = files.get(queue);
+    if (file == null || !queue.isChanged()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      queue.writeTo(out);
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return CompletableFuture.runAsync(() -> write(file, bytes.toByteArray()), writer);
+  }
+
+  /** Finishes the pending writes. */
+  public void shutdown() {
+    writer.shutdown();
+    try {
+      if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+        logger.log(Level.WARNING, "Review files are still being written");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Gets the file of a user, language and level. The names are URL-encoded, so every combination
+   * has its own valid file name.
+   *
+   * @param username The username of the user.
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @return The file.
+   */
+  Path fileOf(final String username, final String language, final String level) {
+    return directory.resolve(
+        URLEncoder.encode(username, StandardCharsets.UTF_8) + levelSuffix(language, level));
+  }
+
+  /**
+   * Gets the end of the file names of a language and level, which follows the username.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @return The end of the file names, including the extension.
+   */
+  private static String levelSuffix(final String language, final String level) {
+    return "~"
+        + URLEncoder.encode(language, StandardCharsets.UTF_8)
+        + "~"
+        + URLEncoder.encode(level, StandardCharsets.UTF_8)
+        + EXTENSION;
+  }
+
+  /**
+   * Reads a queue from its file.
+   *
+   * @param file The file.
+   * @param words The words to schedule.
+   * @return The queue, empty if the file does not exist or cannot be read.
+   */
+  private static ReviewQueue read(final Path file, final List<Word> words) {
+    try (InputStream stream = new BufferedInputStream(Files.newInputStream(file));
+        DataInputStream in = new DataInputStream(stream)) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a review file: " + file);
+      }
+      final int version = in.readInt();
+      if (version != FORMAT_VERSION && version != SINGLE_TRANSLATION_VERSION) {
+        throw new IOException("Unsupported review file version " + version + ": " + file);
+      }
+      return ReviewQueue.readFrom(in, version == FORMAT_VERSION, words);
+    } catch (NoSuchFileException e) {
+      return new ReviewQueue(words);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Error reading " + file + ", starting over", e);
+      return new ReviewQueue(words);
+    }
+  }
+
+  /**
+   * Writes a file by replacing it with a completely written temporary file.
+   *
+   * @param file The file.
+   * @param bytes The content.
+   */
+  private static void write(final Path file, final byte[] bytes) {
+    try {
+      Files.createDirectories(file.getParent());
+      final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+      Files.write(temporary, bytes);
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Error writing " + file, e);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code RoundPlanner} class prepares all questions of a play round before the first one is
+ * shown: the word, the question type and, for multiple-choice questions, the answer options. The
+ * words are taken from a {@link ReviewQueue}, which never returns a word twice before its answer is
+ * recorded, so a round does not repeat a word.
+ *
+ * <p>A word asked in reverse is looked up in the {@link WordTable#reversed()} table, so the word
+ * shown is its translation and the answer options are originals, still drawn in O(k) for k options.
+ * The review queue keeps one schedule per word for both directions.
+ *
+ * <p>{@link #planAsync(List, ReviewQueue, int, Direction)} does the work on a background thread, so
+ * the event dispatch thread only has to show the questions.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class RoundPlanner {
+  /** The question type asking to choose the translation. */
+  public static final String MULTIPLE_CHOICE = "Multiple Choice";
+
+  /** The question type asking to type the translation. */
+  public static final String TRANSLATION = "Translation";
+
+  /** The question types of a round. */
+  private static final List<String> QUESTION_TYPES = List.of(MULTIPLE_CHOICE, TRANSLATION);
+
+  /** The executor planning the rounds. */
+  private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * A planned question.
+   *
+   * @param word The word asked, as it is recorded in the review queue.
+   * @param direction The direction of the question, {@link Direction#FORWARD} or {@link
+   *     Direction#REVERSE}.
+   * @param askedWord The word shown and checked: {@code word} itself, or its reversed word.
+   * @param questionType The question type, {@link #MULTIPLE_CHOICE} or {@link #TRANSLATION}.
+   * @param answerOptions The answer options of a multiple-choice question, otherwise empty.
+   */
+  public record QuestionPlan(
+      Word word,
+      Direction direction,
+      Word askedWord,
+      String questionType,
+      List<Word> answerOptions) {}
+
+  /** Private constructor to prevent instantiation. */
+  private RoundPlanner() {}
+
+  /**
+   * Plans a round on a background thread.
+   *
+   * @param words The words of the round.
+   * @param reviews The queue choosing the words.
+   * @param questionCount The largest number of questions.
+   * @param direction The direction of the questions.
+   * @return A future completing with the planned questions.
+   */
+  public static CompletableFuture<List<QuestionPlan>> planAsync(
+      final List<Word> words,
+      final ReviewQueue reviews,
+      final int questionCount,
+      final Direction direction) {
+    final long now = System.currentTimeMillis();
+    return CompletableFuture.supplyAsync(
+        () -> plan(words, reviews, questionCount, direction, now), executor);
+  }
+
+  /**
+   * Plans a round.
+   *
+   * @param words The words of the round.
+   * @param reviews The queue choosing the words.
+   * @param questionCount The largest number of questions.
+   * @param direction The direction of the questions; a mixed round chooses it for every question.
+   * @param now The current time in milliseconds since the epoch.
+   * @return The planned questions; fewer than {@code questionCount} if the queue has fewer words.
+   */
+  public static List<QuestionPlan> plan(
+      final List<Word> words,
+      final ReviewQueue reviews,
+      final int questionCount,
+      final Direction direction,
+      final long now) {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final List<QuestionPlan> plans = new ArrayList<>(questionCount);
+    WordTable table = null;
+    while (plans.size() < questionCount) {
+      final Word word = reviews.next(now);
+      if (word == null) {
+        break;
+      }
+      Direction askedDirection = Direction.FORWARD;
+      Word askedWord = word;
+      List<Word> optionWords = words;
+      if (direction.resolve(random) == Direction.REVERSE) {
+        if (table == null) {
+          table = WordTable.copyOf(words);
+        }
+        // A word missing from the table, which the queue should not return, is asked forward
+        final int index = table.indexOf(word);
+        if (index >= 0) {
+          askedDirection = Direction.REVERSE;
+          optionWords = table.reversed();
+          askedWord = optionWords.get(index);
+        }
+      }
+
+      final Question question = new Question();
+      question.setQuestionType(QUESTION_TYPES);
+      if (MULTIPLE_CHOICE.equals(question.getQuestionType())) {
+        plans.add(
+            new QuestionPlan(
+                word,
+                askedDirection,
+                askedWord,
+                MULTIPLE_CHOICE,
+                PlayRound.generateAnswerOptions(askedWord, optionWords)));
+      } else {
+        plans.add(new QuestionPlan(word, askedDirection, askedWord, TRANSLATION, List.of()));
+      }
+    }
+    return plans;
+  }
+}
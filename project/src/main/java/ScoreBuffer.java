@@ -0,0 +1,194 @@
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code ScoreBuffer} class is a write-behind buffer for the points earned in play rounds. The
+ * points of each user are collected in memory and written to the {@link UserRepository} in one
+ * batch, either periodically, once enough rounds are buffered, or when the application shuts down.
+ *
+ * <p>The flush interval and the number of buffered rounds that triggers a flush can be configured
+ * with the system properties {@value #FLUSH_INTERVAL_PROPERTY} (in milliseconds) and {@value
+ * #FLUSH_THRESHOLD_PROPERTY}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class ScoreBuffer {
+  /** The logger of the ScoreBuffer class. */
+  private static final Logger logger = Logger.getLogger(ScoreBuffer.class.getName());
+
+  /** The system property setting the flush interval in milliseconds. */
+  static final String FLUSH_INTERVAL_PROPERTY = "vocabtrainer.scoreFlushIntervalMs";
+
+  /** The system property setting the number of buffered rounds that triggers a flush. */
+  static final String FLUSH_THRESHOLD_PROPERTY = "vocabtrainer.scoreFlushThreshold";
+
+  /** The default flush interval in milliseconds. */
+  private static final long DEFAULT_FLUSH_INTERVAL = 5000;
+
+  /** The default number of buffered rounds that triggers a flush. */
+  private static final int DEFAULT_FLUSH_THRESHOLD = 64;
+
+  /** The singleton instance of the ScoreBuffer. */
+  private static ScoreBuffer instance;
+
+  /** The repository the points are written to. */
+  private final UserRepository repository;
+
+  /** The number of buffered rounds that triggers a flush. */
+  private final int flushThreshold;
+
+  /** The points not written yet, indexed by username. */
+  private final Map<String, Integer> pendingPoints;
+
+  /** The number of rounds buffered since the last flush. */
+  private final AtomicInteger bufferedRounds;
+
+  /** The lock keeping the buffered points and the repository consistent during a flush. */
+  private final Object flushLock;
+
+  /** The executor running the flushes. */
+  private final ScheduledExecutorService flusher;
+
+  /**
+   * Constructs a new {@code ScoreBuffer} writing to the given repository.
+   *
+   * @param repository The repository the points are written to.
+   * @param flushInterval The flush interval in milliseconds.
+   * @param flushThreshold The number of buffered rounds that triggers a flush.
+   */
+  ScoreBuffer(final UserRepository repository, final long flushInterval, final int flushThreshold) {
+    this.repository = repository;
+    this.flushThreshold = Math.max(1, flushThreshold);
+    this.pendingPoints = new ConcurrentHashMap<>();
+    this.bufferedRounds = new AtomicInteger();
+    this.flushLock = new Object();
+    this.flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "score-buffer-flusher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.flusher.scheduleWithFixedDelay(
+        this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Gets the singleton instance of the {@code ScoreBuffer}. The buffer is flushed when the
+   * application shuts down.
+   *
+   * @return The singleton instance of the {@code ScoreBuffer}.
+   */
+  public static synchronized ScoreBuffer getInstance() {
+    if (instance == null) {
+      instance =
+          new ScoreBuffer(
+              UserRepository.getInstance(),
+              Long.getLong(FLUSH_INTERVAL_PROPERTY, DEFAULT_FLUSH_INTERVAL),
+              Integer.getInteger(FLUSH_THRESHOLD_PROPERTY, DEFAULT_FLUSH_THRESHOLD));
+      Runtime.getRuntime()
+          .addShutdownHook(new Thread(instance::shutdown, "score-buffer-shutdown"));
+    }
+    return instance;
+  }
+
+  /**
+   * Buffers the points a user earned in a play round.
+   *
+   * @param username The username of the user.
+   * @param points The points earned.
+   */
+  public void add(final String username, final int points) {
+    pendingPoints.merge(username, points, Integer::sum);
+    if (bufferedRounds.incrementAndGet() >= flushThreshold) {
+      flusher.execute(this::flush);
+    }
+  }
+
+  /**
+   * Looks up a user in the repository and adds the points that are buffered but not written yet to
+   * the high score.
+   *
+   * @param username The username to look up.
+   * @return The record of the user, or {@code null} if the username is not in the database.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  public UserRecord find(final String username) throws IOException {
+    // Lock out flushes so that points cannot move between the two sources while reading
+    synchronized (flushLock) {
+      final UserRecord user = repository.find(username);
+      final int points = pendingPoints.getOrDefault(username, 0);
+      return user == null || points == 0 ? user : user.withHighScore(user.highScore() + points);
+    }
+  }
+
+  /**
+   * Gets the high score of a user including the points that are buffered but not written yet.
+   *
+   * @param username The username of the user.
+   * @return The high score of the user, or 0 if the user is unknown.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  public int getHighScore(final String username) throws IOException {
+    synchronized (flushLock) {
+      final UserRecord user = find(username);
+      return user != null ? user.highScore() : pendingPoints.getOrDefault(username, 0);
+    }
+  }
+
+  /**
+   * Discards the buffered points of a user, for example because the high score was reset. If a
+   * flush is running, this waits until it has written its batch, so points taken by the flush
+   * cannot be written after a reset that follows the discard.
+   *
+   * @param username The username of the user.
+   */
+  public void discard(final String username) {
+    synchronized (flushLock) {
+      pendingPoints.remove(username);
+    }
+  }
+
+  /**
+   * Writes all buffered points to the repository in one batch. If writing fails, the points are
+   * kept in the buffer and written with the next flush.
+   */
+  public void flush() {
+    synchronized (flushLock) {
+      bufferedRounds.set(0);
+      final Map<String, Integer> batch = new HashMap<>();
+      for (final String username : pendingPoints.keySet()) {
+        final Integer points = pendingPoints.remove(username);
+        if (points != null) {
+          batch.put(username, points);
+        }
+      }
+      if (batch.isEmpty()) {
+        return;
+      }
+
+      try {
+        repository.addToHighScores(batch);
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Error writing buffered scores, retrying with the next flush", e);
+        batch.forEach((username, points) -> pendingPoints.merge(username, points, Integer::sum));
+      }
+    }
+  }
+
+  /** Stops the periodic flushes and writes the remaining buffered points. */
+  public void shutdown() {
+    flusher.shutdownNow();
+    flush();
+  }
+}
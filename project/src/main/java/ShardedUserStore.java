@@ -0,0 +1,398 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ShardedUserStore} class partitions the users into several shard files by the hash of
+ * the username. Every lookup and update is routed to the single shard the username belongs to, so an
+ * update only rewrites or appends to a fraction of the data. The shards are loaded in parallel, and
+ * {@link #aggregate(Function, BinaryOperator)} scans them in parallel for queries over all users.
+ *
+ * <p>Each shard is a store of its own (for example a {@link TextUserStore}) kept in a file named
+ * after the database file with the suffix {@code .shard<n>}. The number of shards is recorded in a
+ * file with the suffix {@code .shards}, so that a store opened with a different number of shards
+ * fails instead of routing users to the wrong shard. {@link #split(Path, int, Function)} migrates an
+ * unsharded database; it can also be used from the command line: {@code java ShardedUserStore
+ * <database file> <number of shards>}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class ShardedUserStore implements UserStore {
+  /** The logger of the ShardedUserStore class. */
+  private static final Logger logger = Logger.getLogger(ShardedUserStore.class.getName());
+
+  /** The path of the unsharded database file the shards are named after. */
+  private final Path databaseFile;
+
+  /** Creates the store of a shard from the path of its file. */
+  private final Function<Path, UserStore> shardFactory;
+
+  /** The shards, indexed by shard number. */
+  private final List<UserStore> shards;
+
+  /**
+   * Constructs a new {@code ShardedUserStore}.
+   *
+   * @param databaseFile The path of the database file the shards are named after.
+   * @param shardCount The number of shards.
+   * @param shardFactory Creates the store of a shard from the path of its file.
+   */
+  public ShardedUserStore(
+      final Path databaseFile, final int shardCount, final Function<Path, UserStore> shardFactory) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("The number of shards must be positive: " + shardCount);
+    }
+    this.databaseFile = databaseFile;
+    this.shardFactory = shardFactory;
+    this.shards = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      shards.add(shardFactory.apply(shardFile(databaseFile, i)));
+    }
+  }
+
+  @Override
+  public Map<String, UserRecord> load() throws IOException {
+    checkShardCount();
+    final List<Map<String, UserRecord>> loaded = loadShards(IntStream.range(0, shards.size()));
+    final Map<String, UserRecord> users = new LinkedHashMap<>();
+    loaded.forEach(users::putAll);
+    return users;
+  }
+
+  @Override
+  public Map<String, UserRecord> reload(final Map<String, UserRecord> users) throws IOException {
+    final List<Integer> changed = new ArrayList<>();
+    for (int i = 0; i < shards.size(); i++) {
+      if (shards.get(i).hasChanged()) {
+        changed.add(i);
+      }
+    }
+    // Only the changed shards are read again, the users of the other shards are kept
+    final List<Map<String, UserRecord>> loaded =
+        loadShards(changed.stream().mapToInt(Integer::intValue));
+    for (int i = 0; i < changed.size(); i++) {
+      final int shard = changed.get(i);
+      final Map<String, UserRecord> shardUsers = loaded.get(i);
+      users
+          .keySet()
+          .removeIf(username -> shardOf(username) == shard && !shardUsers.containsKey(username));
+      users.putAll(shardUsers);
+    }
+    return users;
+  }
+
+  @Override
+  public Path getDatabaseFile() {
+    return databaseFile;
+  }
+
+  @Override
+  public boolean hasChanged() throws IOException {
+    for (final UserStore shard : shards) {
+      if (shard.hasChanged()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public FileTime getLastModifiedTime() throws IOException {
+    FileTime latest = FileTime.fromMillis(0);
+    for (final UserStore shard : shards) {
+      final FileTime time = shard.getLastModifiedTime();
+      if (time.compareTo(latest) > 0) {
+        latest = time;
+      }
+    }
+    return latest;
+  }
+
+  @Override
+  public void append(final UserRecord user) throws IOException {
+    writeShardCount();
+    shardFor(user.username()).append(user);
+  }
+
+  @Override
+  public void update(final UserRecord user) throws IOException {
+    writeShardCount();
+    shardFor(user.username()).update(user);
+  }
+
+  @Override
+  public void updateAll(final Collection<UserRecord> users) throws IOException {
+    writeShardCount();
+    for (final Map.Entry<Integer, List<UserRecord>> entry : groupByShard(users).entrySet()) {
+      shards.get(entry.getKey()).updateAll(entry.getValue());
+    }
+  }
+
+  @Override
+  public boolean needsCompaction() {
+    return shards.stream().anyMatch(UserStore::needsCompaction);
+  }
+
+  @Override
+  public void compact(final Collection<UserRecord> users) throws IOException {
+    final Map<Integer, List<UserRecord>> groups = groupByShard(users);
+    for (int i = 0; i < shards.size(); i++) {
+      if (shards.get(i).needsCompaction()) {
+        shards.get(i).compact(groups.getOrDefault(i, List.of()));
+      }
+    }
+  }
+
+  /**
+   * Computes an aggregate over all users by scanning the shards in parallel. Each shard is read from
+   * its file, reduced with the given function, and the results of the shards are combined.
+   *
+   * @param perShard Computes the partial result of the users of one shard.
+   * @param combiner Combines two partial results.
+   * @param <T> The type of the result.
+   * @return The combined result.
+   * @throws IOException If an error occurs while reading a shard.
+   */
+  public <T> T aggregate(
+      final Function<Collection<UserRecord>, T> perShard, final BinaryOperator<T> combiner)
+      throws IOException {
+    checkShardCount();
+    try {
+      return IntStream.range(0, shards.size())
+          .parallel()
+          .mapToObj(i -> perShard.apply(readShard(i).values()))
+          .reduce(combiner)
+          .orElseThrow();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Gets the number of the shard a username belongs to.
+   *
+   * @param username The username.
+   * @return The number of the shard.
+   */
+  int shardOf(final String username) {
+    return Math.floorMod(username.hashCode(), shards.size());
+  }
+
+  /**
+   * Loads the given shards in parallel.
+   *
+   * @param shardNumbers The numbers of the shards to load.
+   * @return The users of each shard, in the order of the shard numbers.
+   * @throws IOException If an error occurs while reading a shard.
+   */
+  private List<Map<String, UserRecord>> loadShards(final IntStream shardNumbers)
+      throws IOException {
+    try {
+      return shardNumbers
+          .parallel()
+          .mapToObj(
+              i -> {
+                try {
+                  return shards.get(i).load();
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              })
+          .toList();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Reads the users of a shard from its file with a store of its own, so that the state of the
+   * shard store used for writing is not changed.
+   *
+   * @param shard The number of the shard.
+   * @return The users of the shard.
+   * @throws UncheckedIOException If an error occurs while reading the shard.
+   */
+  private Map<String, UserRecord> readShard(final int shard) {
+    try {
+      return shardFactory.apply(shardFile(databaseFile, shard)).load();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Gets the store of the shard a username belongs to.
+   *
+   * @param username The username.
+   * @return The store of the shard.
+   */
+  private UserStore shardFor(final String username) {
+    return shards.get(shardOf(username));
+  }
+
+  /**
+   * Groups users by the shard they belong to.
+   *
+   * @param users The users to group.
+   * @return The users of each shard, indexed by shard number.
+   */
+  private Map<Integer, List<UserRecord>> groupByShard(final Collection<UserRecord> users) {
+    final Map<Integer, List<UserRecord>> groups = new HashMap<>();
+    for (final UserRecord user : users) {
+      groups.computeIfAbsent(shardOf(user.username()), shard -> new ArrayList<>()).add(user);
+    }
+    return groups;
+  }
+
+  /**
+   * Checks that the shard files were written with the same number of shards.
+   *
+   * @throws IOException If the shard files were written with a different number of shards.
+   */
+  private void checkShardCount() throws IOException {
+    final Path countFile = shardCountFile(databaseFile);
+    if (Files.exists(countFile)) {
+      final int stored = readShardCount(countFile);
+      if (stored != shards.size()) {
+        throw new IOException(
+            "User database has "
+                + stored
+                + " shards but "
+                + shards.size()
+                + " were configured; split "
+                + databaseFile
+                + " again");
+      }
+    }
+  }
+
+  /**
+   * Reads the number of shards recorded in a file.
+   *
+   * @param countFile The path of the file.
+   * @return The number of shards.
+   * @throws IOException If the file cannot be read or does not contain a number.
+   */
+  private static int readShardCount(final Path countFile) throws IOException {
+    try {
+      return Integer.parseInt(Files.readString(countFile, StandardCharsets.UTF_8).trim());
+    } catch (NumberFormatException e) {
+      throw new IOException("Invalid number of shards in " + countFile, e);
+    }
+  }
+
+  /**
+   * Records the number of shards before the first write.
+   *
+   * @throws IOException If an error occurs while writing the file.
+   */
+  private void writeShardCount() throws IOException {
+    final Path countFile = shardCountFile(databaseFile);
+    if (!Files.exists(countFile)) {
+      Files.writeString(countFile, shards.size() + "\n", StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Gets the path of the file of a shard.
+   *
+   * @param databaseFile The path of the database file the shards are named after.
+   * @param shard The number of the shard.
+   * @return The path of the shard file.
+   */
+  static Path shardFile(final Path databaseFile, final int shard) {
+    return Paths.get(databaseFile + ".shard" + shard);
+  }
+
+  /**
+   * Gets the path of the file recording the number of shards.
+   *
+   * @param databaseFile The path of the database file the shards are named after.
+   * @return The path of the file.
+   */
+  static Path shardCountFile(final Path databaseFile) {
+    return Paths.get(databaseFile + ".shards");
+  }
+
+  /**
+   * Splits an unsharded user database into shards. Existing shard files are replaced; the
+   * unsharded file is left untouched.
+   *
+   * @param databaseFile The path of the unsharded database file.
+   * @param shardCount The number of shards.
+   * @param shardFactory Creates the store of a shard from the path of its file.
+   * @return The number of users written to the shards.
+   * @throws IOException If an error occurs while reading or writing the databases.
+   */
+  public static int split(
+      final Path databaseFile, final int shardCount, final Function<Path, UserStore> shardFactory)
+      throws IOException {
+    // Remove the shards of a previous split, which may have used more shards
+    final Path countFile = shardCountFile(databaseFile);
+    final int previousCount = Files.exists(countFile) ? readShardCount(countFile) : 0;
+    for (int i = 0; i < Math.max(shardCount, previousCount); i++) {
+      final Path shardFile = shardFile(databaseFile, i);
+      Files.deleteIfExists(shardFile);
+      Files.deleteIfExists(Paths.get(shardFile + ".log"));
+    }
+    Files.deleteIfExists(countFile);
+
+    final Map<String, UserRecord> users = new LinkedHashMap<>();
+    try (BufferedReader reader = new BufferedReader(new FileReader(databaseFile.toFile()))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final UserRecord user = TextUserStore.parseLine(line);
+        if (user != null) {
+          // The first entry of a username wins, as in the unsharded file
+          users.putIfAbsent(user.username(), user);
+        }
+      }
+    }
+
+    final ShardedUserStore store = new ShardedUserStore(databaseFile, shardCount, shardFactory);
+    store.load();
+    store.writeShardCount();
+    final Map<Integer, List<UserRecord>> groups = store.groupByShard(users.values());
+    for (int i = 0; i < shardCount; i++) {
+      store.shards.get(i).compact(groups.getOrDefault(i, List.of()));
+    }
+    return users.size();
+  }
+
+  /**
+   * Splits the unsharded user database into shards.
+   *
+   * @param args {@code <database file> <number of shards>}.
+   * @throws IOException If an error occurs while reading or writing the databases.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: ShardedUserStore <database file> <number of shards>");
+      return;
+    }
+    final Path databaseFile = Paths.get(args[0]);
+    final int shardCount = Integer.parseInt(args[1]);
+    final int count = split(databaseFile, shardCount, TextUserStore::new);
+    logger.log(
+        Level.INFO, "Split " + count + " users of " + databaseFile + " into " + shardCount + " shards");
+  }
+}
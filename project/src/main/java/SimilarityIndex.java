@@ -0,0 +1,290 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The {@code SimilarityIndex} class finds the words whose translations look most like a given
+ * translation, to offer them as hard distractors in multiple-choice questions. Every distinct
+ * translation is split into its bigrams, padded at both ends, and an inverted index maps every
+ * bigram to the translations containing it.
+ *
+ * <p>One edit destroys at most two bigrams, so a translation within {@code k} edits of the query
+ * shares all but at most {@code 2k} of the distinct bigrams of the query. A query therefore only
+ * counts the bigrams shared with each translation in the posting lists of its own bigrams and
+ * computes the edit distance only for translations above that threshold, instead of for every word.
+ *
+ * <p>Only translations within {@link #maxDistance(String)} edits of the query count as similar; a
+ * translation at distance 0 (the same translation) or equal to another accepted translation of the
+ * query is never returned, since it would be a second correct answer. Translations are compared by
+ * their {@link AnswerMatcher#key(String) answer key}, so a translation that only differs in case or
+ * accents does not count as similar either.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class SimilarityIndex {
+  /** The character padding a translation at both ends, so the first and last letter count. */
+  private static final char PADDING = '\0';
+
+  /** The words of the index. */
+  private final List<Word> words;
+
+  /** The distinct answer keys of the translations. */
+  private final String[] keys;
+
+  /** The indices of the words with each translation. */
+  private final int[][] keyWords;
+
+  /** The translations containing each bigram, in ascending order. */
+  private final Map<Integer, int[]> postings;
+
+  /**
+   * Builds the index of a word list.
+   *
+   * @param words The words; the list must not change while the index is used.
+   */
+  SimilarityIndex(final List<Word> words) {
+    this.words = words;
+    final Map<String, Integer> keyIds = new HashMap<>();
+    final List<String> keyList = new ArrayList<>();
+    final List<int[]> keyWordList = new ArrayList<>();
+    final Map<Integer, int[]> postingLists = new HashMap<>();
+    final Map<Integer, Integer> postingSizes = new HashMap<>();
+    for (int i = 0; i < words.size(); i++) {
+      final String key = words.get(i).getAnswerKey();
+      final Integer known = keyIds.get(key);
+      if (known != null) {
+        final int[] indices = keyWordList.get(known);
+        final int[] grown = Arrays.copyOf(indices, indices.length + 1);
+        grown[indices.length] = i;
+        keyWordList.set(known, grown);
+        continue;
+      }
+      final int keyId = keyList.size();
+      keyIds.put(key, keyId);
+      keyList.add(key);
+      keyWordList.add(new int[] {i});
+      for (final int bigram : bigrams(key)) {
+        final int size = postingSizes.getOrDefault(bigram, 0);
+        int[] posting = postingLists.get(bigram);
+        if (posting == null) {
+          posting = new int[4];
+        } else if (size == posting.length) {
+          posting = Arrays.copyOf(posting, size * 2);
+        }
+        posting[size] = keyId;
+        postingLists.put(bigram, posting);
+        postingSizes.put(bigram, size + 1);
+      }
+    }
+    postingLists.replaceAll((bigram, posting) -> Arrays.copyOf(posting, postingSizes.get(bigram)));
+    this.keys = keyList.toArray(new String[0]);
+    this.keyWords = keyWordList.toArray(new int[0][]);
+    this.postings = postingLists;
+  }
+
+  /**
+   * Gets the index of a word list. The index of a {@link WordTable} is built once and kept with the
+   * table; other lists are indexed on every call.
+   *
+   * @param words The words.
+   * @return The index.
+   */
+  public static SimilarityIndex of(final List<Word> words) {
+    if (words instanceof WordTable table) {
+      return table.getSimilarityIndex();
+    }
+    return new SimilarityIndex(words);
+  }
+
+  /**
+   * Finds the words whose translations are most similar to the translation of a word.
+   *
+   * @param word The word.
+   * @param count The maximum number of words.
+   * @return The similar words, most similar first; words equal to the given word or whose
+   *     translation is one of the translations of the given word are left out.
+   */
+  public List<Word> findSimilar(final Word word, final int count) {
+    final List<Word> similar = new ArrayList<>(count);
+    if (keys.length == 0 || count <= 0) {
+      return similar;
+    }
+    final String query = word.getAnswerKey();
+    final Set<String> excluded = word.getAnswerKeys();
+    final int radius = maxDistance(query);
+    final int[] queryBigrams = bigrams(query);
+    final int threshold = queryBigrams.length - 2 * radius;
+
+    // The best matches so far, the worst on top, as {distance, key index}
+    final PriorityQueue<int[]> best =
+        new PriorityQueue<>((a, b) -> a[0] != b[0] ? Integer.compare(b[0], a[0]) : b[1] - a[1]);
+    int matches = 0;
+    if (threshold <= 0) {
+      // Too short to filter by bigrams, every translation of a similar length is a candidate
+      for (int key = 0; key < keys.length; key++) {
+        matches += consider(query, excluded, key, radius, count, best, matches);
+      }
+    } else {
+      final short[] shared = new short[keys.length];
+      for (final int bigram : queryBigrams) {
+        final int[] posting = postings.get(bigram);
+        if (posting == null) {
+          continue;
+        }
+        for (final int key : posting) {
+          if (++shared[key] == threshold) {
+            matches += consider(query, excluded, key, radius, count, best, matches);
+          }
+        }
+      }
+    }
+
+    final int[][] sorted = best.toArray(new int[0][]);
+    Arrays.sort(sorted, (a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : a[1] - b[1]);
+    for (final int[] match : sorted) {
+      for (final int wordIndex : keyWords[match[1]]) {
+        if (similar.size() < count) {
+          similar.add(words.get(wordIndex));
+        }
+      }
+    }
+    return similar;
+  }
+
+  /**
+   * Gets the number of words in the index.
+   *
+   * @return The number of words.
+   */
+  public int size() {
+    return words.size();
+  }
+
+  /**
+   * Gets the largest edit distance at which a translation still counts as similar: a third of the
+   * length of the translation, but at least 2.
+   *
+   * @param translation The answer key of the translation.
+   * @return The largest distance.
+   */
+  static int maxDistance(final String translation) {
+    return Math.max(2, translation.length() / 3);
+  }
+
+  /**
+   * Calculates the Levenshtein distance of two strings.
+   *
+   * @param a The first string.
+   * @param b The second string.
+   * @return The number of insertions, deletions and substitutions turning one into the other.
+   */
+  static int levenshtein(final String a, final String b) {
+    return levenshtein(a, b, Math.max(a.length(), b.length()));
+  }
+
+  /**
+   * Calculates the Levenshtein distance of two strings, stopping as soon as it exceeds a bound.
+   *
+   * @param a The first string.
+   * @param b The second string.
+   * @param bound The largest distance of interest.
+   * @return The distance, or {@code bound + 1} if it is larger than the bound.
+   */
+  static int levenshtein(final String a, final String b, final int bound) {
+    if (Math.abs(a.length() - b.length()) > bound) {
+      return bound + 1;
+    }
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      int rowMinimum = i;
+      final char c = a.charAt(i - 1);
+      for (int j = 1; j <= b.length(); j++) {
+        final int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+        rowMinimum = Math.min(rowMinimum, current[j]);
+      }
+      if (rowMinimum > bound) {
+        // Every later row is at least as large
+        return bound + 1;
+      }
+      final int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return Math.min(previous[b.length()], bound + 1);
+  }
+
+  /**
+   * Compares a candidate with the query and keeps it if it is among the best matches.
+   *
+   * @param query The answer key of the query.
+   * @param excluded The answer keys of all translations of the query, which are never matches.
+   * @param key The index of the candidate translation.
+   * @param radius The largest distance of a match.
+   * @param count The number of words wanted.
+   * @param best The best matches so far, the worst on top.
+   * @param matches The number of words in the best matches so far.
+   * @return The number of words added to the best matches.
+   */
+  private int consider(
+      final String query,
+      final Set<String> excluded,
+      final int key,
+      final int radius,
+      final int count,
+      final PriorityQueue<int[]> best,
+      final int matches) {
+    if (excluded.contains(keys[key])) {
+      return 0;
+    }
+    // Once enough words are found, only closer translations can improve the result
+    final int bound = matches >= count ? best.peek()[0] - 1 : radius;
+    final int distance = levenshtein(query, keys[key], bound);
+    if (distance == 0 || distance > bound) {
+      return 0;
+    }
+    best.add(new int[] {distance, key});
+    int added = keyWords[key].length;
+    // Drop the worst translations that are no longer needed to have enough words
+    while (matches + added - keyWords[best.peek()[1]].length >= count) {
+      added -= keyWords[best.poll()[1]].length;
+    }
+    return added;
+  }
+
+  /**
+   * Gets the distinct bigrams of a translation, padded at both ends.
+   *
+   * @param key The answer key of the translation.
+   * @return The bigrams, each packed into an int.
+   */
+  private static int[] bigrams(final String key) {
+    final int[] bigrams = new int[key.length() + 1];
+    int count = 0;
+    char previous = PADDING;
+    for (int i = 0; i <= key.length(); i++) {
+      final char next = i < key.length() ? key.charAt(i) : PADDING;
+      final int bigram = previous << 16 | next;
+      boolean known = false;
+      for (int j = 0; j < count && !known; j++) {
+        known = bigrams[j] == bigram;
+      }
+      if (!known) {
+        bigrams[count++] = bigram;
+      }
+      previous = next;
+    }
+    return Arrays.copyOf(bigrams, count);
+  }
+}
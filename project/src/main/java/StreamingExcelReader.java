@@ -0,0 +1,166 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * The {@code StreamingExcelReader} class reads words from an Excel file with the event API of
+ * Apache POI. Unlike {@link Utilities#readWordsFromExcel(InputStream)}, which builds the whole
+ * workbook in memory, the first sheet is parsed with SAX and every row is turned into a {@link Word}
+ * as soon as it has been read, so the memory needed does not grow with the size of the sheet.
+ *
+ * <p>As with {@link Utilities#readWordsFromExcel(InputStream)}, the first cell of a row is the
+ * original and every further cell that is not blank an accepted translation; rows with fewer than
+ * two cells are skipped.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class StreamingExcelReader {
+  /** The logger of the StreamingExcelReader class. */
+  private static final Logger logger = Logger.getLogger(StreamingExcelReader.class.getName());
+
+  /** Private constructor to prevent instantiation. */
+  private StreamingExcelReader() {}
+
+  /**
+   * Reads words from an Excel file and returns them as a list.
+   *
+   * @param inputStream The content of the Excel file.
+   * @return A list of Word objects.
+   */
+  public static List<Word> readWords(final InputStream inputStream) {
+    final List<Word> words = new ArrayList<>();
+    readWords(inputStream, words::add);
+    return words;
+  }
+
+  /**
+   * Reads words from an Excel file and passes them to a consumer row by row.
+   *
+   * @param inputStream The content of the Excel file.
+   * @param consumer Receives the words in the order of the rows.
+   */
+  public static void readWords(final InputStream inputStream, final Consumer<Word> consumer) {
+    try (OPCPackage workbook = OPCPackage.open(inputStream)) {
+      readFirstSheet(workbook, consumer);
+    } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+      logger.log(Level.SEVERE, "Error reading words from Excel file", e);
+    }
+  }
+
+  /**
+   * Reads words from an Excel file on disk and passes them to a consumer row by row. The file is
+   * opened in place instead of being buffered in memory.
+   *
+   * @param path The path of the Excel file.
+   * @param consumer Receives the words in the order of the rows.
+   */
+  public static void readWords(final String path, final Consumer<Word> consumer) {
+    try (OPCPackage workbook = OPCPackage.open(path, PackageAccess.READ)) {
+      readFirstSheet(workbook, consumer);
+    } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+      logger.log(Level.SEVERE, "Error reading words from Excel file " + path, e);
+    }
+  }
+
+  /**
+   * Parses the first sheet of a workbook.
+   *
+   * @param workbook The opened workbook.
+   * @param consumer Receives the words in the order of the rows.
+   * @throws IOException If the workbook cannot be read.
+   * @throws OpenXML4JException If the workbook is not a valid Office Open XML package.
+   * @throws SAXException If the sheet is not valid XML.
+   * @throws ParserConfigurationException If no XML parser is available.
+   */
+  private static void readFirstSheet(final OPCPackage workbook, final Consumer<Word> consumer)
+      throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+    final XSSFReader reader = new XSSFReader(workbook);
+    final ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(workbook);
+    final StylesTable styles = reader.getStylesTable();
+
+    final Iterator<InputStream> sheets = reader.getSheetsData();
+    if (!sheets.hasNext()) {
+      return;
+    }
+    try (InputStream sheet = sheets.next()) {
+      final XMLReader parser = XMLHelper.newXMLReader();
+      parser.setContentHandler(
+          new XSSFSheetXMLHandler(
+              styles, strings, new RowHandler(consumer), new DataFormatter(), false));
+      parser.parse(new InputSource(sheet));
+    }
+  }
+
+  /**
+   * Turns every row into a word: the first cell is the original, every further cell that is not
+   * blank an accepted translation.
+   */
+  private static final class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+    /** Receives the words. */
+    private final Consumer<Word> consumer;
+
+    /** The value of the first cell of the current row, or {@code null} if not read yet. */
+    private String original;
+
+    /** The values of the further cells of the current row. */
+    private final List<String> translations;
+
+    /**
+     * Constructs a new {@code RowHandler}.
+     *
+     * @param consumer Receives the words.
+     */
+    private RowHandler(final Consumer<Word> consumer) {
+      this.consumer = consumer;
+      this.translations = new ArrayList<>();
+    }
+
+    @Override
+    public void startRow(final int rowNum) {
+      original = null;
+      translations.clear();
+    }
+
+    @Override
+    public void endRow(final int rowNum) {
+      if (original != null && !translations.isEmpty()) {
+        consumer.accept(
+            translations.size() == 1
+                ? new Word(original, translations.get(0))
+                : new Word(original, translations));
+      }
+    }
+
+    @Override
+    public void cell(
+        final String cellReference, final String formattedValue, final XSSFComment comment) {
+      if (original == null) {
+        original = formattedValue;
+      } else if (translations.isEmpty() || !formattedValue.isBlank()) {
+        // The first translation is kept as it is, synonyms only if they are not blank
+        translations.add(formattedValue);
+      }
+    }
+  }
+}
@@ -0,0 +1,172 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code TextUserStore} class stores the users in the comma separated userDatabase.txt file.
+ * Every high score update rewrites the whole file.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public class TextUserStore implements UserStore {
+  /** The logger of the TextUserStore class. */
+  private static final Logger logger = Logger.getLogger(TextUserStore.class.getName());
+
+  /** The path of the user database file. */
+  protected final Path databaseFile;
+
+  /** The version of the database file at the time it was last loaded or written. */
+  protected volatile String loadedVersion;
+
+  /**
+   * Constructs a new {@code TextUserStore} for the given database file.
+   *
+   * @param databaseFile The path of the user database file.
+   */
+  public TextUserStore(final Path databaseFile) {
+    this.databaseFile = databaseFile;
+  }
+
+  @Override
+  public Map<String, UserRecord> load() throws IOException {
+    final Map<String, UserRecord> users = new LinkedHashMap<>();
+    if (Files.exists(databaseFile)) {
+      try (BufferedReader reader = new BufferedReader(new FileReader(databaseFile.toFile()))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          final UserRecord user = parseLine(line);
+          if (user != null) {
+            // The first entry of a username wins, as with a linear scan of the file
+            users.putIfAbsent(user.username(), user);
+          }
+        }
+      }
+    }
+    loadedVersion = readVersion(databaseFile);
+    return users;
+  }
+
+  @Override
+  public Path getDatabaseFile() {
+    return databaseFile;
+  }
+
+  @Override
+  public boolean hasChanged() throws IOException {
+    return !Objects.equals(loadedVersion, readVersion(databaseFile));
+  }
+
+  @Override
+  public void append(final UserRecord user) throws IOException {
+    try (PrintWriter writer = new PrintWriter(new FileWriter(databaseFile.toFile(), true))) {
+      writer.println(user.toLine());
+    }
+    loadedVersion = readVersion(databaseFile);
+  }
+
+  @Override
+  public void update(final UserRecord user) throws IOException {
+    updateAll(List.of(user));
+  }
+
+  @Override
+  public void updateAll(final Collection<UserRecord> users) throws IOException {
+    final Map<String, UserRecord> pending = new LinkedHashMap<>();
+    for (final UserRecord user : users) {
+      pending.put(user.username(), user);
+    }
+    final Set<String> updated = new HashSet<>();
+    final Path tempFile = Paths.get(databaseFile + "_temp");
+
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile.toFile()))) {
+      if (Files.exists(databaseFile)) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(databaseFile.toFile()))) {
+          String line;
+          while ((line = reader.readLine()) != null) {
+            final UserRecord stored = parseLine(line);
+            final UserRecord user = stored == null ? null : pending.get(stored.username());
+            if (user != null) {
+              line = stored.withHighScore(user.highScore()).toLine();
+              updated.add(user.username());
+            }
+            writer.write(line + "\n");
+          }
+        }
+      }
+
+      for (final UserRecord user : pending.values()) {
+        if (!updated.contains(user.username())) {
+          // If the user is not found in the file, add a new entry
+          writer.write(user.toLine() + "\n");
+        }
+      }
+    }
+
+    // Replace the original file with the temporary file
+    Files.move(tempFile, databaseFile, StandardCopyOption.REPLACE_EXISTING);
+    loadedVersion = readVersion(databaseFile);
+  }
+
+  @Override
+  public void compact(final Collection<UserRecord> users) throws IOException {
+    final Path tempFile = Paths.get(databaseFile + "_temp");
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile.toFile()))) {
+      for (final UserRecord user : users) {
+        writer.write(user.toLine() + "\n");
+      }
+    }
+    Files.move(tempFile, databaseFile, StandardCopyOption.REPLACE_EXISTING);
+    loadedVersion = readVersion(databaseFile);
+  }
+
+  /**
+   * Parses a line of the database, logging and skipping malformed lines.
+   *
+   * @param line The line to parse.
+   * @return The parsed record, or {@code null} if the line is empty or malformed.
+   */
+  static UserRecord parseLine(final String line) {
+    try {
+      return UserRecord.parse(line);
+    } catch (NumberFormatException e) {
+      logger.log(Level.WARNING, "Skipping malformed line in user database: " + line, e);
+      return null;
+    }
+  }
+
+  /**
+   * Reads the attributes identifying the current version of a file.
+   *
+   * @param file The file to check.
+   * @return A value that changes whenever the file is modified, replaced or deleted.
+   * @throws IOException If the attributes cannot be read.
+   */
+  static String readVersion(final Path file) throws IOException {
+    try {
+      final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      return attributes.fileKey() + "/" + attributes.size() + "/" + attributes.lastModifiedTime();
+    } catch (NoSuchFileException e) {
+      return "missing";
+    }
+  }
+}
@@ -20,7 +20,23 @@ public class TranslationQuestion extends AbstractQuestionFrame {
    * @param callback The callback to handle submitted answers.
    */
   public TranslationQuestion(final Word word, final Nutzer currentUser, final Callback callback) {
-    super(word, currentUser, callback);
+    this(word, Direction.FORWARD, currentUser, callback);
+  }
+
+  /**
+   * Constructs a new TranslationQuestion instance asking in a direction.
+   *
+   * @param word The word associated with the question, reversed if it is asked in reverse.
+   * @param direction The direction of the question.
+   * @param currentUser The current user of the vocabulary trainer.
+   * @param callback The callback to handle submitted answers.
+   */
+  public TranslationQuestion(
+      final Word word,
+      final Direction direction,
+      final Nutzer currentUser,
+      final Callback callback) {
+    super(word, direction, currentUser, callback);
     initializeFrame();
   }
 
@@ -33,7 +49,11 @@ public class TranslationQuestion extends AbstractQuestionFrame {
     contentPane.add(textField);
     textField.setColumns(10);
 
-    final JLabel lblNewLabel = new JLabel("Give the correct translation of the following word");
+    final JLabel lblNewLabel =
+        new JLabel(
+            direction == Direction.REVERSE
+                ? "Give the original word of the following translation"
+                : "Give the correct translation of the following word");
     lblNewLabel.setHorizontalAlignment(SwingConstants.CENTER);
     lblNewLabel.setBounds(67, 86, 323, 16);
     contentPane.add(lblNewLabel);
@@ -55,23 +75,30 @@ public class TranslationQuestion extends AbstractQuestionFrame {
       return;
     }
 
-    String standardizedUserResponse = this.userResponse.toLowerCase();
-    String standardizedCorrectTranslation = word.getTranslation().toLowerCase();
-
-    final boolean isCorrect = standardizedUserResponse.equals(standardizedCorrectTranslation);
+    // Case, accents and punctuation do not matter, a small typo is a near miss
+    final AnswerMatcher.Grade grade = AnswerMatcher.check(this.userResponse, word);
 
-    if (isCorrect) {
+    if (grade == AnswerMatcher.Grade.EXACT) {
       JOptionPane.showMessageDialog(
           this, "Correct! Well done!", "Result", JOptionPane.INFORMATION_MESSAGE);
+    } else if (grade == AnswerMatcher.Grade.NEAR_MISS) {
+      JOptionPane.showMessageDialog(
+          this,
+          "Almost! Mind the spelling: " + String.join(" / ", word.getTranslations()),
+          "Result",
+          JOptionPane.WARNING_MESSAGE);
     } else {
       JOptionPane.showMessageDialog(
           this,
-          "Incorrect. The correct translation is: " + word.getTranslation(),
+          (direction == Direction.REVERSE
+                  ? "Incorrect. The correct word is: "
+                  : "Incorrect. The correct translation is: ")
+              + String.join(" / ", word.getTranslations()),
           "Result",
           JOptionPane.ERROR_MESSAGE);
     }
     closeFrame();
-    callback.answerSubmitted(this.userResponse, word.getTranslation());
+    callback.answerGraded(this.userResponse, word, grade);
     this.answerSubmitted = true;
   }
 }
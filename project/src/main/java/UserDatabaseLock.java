@@ -0,0 +1,94 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code UserDatabaseLock} class coordinates access to the user database between several
+ * processes on the same host. It locks a lock file next to the database with {@link FileChannel}
+ * locks: reading takes a shared lock, so that several readers can load the database at the same
+ * time, and writing takes an exclusive lock, so that no two processes change it at the same time.
+ *
+ * <p>File locks are held on behalf of the whole Java process, so within one process the lock is
+ * additionally guarded by a monitor per lock file.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class UserDatabaseLock {
+  /** The monitors guarding the lock files within this process, indexed by lock file. */
+  private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+  /** The path of the lock file. */
+  private final Path lockFile;
+
+  /** The monitor guarding the lock file within this process. */
+  private final Object monitor;
+
+  /**
+   * Constructs a new {@code UserDatabaseLock} for the given database file.
+   *
+   * @param databaseFile The path of the database file to lock.
+   */
+  public UserDatabaseLock(final Path databaseFile) {
+    this.lockFile = Paths.get(databaseFile + ".lock").toAbsolutePath().normalize();
+    this.monitor = MONITORS.computeIfAbsent(lockFile, path -> new Object());
+  }
+
+  /**
+   * Executes an action while holding a shared lock on the database.
+   *
+   * @param action The action reading the database.
+   * @param <T> The type of the result of the action.
+   * @return The result of the action.
+   * @throws IOException If the lock cannot be acquired or the action fails.
+   */
+  public <T> T withSharedLock(final UserDatabaseWriter.Mutation<T> action) throws IOException {
+    return locked(true, action);
+  }
+
+  /**
+   * Executes an action while holding an exclusive lock on the database.
+   *
+   * @param action The action changing the database.
+   * @param <T> The type of the result of the action.
+   * @return The result of the action.
+   * @throws IOException If the lock cannot be acquired or the action fails.
+   */
+  public <T> T withExclusiveLock(final UserDatabaseWriter.Mutation<T> action) throws IOException {
+    return locked(false, action);
+  }
+
+  /**
+   * Executes an action while holding a lock on the database.
+   *
+   * @param shared Whether the lock is shared or exclusive.
+   * @param action The action to execute.
+   * @param <T> The type of the result of the action.
+   * @return The result of the action.
+   * @throws IOException If the lock cannot be acquired or the action fails.
+   */
+  private <T> T locked(final boolean shared, final UserDatabaseWriter.Mutation<T> action)
+      throws IOException {
+    synchronized (monitor) {
+      try (FileChannel channel =
+              FileChannel.open(
+                  lockFile,
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.READ,
+                  StandardOpenOption.WRITE)) {
+        final FileLock lock = channel.lock(0, Long.MAX_VALUE, shared);
+        try {
+          return action.apply();
+        } finally {
+          lock.release();
+        }
+      }
+    }
+  }
+}
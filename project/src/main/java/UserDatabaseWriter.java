@@ -0,0 +1,105 @@
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code UserDatabaseWriter} class runs all mutations of the user database on one dedicated
+ * thread. Mutations are submitted to a bounded queue and executed one after the other, so writes
+ * are serialized without callers contending for a lock. Every submission returns a future that
+ * completes once the mutation has been executed.
+ *
+ * <p>When the queue is full, submitting blocks until the writer has caught up.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class UserDatabaseWriter {
+  /** The logger of the UserDatabaseWriter class. */
+  private static final Logger logger = Logger.getLogger(UserDatabaseWriter.class.getName());
+
+  /**
+   * A mutation of the user database executed by the writer thread.
+   *
+   * @param <T> The type of the result of the mutation.
+   */
+  @FunctionalInterface
+  public interface Mutation<T> {
+    /**
+     * Executes the mutation.
+     *
+     * @return The result of the mutation.
+     * @throws IOException If an error occurs while writing the user database.
+     */
+    T apply() throws IOException;
+  }
+
+  /** The queue of submitted mutations. */
+  private final BlockingQueue<Runnable> queue;
+
+  /** The thread executing the mutations. */
+  private final Thread thread;
+
+  /**
+   * Constructs a new {@code UserDatabaseWriter} and starts its thread.
+   *
+   * @param name The name of the writer thread.
+   * @param capacity The maximum number of mutations waiting in the queue.
+   */
+  public UserDatabaseWriter(final String name, final int capacity) {
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.thread = new Thread(this::run, name);
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Submits a mutation to the writer. A mutation submitted from the writer thread itself is executed
+   * immediately.
+   *
+   * @param mutation The mutation to execute.
+   * @param <T> The type of the result of the mutation.
+   * @return A future completed with the result of the mutation, or exceptionally with the exception
+   *     or error it threw.
+   */
+  public <T> CompletableFuture<T> submit(final Mutation<T> mutation) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final Runnable task =
+        () -> {
+          try {
+            result.complete(mutation.apply());
+          } catch (Throwable e) {
+            // Also catches errors, so the caller waiting for the result is not blocked forever
+            // and the writer thread survives to execute the next mutations
+            result.completeExceptionally(e);
+          }
+        };
+
+    if (Thread.currentThread() == thread) {
+      task.run();
+      return result;
+    }
+    try {
+      queue.put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /** Executes the submitted mutations until the application ends. */
+  private void run() {
+    while (true) {
+      try {
+        queue.take().run();
+      } catch (InterruptedException e) {
+        logger.log(Level.WARNING, "User database writer interrupted", e);
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/**
+ * The {@code UserRecord} record represents one entry of the user database: the username, the high
+ * score and, for registered users, the password and email address.
+ *
+ * <p>Instances are immutable. Guest users have a {@code null} password and email.
+ *
+ * @param username The username of the user.
+ * @param highScore The high score of the user.
+ * @param password The password of the user, or {@code null} for guest users.
+ * @param email The email address of the user, or {@code null} for guest users.
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public record UserRecord(String username, int highScore, String password, String email) {
+
+  /**
+   * Parses a line of the userDatabase.txt file. The line has the form {@code
+   * username,highScore[,password[,email]]}.
+   *
+   * @param line The line to parse.
+   * @return The parsed record, or {@code null} if the line does not contain a user.
+   * @throws NumberFormatException if the high score column is not a number.
+   */
+  public static UserRecord parse(final String line) {
+    final String[] parts = line.split(",");
+    if (parts.length < 2) {
+      return null;
+    }
+    final int highScore = Integer.parseInt(parts[1].trim());
+    final String password = parts.length >= 3 ? parts[2].trim() : null;
+    final String email = parts.length >= 4 ? parts[3].trim() : null;
+    return new UserRecord(parts[0], highScore, password, email);
+  }
+
+  /**
+   * Checks whether this record belongs to a registered user.
+   *
+   * @return {@code true} if a password is stored for the user, {@code false} otherwise.
+   */
+  public boolean isRegistered() {
+    return password != null;
+  }
+
+  /**
+   * Returns a copy of this record with the given high score.
+   *
+   * @param newHighScore The new high score.
+   * @return A new record with the same user data and the new high score.
+   */
+  public UserRecord withHighScore(final int newHighScore) {
+    return new UserRecord(username, newHighScore, password, email);
+  }
+
+  /**
+   * Formats this record as a line of the userDatabase.txt file (without line separator).
+   *
+   * @return The formatted line.
+   */
+  public String toLine() {
+    if (password == null) {
+      return username + "," + highScore;
+    }
+    return username + "," + highScore + "," + password + "," + (email == null ? "" : email);
+  }
+}
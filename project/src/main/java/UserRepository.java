@@ -0,0 +1,611 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code UserRepository} class provides access to the user database. It loads the
+ * userDatabase.txt file once into a hash index keyed by username, so that looking up a user does not
+ * require scanning and parsing the whole file again.
+ *
+ * <p>All changes are executed by a single {@link UserDatabaseWriter} thread, while lookups read the
+ * index without locking. The index is reloaded automatically when the file is changed by someone
+ * else, for example by another running instance of the application. To keep several processes from
+ * overwriting each other's changes, the store is read under a shared {@link UserDatabaseLock} and
+ * every change takes an exclusive lock, catches up with the store and only then writes. How the
+ * users are persisted is decided by the {@link UserStore}; the system property {@value
+ * #PERSISTENCE_PROPERTY} selects between the append-only log ({@code log}, the default), rewriting
+ * the whole file on every update ({@code rewrite}) and the memory-mapped binary format ({@code
+ * binary}, stored in userDatabase.txt.bin and imported from userDatabase.txt on first use). With
+ * the system property {@value #SHARD_COUNT_PROPERTY} set to more than 1, the text formats are split
+ * into that many shard files by a {@link ShardedUserStore}.
+ *
+ * <p>Lookups are fronted by a {@link BloomFilter} of the usernames, so that the usual guest login
+ * of a new username is answered without touching the index. The filter is rebuilt whenever the
+ * index is loaded and persisted next to the database (userDatabase.txt.bloom) after every write.
+ * Until the index is loaded for the first time, lookups are answered by the persisted filter if it
+ * is not older than the store, so a new guest logging in right after startup does not wait for the
+ * whole database to be read. The false positive rate is set with the system property {@value
+ * #FALSE_POSITIVE_RATE_PROPERTY}.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class UserRepository {
+  /** The logger of the UserRepository class. */
+  private static final Logger logger = Logger.getLogger(UserRepository.class.getName());
+
+  /** The file name for the user database. */
+  private static final String USER_DATABASE_FILE = "./userDatabase.txt";
+
+  /** The system property selecting the persistence mode. */
+  static final String PERSISTENCE_PROPERTY = "vocabtrainer.persistence";
+
+  /** The system property setting the number of log records after which the log is compacted. */
+  static final String COMPACTION_THRESHOLD_PROPERTY = "vocabtrainer.logCompactionThreshold";
+
+  /** The default number of log records after which the log is compacted. */
+  private static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+  /** The system property setting the number of mutations that can wait for the writer. */
+  static final String WRITE_QUEUE_CAPACITY_PROPERTY = "vocabtrainer.writeQueueCapacity";
+
+  /** The default number of mutations that can wait for the writer. */
+  private static final int DEFAULT_WRITE_QUEUE_CAPACITY = 1024;
+
+  /** The system property setting the number of shards the text database is split into. */
+  static final String SHARD_COUNT_PROPERTY = "vocabtrainer.shards";
+
+  /** The system property setting the false positive rate of the username filter. */
+  static final String FALSE_POSITIVE_RATE_PROPERTY = "vocabtrainer.bloomFalsePositiveRate";
+
+  /** The default false positive rate of the username filter. */
+  private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+  /** The minimum number of usernames the username filter is sized for. */
+  private static final int MIN_FILTER_CAPACITY = 1024;
+
+  /** The singleton instance of the UserRepository. */
+  private static UserRepository instance;
+
+  /** The store the users are persisted in. */
+  private final UserStore store;
+
+  /** The lock coordinating access to the store with other processes. */
+  private final UserDatabaseLock lock;
+
+  /** The writer executing all mutations of the database. */
+  private final UserDatabaseWriter writer;
+
+  /**
+   * The users of the database, indexed by username, or {@code null} if not loaded yet. The map is
+   * only modified by the writer and holds immutable records, so it can be read without locking.
+   */
+  private volatile Map<String, UserRecord> users;
+
+  /** The filter of the usernames in the index, or {@code null} if not loaded yet. */
+  private volatile BloomFilter usernameFilter;
+
+  /** The path of the file the username filter is persisted in. */
+  private final Path filterFile;
+
+  /** The false positive rate of the username filter. */
+  private final double falsePositiveRate;
+
+  /** Whether the username filter was changed since it was last persisted. */
+  private boolean filterChanged;
+
+  /** The persisted username filter read before the index was loaded, or {@code null}. */
+  private BloomFilter savedFilter;
+
+  /** The modification time of the filter file when {@link #savedFilter} was read. */
+  private FileTime savedFilterTime;
+
+  /**
+   * Constructs a new {@code UserRepository} backed by the given store.
+   *
+   * @param store The store the users are persisted in.
+   */
+  UserRepository(final UserStore store) {
+    this.store = store;
+    this.lock = new UserDatabaseLock(store.getDatabaseFile());
+    this.filterFile = Paths.get(store.getDatabaseFile() + ".bloom");
+    this.falsePositiveRate = readFalsePositiveRate();
+    this.writer =
+        new UserDatabaseWriter(
+            "user-database-writer",
+            Integer.getInteger(WRITE_QUEUE_CAPACITY_PROPERTY, DEFAULT_WRITE_QUEUE_CAPACITY));
+  }
+
+  /**
+   * Gets the singleton instance of the {@code UserRepository}.
+   *
+   * @return The singleton instance of the {@code UserRepository}.
+   */
+  public static synchronized UserRepository getInstance() {
+    if (instance == null) {
+      instance = new UserRepository(createStore(Paths.get(USER_DATABASE_FILE)));
+    }
+    return instance;
+  }
+
+  /**
+   * Creates the store for the given database file according to the configured persistence mode.
+   *
+   * @param databaseFile The path of the user database file.
+   * @return The store for the database file.
+   */
+  static UserStore createStore(final Path databaseFile) {
+    final String mode = System.getProperty(PERSISTENCE_PROPERTY, "log");
+    final int shardCount = Integer.getInteger(SHARD_COUNT_PROPERTY, 1);
+    if (shardCount > 1 && !"binary".equalsIgnoreCase(mode)) {
+      final Function<Path, UserStore> shardFactory =
+          "rewrite".equalsIgnoreCase(mode)
+              ? TextUserStore::new
+              : shardFile ->
+                  new LogStructuredUserStore(
+                      shardFile,
+                      Integer.getInteger(
+                          COMPACTION_THRESHOLD_PROPERTY, DEFAULT_COMPACTION_THRESHOLD));
+      try {
+        if (!Files.exists(ShardedUserStore.shardCountFile(databaseFile))
+            && Files.exists(databaseFile)) {
+          ShardedUserStore.split(databaseFile, shardCount, shardFactory);
+        }
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Error splitting userDatabase.txt into shards", e);
+      }
+      return new ShardedUserStore(databaseFile, shardCount, shardFactory);
+    }
+    if ("rewrite".equalsIgnoreCase(mode)) {
+      return new TextUserStore(databaseFile);
+    }
+    if ("binary".equalsIgnoreCase(mode)) {
+      final Path binaryFile = Paths.get(databaseFile + ".bin");
+      try {
+        if (!Files.exists(binaryFile) && Files.exists(databaseFile)) {
+          BinaryUserStore.importText(databaseFile, binaryFile);
+        }
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Error importing userDatabase.txt into the binary format", e);
+      }
+      return new BinaryUserStore(binaryFile);
+    }
+    return new LogStructuredUserStore(
+        databaseFile,
+        Integer.getInteger(COMPACTION_THRESHOLD_PROPERTY, DEFAULT_COMPACTION_THRESHOLD));
+  }
+
+  /**
+   * Looks up the user with the given username. Lookups read the in-memory index without locking;
+   * only if the store was changed by someone else, the index is reloaded by the writer first. A
+   * username the filter has never seen is answered without consulting the index, and before the
+   * index is loaded for the first time without loading it.
+   *
+   * @param username The username to look up.
+   * @return The record of the user, or {@code null} if the username is not in the database.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  public UserRecord find(final String username) throws IOException {
+    if (users == null && !savedFilterMightContain(username)) {
+      return null;
+    }
+    final Map<String, UserRecord> snapshot = current();
+    if (!usernameFilter.mightContain(username)) {
+      return null;
+    }
+    return snapshot.get(username);
+  }
+
+  /**
+   * Gets all users of the database.
+   *
+   * @return The records of all users, in no particular order.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  public List<UserRecord> findAll() throws IOException {
+    return List.copyOf(current().values());
+  }
+
+  /**
+   * Computes an aggregate over all users. If the index is not loaded yet and the users are split
+   * into shards, the shards are scanned in parallel with {@link
+   * ShardedUserStore#aggregate(Function, BinaryOperator)} instead of loading the index first;
+   * otherwise the users of the index are aggregated as one part.
+   *
+   * @param perPart Computes the partial result of a part of the users.
+   * @param combiner Combines two partial results.
+   * @param <T> The type of the result.
+   * @return The combined result.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  public <T> T aggregate(
+      final Function<Collection<UserRecord>, T> perPart, final BinaryOperator<T> combiner)
+      throws IOException {
+    if (users == null && store instanceof ShardedUserStore sharded) {
+      // Scanned by the writer, so the shared lock does not overlap with a lock it holds
+      return await(
+          writer.submit(() -> lock.withSharedLock(() -> sharded.aggregate(perPart, combiner))));
+    }
+    return perPart.apply(current().values());
+  }
+
+  /**
+   * Checks whether the given username might be in the database, using only the username filter.
+   * A negative answer is always correct; a positive answer has to be confirmed with {@link
+   * #find(String)}.
+   *
+   * @param username The username to check.
+   * @return {@code false} if the username is definitely not in the database, {@code true} if it
+   *     might be.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  public boolean mightContain(final String username) throws IOException {
+    if (users == null && !savedFilterMightContain(username)) {
+      return false;
+    }
+    current();
+    return usernameFilter.mightContain(username);
+  }
+
+  /**
+   * Checks whether the given username is in the database.
+   *
+   * @param username The username to check.
+   * @return {@code true} if the username is found, {@code false} otherwise.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  public boolean contains(final String username) throws IOException {
+    return find(username) != null;
+  }
+
+  /**
+   * Appends a new user to the database and waits until it is written.
+   *
+   * @param user The user to add.
+   * @throws IOException If an error occurs while writing the user database.
+   */
+  public void addUser(final UserRecord user) throws IOException {
+    await(addUserAsync(user));
+  }
+
+  /**
+   * Submits a new user to be appended to the database by the writer.
+   *
+   * @param user The user to add.
+   * @return A future completed once the user is written.
+   */
+  public CompletableFuture<Void> addUserAsync(final UserRecord user) {
+    return submitWrite(
+        () -> {
+          store.append(user);
+          addToFilter(user.username());
+          users.putIfAbsent(user.username(), user);
+          return null;
+        });
+  }
+
+  /**
+   * Sets the high score of a user and waits until it is written. If the user is not in the
+   * database yet, a new guest entry is added.
+   *
+   * @param username The username of the user.
+   * @param newHighScore The new high score.
+   * @throws IOException If an error occurs while writing the user database.
+   */
+  public void updateHighScore(final String username, final int newHighScore) throws IOException {
+    await(updateHighScoreAsync(username, newHighScore));
+  }
+
+  /**
+   * Submits a new high score of a user to be written by the writer. If the user is not in the
+   * database yet, a new guest entry is added.
+   *
+   * @param username The username of the user.
+   * @param newHighScore The new high score.
+   * @return A future completed once the high score is written.
+   */
+  public CompletableFuture<Void> updateHighScoreAsync(
+      final String username, final int newHighScore) {
+    return submitWrite(
+        () -> {
+          final UserRecord stored = users.get(username);
+          final UserRecord user =
+              stored == null
+                  ? new UserRecord(username, newHighScore, null, null)
+                  : stored.withHighScore(newHighScore);
+          store.update(user);
+          addToFilter(username);
+          users.put(username, user);
+          return null;
+        });
+  }
+
+  /**
+   * Adds points to the high score of a user and waits until it is written. If the user is not in
+   * the database yet, a new guest entry is added.
+   *
+   * @param username The username of the user.
+   * @param points The points to add.
+   * @return The new high score of the user.
+   * @throws IOException If an error occurs while writing the user database.
+   */
+  public int addToHighScore(final String username, final int points) throws IOException {
+    return addToHighScores(Map.of(username, points)).get(username);
+  }
+
+  /**
+   * Adds points to the high scores of several users and waits until they are written in one batch.
+   *
+   * @param points The points to add, indexed by username.
+   * @return The new high scores, indexed by username.
+   * @throws IOException If an error occurs while writing the user database.
+   */
+  public Map<String, Integer> addToHighScores(final Map<String, Integer> points)
+      throws IOException {
+    return await(addToHighScoresAsync(points));
+  }
+
+  /**
+   * Submits points to be added to the high scores of several users. The writer saves them in one
+   * batch.
+   *
+   * @param points The points to add, indexed by username.
+   * @return A future completed with the new high scores, indexed by username.
+   */
+  public CompletableFuture<Map<String, Integer>> addToHighScoresAsync(
+      final Map<String, Integer> points) {
+    final Map<String, Integer> batch = Map.copyOf(points);
+    return submitWrite(
+        () -> {
+          final Map<String, UserRecord> updated = new LinkedHashMap<>();
+          for (final Map.Entry<String, Integer> entry : batch.entrySet()) {
+            final UserRecord stored = users.get(entry.getKey());
+            updated.put(
+                entry.getKey(),
+                stored == null
+                    ? new UserRecord(entry.getKey(), entry.getValue(), null, null)
+                    : stored.withHighScore(stored.highScore() + entry.getValue()));
+          }
+          store.updateAll(updated.values());
+          updated.keySet().forEach(this::addToFilter);
+          users.putAll(updated);
+
+          final Map<String, Integer> highScores = new LinkedHashMap<>();
+          updated.forEach((username, user) -> highScores.put(username, user.highScore()));
+          return highScores;
+        });
+  }
+
+  /**
+   * Gets the current index, checking once whether the store was changed by someone else and letting
+   * the writer reload it if so.
+   *
+   * @return The current index.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  private Map<String, UserRecord> current() throws IOException {
+    final Map<String, UserRecord> snapshot = users;
+    if (snapshot != null && !store.hasChanged()) {
+      return snapshot;
+    }
+    return await(writer.submit(this::refreshIfChanged));
+  }
+
+  /**
+   * Checks a username against the persisted username filter, which is read once and again only if
+   * it was rewritten. A filter older than the store, for example because a process crashed between
+   * writing the store and the filter, may lack usernames and is not used.
+   *
+   * @param username The username to check.
+   * @return {@code false} if the persisted filter is current and does not contain the username,
+   *     {@code true} otherwise.
+   */
+  private synchronized boolean savedFilterMightContain(final String username) {
+    try {
+      final FileTime filterTime = UserStore.lastModifiedTime(filterFile);
+      if (filterTime.toMillis() == 0 || filterTime.compareTo(store.getLastModifiedTime()) < 0) {
+        return true;
+      }
+      if (savedFilter == null || !filterTime.equals(savedFilterTime)) {
+        savedFilter = BloomFilter.readFrom(filterFile);
+        savedFilterTime = filterTime;
+      }
+      return savedFilter.mightContain(username);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Error reading the username filter " + filterFile, e);
+      return true;
+    }
+  }
+
+  /**
+   * Submits a change of the database to the writer. The writer executes it while holding the
+   * exclusive lock, after catching up with changes made by other processes, and compacts the store
+   * afterwards if needed.
+   *
+   * @param mutation The change to execute.
+   * @param <T> The type of the result of the change.
+   * @return A future completed with the result of the change.
+   */
+  private <T> CompletableFuture<T> submitWrite(final UserDatabaseWriter.Mutation<T> mutation) {
+    return writer.submit(
+        () ->
+            lock.withExclusiveLock(
+                () -> {
+                  loadIfChanged();
+                  final T result = mutation.apply();
+                  compactIfNeeded();
+                  saveFilterIfChanged();
+                  return result;
+                }));
+  }
+
+  /**
+   * Reloads the index under the shared lock if the store was changed since it was last loaded or
+   * written by this repository. If the store then asks for compaction, for example because a log
+   * left behind by a crash is long, it is compacted right away under the exclusive lock instead of
+   * waiting for the next write. Must only be called by the writer.
+   *
+   * @return The current index.
+   * @throws IOException If an error occurs while reading or compacting the user database.
+   */
+  private Map<String, UserRecord> refreshIfChanged() throws IOException {
+    if (users != null && !store.hasChanged()) {
+      return users;
+    }
+    final Map<String, UserRecord> loaded = lock.withSharedLock(this::loadIfChanged);
+    if (!store.needsCompaction()) {
+      return loaded;
+    }
+    return lock.withExclusiveLock(
+        () -> {
+          final Map<String, UserRecord> current = loadIfChanged();
+          compactIfNeeded();
+          return current;
+        });
+  }
+
+  /**
+   * Loads the index, or the changes made to the store by someone else. Must only be called by the
+   * writer while holding a lock.
+   *
+   * @return The current index.
+   * @throws IOException If an error occurs while reading the user database.
+   */
+  private Map<String, UserRecord> loadIfChanged() throws IOException {
+    // The filter is built before the index is published, so lookups never see one without the other
+    if (users == null) {
+      final Map<String, UserRecord> loaded = new ConcurrentHashMap<>(store.load());
+      rebuildFilter(loaded);
+      users = loaded;
+    } else if (store.hasChanged()) {
+      final Map<String, UserRecord> reloaded = store.reload(users);
+      if (reloaded != users) {
+        final Map<String, UserRecord> loaded = new ConcurrentHashMap<>(reloaded);
+        rebuildFilter(loaded);
+        users = loaded;
+      } else {
+        // Users added by someone else were put into the index in place
+        users.keySet().forEach(this::addToFilter);
+      }
+    }
+    return users;
+  }
+
+  /**
+   * Adds a username to the username filter, rebuilding the filter if it outgrew its size. Must only
+   * be called by the writer.
+   *
+   * @param username The username to add.
+   */
+  private void addToFilter(final String username) {
+    if (usernameFilter.mightContain(username)) {
+      return;
+    }
+    if (users.size() >= usernameFilter.getExpectedInsertions()) {
+      rebuildFilter(users);
+    }
+    usernameFilter.add(username);
+    filterChanged = true;
+  }
+
+  /**
+   * Rebuilds the username filter from an index and persists it. Must only be called by the writer.
+   *
+   * @param index The index to build the filter from.
+   */
+  private void rebuildFilter(final Map<String, UserRecord> index) {
+    final BloomFilter filter =
+        new BloomFilter(Math.max(MIN_FILTER_CAPACITY, index.size() * 2), falsePositiveRate);
+    index.keySet().forEach(filter::add);
+    usernameFilter = filter;
+    filterChanged = true;
+    saveFilterIfChanged();
+  }
+
+  /** Persists the username filter if it was changed. Must only be called by the writer. */
+  private void saveFilterIfChanged() {
+    if (!filterChanged) {
+      return;
+    }
+    try {
+      usernameFilter.writeTo(filterFile);
+      filterChanged = false;
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Error writing the username filter " + filterFile, e);
+    }
+  }
+
+  /**
+   * Reads the configured false positive rate of the username filter.
+   *
+   * @return The false positive rate, or the default if the property is missing or invalid.
+   */
+  private static double readFalsePositiveRate() {
+    final String value = System.getProperty(FALSE_POSITIVE_RATE_PROPERTY);
+    if (value != null) {
+      try {
+        final double rate = Double.parseDouble(value);
+        if (rate > 0 && rate < 1) {
+          return rate;
+        }
+      } catch (NumberFormatException e) {
+        // Fall through to the warning below
+      }
+      logger.log(Level.WARNING, "Invalid " + FALSE_POSITIVE_RATE_PROPERTY + ": " + value);
+    }
+    return DEFAULT_FALSE_POSITIVE_RATE;
+  }
+
+  /**
+   * Compacts the store if it asks for it. Must only be called by the writer.
+   *
+   * @throws IOException If an error occurs while writing the user database.
+   */
+  private void compactIfNeeded() throws IOException {
+    if (store.needsCompaction()) {
+      store.compact(users.values());
+    }
+  }
+
+  /**
+   * Waits for a mutation submitted to the writer and rethrows its exception.
+   *
+   * @param future The future of the mutation.
+   * @param <T> The type of the result of the mutation.
+   * @return The result of the mutation.
+   * @throws IOException If the mutation failed with an {@code IOException} or was interrupted.
+   */
+  private static <T> T await(final CompletableFuture<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the user database", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+}
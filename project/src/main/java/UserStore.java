@@ -0,0 +1,125 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code UserStore} interface defines how the user database is persisted. The {@link
+ * UserRepository} keeps the users in memory and uses a {@code UserStore} to load and save them.
+ *
+ * <p>All methods except {@link #hasChanged()} are called from the single writer thread of the
+ * repository. {@link #hasChanged()} may be called from any thread. Loads are done while holding a
+ * shared {@link UserDatabaseLock} and writes while holding an exclusive one, so several processes
+ * can use the same store.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public interface UserStore {
+  /**
+   * Loads all users from the store.
+   *
+   * @return The users of the store, indexed by username, in the order they were stored.
+   * @throws IOException If an error occurs while reading the store.
+   */
+  Map<String, UserRecord> load() throws IOException;
+
+  /**
+   * Loads the changes made by someone else into the given users. Stores that can read only the
+   * changes should override this method; by default the whole store is loaded again.
+   *
+   * @param users The users as they were last loaded or written.
+   * @return The current users of the store, indexed by username.
+   * @throws IOException If an error occurs while reading the store.
+   */
+  default Map<String, UserRecord> reload(Map<String, UserRecord> users) throws IOException {
+    return load();
+  }
+
+  /**
+   * Gets the path of the file the store is kept in. The lock file of the store is placed next to
+   * it.
+   *
+   * @return The path of the database file.
+   */
+  Path getDatabaseFile();
+
+  /**
+   * Gets the time the store was last written by anyone. Stores kept in more than the database file
+   * should override this method.
+   *
+   * @return The last modification time, or the epoch if the store does not exist yet.
+   * @throws IOException If an error occurs while reading the time.
+   */
+  default FileTime getLastModifiedTime() throws IOException {
+    return lastModifiedTime(getDatabaseFile());
+  }
+
+  /**
+   * Gets the last modification time of a file of a store.
+   *
+   * @param file The path of the file.
+   * @return The last modification time, or the epoch if the file does not exist.
+   * @throws IOException If an error occurs while reading the time.
+   */
+  static FileTime lastModifiedTime(final Path file) throws IOException {
+    return Files.exists(file) ? Files.getLastModifiedTime(file) : FileTime.fromMillis(0);
+  }
+
+  /**
+   * Checks whether the store was changed by someone else since it was last loaded or written.
+   *
+   * @return {@code true} if the store has to be loaded again, {@code false} otherwise.
+   * @throws IOException If an error occurs while checking the store.
+   */
+  boolean hasChanged() throws IOException;
+
+  /**
+   * Adds a new user to the store.
+   *
+   * @param user The user to add.
+   * @throws IOException If an error occurs while writing the store.
+   */
+  void append(UserRecord user) throws IOException;
+
+  /**
+   * Saves the new high score of a user. If the user is not in the store yet, it is added.
+   *
+   * @param user The user with the new high score.
+   * @throws IOException If an error occurs while writing the store.
+   */
+  void update(UserRecord user) throws IOException;
+
+  /**
+   * Saves the new high scores of several users in one batch. Stores that can write the batch at
+   * once should override this method.
+   *
+   * @param users The users with their new high scores.
+   * @throws IOException If an error occurs while writing the store.
+   */
+  default void updateAll(Collection<UserRecord> users) throws IOException {
+    for (final UserRecord user : users) {
+      update(user);
+    }
+  }
+
+  /**
+   * Checks whether the store should be compacted.
+   *
+   * @return {@code true} if {@link #compact(Collection)} should be called, {@code false} otherwise.
+   */
+  default boolean needsCompaction() {
+    return false;
+  }
+
+  /**
+   * Rewrites the store so that it contains exactly the given users.
+   *
+   * @param users The current users.
+   * @throws IOException If an error occurs while writing the store.
+   */
+  default void compact(Collection<UserRecord> users) throws IOException {}
+}
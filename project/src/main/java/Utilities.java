@@ -25,7 +25,8 @@ public final class Utilities {
   private Utilities() {}
 
   /**
-   * Reads words from an Excel file and returns a list of Word objects.
+   * Reads words from an Excel file and returns a list of Word objects. The first cell of a row is
+   * the original, every further cell that is not blank an accepted translation.
    *
    * @param inputStream The path to the Excel file.
    * @return A list of Word objects.
@@ -43,11 +44,16 @@ public final class Utilities {
           final Cell originalCell = cellIterator.next();
           final String original = originalCell.getStringCellValue();
 
-          if (cellIterator.hasNext()) {
-            final Cell translationCell = cellIterator.next();
-            final String translation = translationCell.getStringCellValue();
-
-            words.add(new Word(original, translation));
+          final List<String> translations = new ArrayList<>();
+          while (cellIterator.hasNext()) {
+            final String translation = cellIterator.next().getStringCellValue();
+            // The first translation is kept as it is, synonyms only if they are not blank
+            if (translations.isEmpty() || !translation.isBlank()) {
+              translations.add(translation);
+            }
+          }
+          if (!translations.isEmpty()) {
+            words.add(new Word(original, translations));
           }
         }
       }
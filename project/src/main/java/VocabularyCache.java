@@ -0,0 +1,247 @@
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * The {@code VocabularyCache} class keeps the parsed word lists of recently used languages and
+ * levels in memory, so that only the first round of a level pays for reading the vocabulary file.
+ * The cached lists are immutable {@link WordTable}s and shared by all rounds.
+ *
+ * <p>The number of cached levels is bounded by the system property {@value #CAPACITY_PROPERTY}; when
+ * it is exceeded, the least recently used level is evicted. Hits, misses and evictions are counted.
+ * A level is loaded only once even if it is requested by several threads at the same time, while
+ * different levels can be loaded in parallel.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class VocabularyCache {
+  /** The system property setting the maximum number of cached levels. */
+  static final String CAPACITY_PROPERTY = "vocabtrainer.vocabularyCacheSize";
+
+  /** The default maximum number of cached levels. */
+  private static final int DEFAULT_CAPACITY = 6;
+
+  /** The singleton instance of the VocabularyCache. */
+  private static VocabularyCache instance;
+
+  /** The maximum number of cached levels. */
+  private final int capacity;
+
+  /** The cached word lists in access order, indexed by language and level. */
+  private final Map<String, CompletableFuture<List<Word>>> entries;
+
+  /** The number of requests served from the cache. */
+  private long hits;
+
+  /** The number of requests that had to load the words. */
+  private long misses;
+
+  /** The number of levels evicted from the cache. */
+  private long evictions;
+
+  /**
+   * Constructs a new {@code VocabularyCache}.
+   *
+   * @param capacity The maximum number of cached levels.
+   */
+  VocabularyCache(final int capacity) {
+    this.capacity = Math.max(1, capacity);
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(
+              final Map.Entry<String, CompletableFuture<List<Word>>> eldest) {
+            if (size() > VocabularyCache.this.capacity) {
+              evictions++;
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * Gets the singleton instance of the {@code VocabularyCache}.
+   *
+   * @return The singleton instance of the {@code VocabularyCache}.
+   */
+  public static synchronized VocabularyCache getInstance() {
+    if (instance == null) {
+      instance = new VocabularyCache(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+    }
+    return instance;
+  }
+
+  /**
+   * Gets the words of a language and level, loading them if they are not cached. An empty list or a
+   * failed load is not cached, so that the next request tries again.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param loader Loads the words if they are not cached.
+   * @return The immutable list of words.
+   */
+  public List<Word> get(
+      final String language, final String level, final Supplier<List<Word>> loader) {
+    final String key = key(language, level);
+    final CompletableFuture<List<Word>> cached;
+    final CompletableFuture<List<Word>> future = new CompletableFuture<>();
+    synchronized (this) {
+      cached = entries.get(key);
+      if (cached != null) {
+        hits++;
+      } else {
+        misses++;
+        entries.put(key, future);
+      }
+    }
+    if (cached != null) {
+      // Wait outside the lock, the load may still be running in another thread
+      return join(cached);
+    }
+
+    try {
+      final List<Word> words = WordTable.copyOf(loader.get());
+      if (words.isEmpty()) {
+        remove(key, future);
+      }
+      future.complete(words);
+      return words;
+    } catch (RuntimeException | Error e) {
+      // Also on an error, so that requests waiting for the load do not block forever
+      remove(key, future);
+      future.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Removes the words of a language and level from the cache, for example because the vocabulary
+   * file changed.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   */
+  public synchronized void invalidate(final String language, final String level) {
+    entries.remove(key(language, level));
+  }
+
+  /**
+   * Replaces the words of a language and level in one step, for example because the vocabulary file
+   * was edited. Requests see either the old or the new words, never a missing entry.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param words The new words.
+   * @return The immutable list of new words.
+   */
+  public List<Word> replace(final String language, final String level, final List<Word> words) {
+    final List<Word> table = WordTable.copyOf(words);
+    synchronized (this) {
+      entries.put(key(language, level), CompletableFuture.completedFuture(table));
+    }
+    return table;
+  }
+
+  /**
+   * Gets the cached words of a language and level without loading them or counting a request.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @return The cached words, or {@code null} if they are not cached or still loading.
+   */
+  public synchronized List<Word> peek(final String language, final String level) {
+    final CompletableFuture<List<Word>> cached = entries.get(key(language, level));
+    return cached != null && cached.isDone() && !cached.isCompletedExceptionally()
+        ? cached.join()
+        : null;
+  }
+
+  /** Removes all words from the cache. */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Gets the number of requests served from the cache.
+   *
+   * @return The number of hits.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of requests that had to load the words.
+   *
+   * @return The number of misses.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the number of levels evicted from the cache because it was full.
+   *
+   * @return The number of evictions.
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Gets the number of cached levels.
+   *
+   * @return The number of cached levels.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Removes an entry if it still holds the given load.
+   *
+   * @param key The key of the entry.
+   * @param future The load of the entry.
+   */
+  private synchronized void remove(final String key, final CompletableFuture<List<Word>> future) {
+    entries.remove(key, future);
+  }
+
+  /**
+   * Waits for a load started by another request.
+   *
+   * @param future The load.
+   * @return The loaded words.
+   */
+  private static List<Word> join(final CompletableFuture<List<Word>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Builds the key of a language and level.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @return The key.
+   */
+  private static String key(final String language, final String level) {
+    return language.toLowerCase(Locale.ROOT) + "/" + level.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,214 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code VocabularyCatalog} class lists the languages and levels the trainer offers. It is read
+ * from the manifest {@value #MANIFEST_RESOURCE} on the classpath, which has one tab-separated line
+ * per level: the language, the level, the resource name of the vocabulary file without extension
+ * and the name of its {@link VocabularyFormat}. Empty lines and lines starting with {@code #} are
+ * ignored.
+ *
+ * <p>Reading the manifest does not read any vocabulary. The {@link CatalogVocabularyFactory} of a
+ * language is created when the language is first used, and the vocabulary file of a level and its
+ * format provider are only loaded when words of the level are requested.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class VocabularyCatalog {
+  /** The logger of the VocabularyCatalog class. */
+  private static final Logger logger = Logger.getLogger(VocabularyCatalog.class.getName());
+
+  /** The name of the manifest resource. */
+  static final String MANIFEST_RESOURCE = "/vocabulary-catalog.tsv";
+
+  /** The singleton instance of the VocabularyCatalog. */
+  private static VocabularyCatalog instance;
+
+  /**
+   * An entry of the catalog.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param resource The resource name of the vocabulary file without extension.
+   * @param format The name of the format of the vocabulary file.
+   */
+  public record Entry(String language, String level, String resource, String format) {}
+
+  /** The entries in the order of the manifest. */
+  private final List<Entry> entries;
+
+  /** The factories of the languages used so far, indexed by lower case language name. */
+  private final Map<String, VocabularyFactory> factories;
+
+  /**
+   * Constructs a new {@code VocabularyCatalog}.
+   *
+   * @param entries The entries in display order.
+   */
+  VocabularyCatalog(final List<Entry> entries) {
+    this.entries = List.copyOf(entries);
+    this.factories = new HashMap<>();
+  }
+
+  /**
+   * Gets the singleton instance of the {@code VocabularyCatalog}, reading the manifest on first use.
+   *
+   * @return The singleton instance of the {@code VocabularyCatalog}.
+   */
+  public static synchronized VocabularyCatalog getInstance() {
+    if (instance == null) {
+      List<Entry> entries = List.of();
+      try (InputStream inputStream = VocabularyCatalog.class.getResourceAsStream(MANIFEST_RESOURCE)) {
+        if (inputStream == null) {
+          logger.log(Level.SEVERE, "Vocabulary catalog not found: " + MANIFEST_RESOURCE);
+        } else {
+          entries = parse(inputStream);
+        }
+      } catch (IOException | IllegalArgumentException e) {
+        logger.log(Level.SEVERE, "Error reading vocabulary catalog " + MANIFEST_RESOURCE, e);
+      }
+      instance = new VocabularyCatalog(entries);
+    }
+    return instance;
+  }
+
+  /**
+   * Parses a manifest.
+   *
+   * @param inputStream The content of the manifest.
+   * @return The entries of the manifest.
+   * @throws IOException If the manifest cannot be read.
+   * @throws IllegalArgumentException if a line does not have four fields.
+   */
+  static List<Entry> parse(final InputStream inputStream) throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    final BufferedReader reader =
+        new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+      final String[] fields = line.split("\t");
+      if (fields.length != 4) {
+        throw new IllegalArgumentException(
+            "Line " + lineNumber + " of the vocabulary catalog needs 4 fields: " + line);
+      }
+      entries.add(
+          new Entry(fields[0].trim(), fields[1].trim(), fields[2].trim(), fields[3].trim()));
+    }
+    return entries;
+  }
+
+  /**
+   * Gets the entries of the catalog.
+   *
+   * @return The entries in display order.
+   */
+  public List<Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Gets the languages of the catalog.
+   *
+   * @return The names of the languages in display order.
+   */
+  public List<String> getLanguages() {
+    final LinkedHashSet<String> languages = new LinkedHashSet<>();
+    for (final Entry entry : entries) {
+      languages.add(entry.language());
+    }
+    return List.copyOf(languages);
+  }
+
+  /**
+   * Gets the levels of the catalog over all languages.
+   *
+   * @return The names of the levels in display order.
+   */
+  public List<String> getLevels() {
+    final LinkedHashSet<String> levels = new LinkedHashSet<>();
+    for (final Entry entry : entries) {
+      levels.add(entry.level());
+    }
+    return List.copyOf(levels);
+  }
+
+  /**
+   * Finds the entry of a language and level.
+   *
+   * @param language The name of the language, case is ignored.
+   * @param level The name of the level, case is ignored.
+   * @return The entry, or {@code null} if the catalog has no such level.
+   */
+  public Entry find(final String language, final String level) {
+    for (final Entry entry : entries) {
+      if (entry.language().equalsIgnoreCase(language) && entry.level().equalsIgnoreCase(level)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds the entry whose vocabulary file has the given resource name.
+   *
+   * @param resource The resource name without extension, case is ignored.
+   * @return The entry, or {@code null} if no entry uses the resource.
+   */
+  public Entry findByResource(final String resource) {
+    for (final Entry entry : entries) {
+      if (entry.resource().equalsIgnoreCase(resource)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the factory of a language, creating it on first use.
+   *
+   * @param language The name of the language.
+   * @return The factory creating the vocabulary of the language.
+   * @throws IllegalArgumentException if the catalog has no such language.
+   */
+  public synchronized VocabularyFactory getFactory(final String language) {
+    return factories.computeIfAbsent(
+        language.toLowerCase(Locale.ROOT),
+        key -> {
+          for (final Entry entry : entries) {
+            if (entry.language().equalsIgnoreCase(language)) {
+              return new CatalogVocabularyFactory(this, entry.language());
+            }
+          }
+          throw new IllegalArgumentException("Unknown language: " + language);
+        });
+  }
+
+  /**
+   * Reads the words of an entry.
+   *
+   * @param entry The entry.
+   * @return The words of the level.
+   * @throws RuntimeException if the vocabulary file cannot be found or read.
+   */
+  public List<Word> readWords(final Entry entry) {
+    return VocabularySources.readWords(entry.resource(), VocabularyFormats.forName(entry.format()));
+  }
+}
@@ -0,0 +1,293 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code VocabularyFile} class reads and writes the precompiled binary vocabulary format. The
+ * vocabulary lists are edited as Excel files, but parsing Office Open XML on every start is slow,
+ * so the build converts every {@code .xlsx} file into a {@value #EXTENSION} file next to it (see
+ * {@link #main(String[])}). Loading such a file is a memory-mapped read of a few kilobytes.
+ *
+ * <p>The file starts with a header of {@value #HEADER_SIZE} bytes: the magic number, the format
+ * version, the number of words, the length of the payload and the CRC32 checksum of the payload.
+ * For every word, the payload holds the number of its translations as an unsigned byte, followed by
+ * the original and the translations as UTF-8 strings, each prefixed with its length as an unsigned
+ * 16-bit number. Files of version 1, which hold exactly one translation per word and no count, are
+ * still read.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class VocabularyFile {
+  /** The logger of the VocabularyFile class. */
+  private static final Logger logger = Logger.getLogger(VocabularyFile.class.getName());
+
+  /** The file extension of precompiled vocabulary files. */
+  public static final String EXTENSION = ".vocab";
+
+  /** The magic number at the start of the file ("VTVC"). */
+  private static final int MAGIC = 0x56545643;
+
+  /** The version of the file format. */
+  private static final int FORMAT_VERSION = 2;
+
+  /** The version of the file format with a single translation per word. */
+  private static final int SINGLE_TRANSLATION_VERSION = 1;
+
+  /** The size of the header in bytes. */
+  private static final int HEADER_SIZE = 20;
+
+  /** The maximum length of a string in bytes. */
+  private static final int MAX_STRING_LENGTH = 0xFFFF;
+
+  /** The maximum number of translations of a word. */
+  private static final int MAX_TRANSLATIONS = 0xFF;
+
+  /** Private constructor to prevent instantiation. */
+  private VocabularyFile() {}
+
+  /**
+   * Writes words to a vocabulary file, replacing it atomically.
+   *
+   * @param words The words to write.
+   * @param file The path of the file.
+   * @throws IOException If an error occurs while writing the file.
+   * @throws IllegalArgumentException if a word is longer than {@value #MAX_STRING_LENGTH} bytes or
+   *     has more than {@value #MAX_TRANSLATIONS} translations.
+   */
+  public static void write(final List<Word> words, final Path file) throws IOException {
+    final List<byte[]> strings = new ArrayList<>(words.size() * 2);
+    int payloadLength = 0;
+    for (final Word word : words) {
+      final List<String> translations = word.getTranslations();
+      if (translations.size() > MAX_TRANSLATIONS) {
+        throw new IllegalArgumentException("Too many translations for the vocabulary file: " + word);
+      }
+      payloadLength += Byte.BYTES;
+      payloadLength += addString(strings, word.getOriginal());
+      for (final String translation : translations) {
+        payloadLength += addString(strings, translation);
+      }
+    }
+
+    final ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+    int index = 0;
+    for (final Word word : words) {
+      final int translationCount = word.getTranslations().size();
+      payload.put((byte) translationCount);
+      for (int i = 0; i <= translationCount; i++) {
+        final byte[] bytes = strings.get(index++);
+        payload.putShort((short) bytes.length);
+        payload.put(bytes);
+      }
+    }
+    final CRC32 checksum = new CRC32();
+    checksum.update(payload.array());
+
+    final Path tempFile = Paths.get(file + "_temp");
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      output.writeInt(MAGIC);
+      output.writeInt(FORMAT_VERSION);
+      output.writeInt(words.size());
+      output.writeInt(payloadLength);
+      output.writeInt((int) checksum.getValue());
+      output.write(payload.array());
+    }
+    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Encodes a string for the payload.
+   *
+   * @param strings The encoded strings, the string is added to.
+   * @param value The string.
+   * @return The number of bytes the string takes in the payload.
+   * @throws IllegalArgumentException if the string is longer than {@value #MAX_STRING_LENGTH}
+   *     bytes.
+   */
+  private static int addString(final List<byte[]> strings, final String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAX_STRING_LENGTH) {
+      throw new IllegalArgumentException("Word too long for the vocabulary file: " + value);
+    }
+    strings.add(bytes);
+    return Short.BYTES + bytes.length;
+  }
+
+  /**
+   * Reads the words of a vocabulary file by mapping it into memory.
+   *
+   * @param file The path of the file.
+   * @return The words of the file.
+   * @throws IOException If the file cannot be read, is not a vocabulary file or is corrupted.
+   */
+  public static List<Word> read(final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return decode(buffer, file.toString());
+    }
+  }
+
+  /**
+   * Reads the words of a vocabulary file on the classpath. A resource in a directory is mapped into
+   * memory; a resource in a JAR file is read into memory.
+   *
+   * @param resourceName The name of the resource, for example {@code /spanish_beginner.vocab}.
+   * @return The words of the file, or {@code null} if there is no such resource or it cannot be
+   *     read, so that the caller can fall back to the Excel file.
+   */
+  public static List<Word> readResource(final String resourceName) {
+    final URL resource = VocabularyFile.class.getResource(resourceName);
+    if (resource == null) {
+      return null;
+    }
+    try {
+      if ("file".equals(resource.getProtocol())) {
+        return read(Paths.get(resource.toURI()));
+      }
+      try (InputStream inputStream = resource.openStream()) {
+        return decode(ByteBuffer.wrap(inputStream.readAllBytes()), resourceName);
+      }
+    } catch (IOException | URISyntaxException e) {
+      logger.log(Level.WARNING, "Error reading precompiled vocabulary " + resourceName, e);
+      return null;
+    }
+  }
+
+  /**
+   * Decodes the content of a vocabulary file.
+   *
+   * @param buffer The content of the file.
+   * @param name The name of the file for error messages.
+   * @return The words of the file.
+   * @throws IOException If the content is not a vocabulary file or is corrupted.
+   */
+  private static List<Word> decode(final ByteBuffer buffer, final String name) throws IOException {
+    if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a vocabulary file: " + name);
+    }
+    final int version = buffer.getInt(4);
+    if (version != FORMAT_VERSION && version != SINGLE_TRANSLATION_VERSION) {
+      throw new IOException("Unsupported vocabulary file version " + version + ": " + name);
+    }
+    final int count = buffer.getInt(8);
+    final int payloadLength = buffer.getInt(12);
+    if (count < 0 || payloadLength < 0 || buffer.limit() != HEADER_SIZE + payloadLength) {
+      throw new IOException("Truncated vocabulary file: " + name);
+    }
+
+    final ByteBuffer payload = buffer.slice(HEADER_SIZE, payloadLength);
+    final CRC32 checksum = new CRC32();
+    checksum.update(payload.duplicate());
+    if ((int) checksum.getValue() != buffer.getInt(16)) {
+      throw new IOException("Checksum mismatch in vocabulary file: " + name);
+    }
+
+    // Every word takes at least its two length prefixes, so a corrupt count cannot over-allocate
+    final WordTable.Builder words = new WordTable.Builder(Math.min(count, payloadLength / 4));
+    try {
+      for (int i = 0; i < count; i++) {
+        final int translationCount =
+            version == SINGLE_TRANSLATION_VERSION ? 1 : Byte.toUnsignedInt(payload.get());
+        final String original = readString(payload);
+        if (translationCount == 1) {
+          words.add(original, readString(payload));
+        } else {
+          final List<String> translations = new ArrayList<>(translationCount);
+          for (int j = 0; j < translationCount; j++) {
+            translations.add(readString(payload));
+          }
+          words.add(original, translations);
+        }
+      }
+    } catch (RuntimeException e) {
+      throw new IOException("Malformed vocabulary file: " + name, e);
+    }
+    return words.build();
+  }
+
+  /**
+   * Reads a length-prefixed UTF-8 string.
+   *
+   * @param payload The payload positioned at the string.
+   * @return The string.
+   */
+  private static String readString(final ByteBuffer payload) {
+    final byte[] bytes = new byte[Short.toUnsignedInt(payload.getShort())];
+    payload.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Converts every Excel file of a directory into a vocabulary file. Excel files that are older than
+   * their vocabulary file are skipped.
+   *
+   * @param sourceDirectory The directory with the Excel files.
+   * @param targetDirectory The directory the vocabulary files are written to.
+   * @return The number of converted files.
+   * @throws IOException If an error occurs while reading or writing the files.
+   */
+  public static int compileDirectory(final Path sourceDirectory, final Path targetDirectory)
+      throws IOException {
+    Files.createDirectories(targetDirectory);
+    int converted = 0;
+    try (DirectoryStream<Path> workbooks = Files.newDirectoryStream(sourceDirectory, "*.xlsx")) {
+      for (final Path workbook : workbooks) {
+        final String name = workbook.getFileName().toString();
+        final String baseName = name.substring(0, name.length() - ".xlsx".length());
+        final Path target = targetDirectory.resolve(baseName + EXTENSION);
+        if (Files.exists(target)
+            && Files.getLastModifiedTime(target).compareTo(Files.getLastModifiedTime(workbook))
+                > 0) {
+          continue;
+        }
+
+        final List<Word> words = new ArrayList<>();
+        StreamingExcelReader.readWords(workbook.toString(), words::add);
+        if (words.isEmpty()) {
+          throw new IOException("No words read from " + workbook);
+        }
+        write(words, target);
+        logger.log(
+            Level.INFO, "Compiled " + words.size() + " words of " + workbook + " to " + target);
+        converted++;
+      }
+    }
+    return converted;
+  }
+
+  /**
+   * Converts the Excel vocabulary lists into the binary format. Called by the build in the {@code
+   * process-classes} phase.
+   *
+   * @param args {@code <directory with .xlsx files> <output directory>}.
+   * @throws IOException If an error occurs while reading or writing the files.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: VocabularyFile <directory with .xlsx files> <output directory>");
+      return;
+    }
+    compileDirectory(Paths.get(args[0]), Paths.get(args[1]));
+  }
+}
@@ -0,0 +1,48 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The {@code VocabularyFormat} interface is the service interface of the file formats vocabulary
+ * lists can be stored in. Implementations are registered in {@code
+ * META-INF/services/VocabularyFormat} and found with {@link java.util.ServiceLoader} (see {@link
+ * VocabularyFormats}), so a new format only needs a new class and a line in that file. The entries
+ * of the {@link VocabularyCatalog} refer to a format by its name.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public interface VocabularyFormat {
+  /**
+   * Gets the name of the format as used in the catalog manifest, for example {@code xlsx}.
+   *
+   * @return The name of the format.
+   */
+  String getName();
+
+  /**
+   * Gets the file extension of the format, for example {@code .xlsx}.
+   *
+   * @return The file extension.
+   */
+  String getExtension();
+
+  /**
+   * Reads the words of a file.
+   *
+   * @param file The path of the file.
+   * @return The words of the file.
+   * @throws IOException If the file cannot be read.
+   */
+  List<Word> read(Path file) throws IOException;
+
+  /**
+   * Reads the words of a resource on the classpath.
+   *
+   * @param resourceName The name of the resource, for example {@code /spanish_beginner.xlsx}.
+   * @return The words of the resource, or {@code null} if there is no such resource or it cannot be
+   *     read.
+   */
+  List<Word> readResource(String resourceName);
+}
@@ -0,0 +1,66 @@
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+
+/**
+ * The {@code VocabularyFormats} class holds the {@link VocabularyFormat}s registered with {@link
+ * ServiceLoader}. The providers are loaded the first time a format is needed, in the order of
+ * {@code META-INF/services/VocabularyFormat}, which is also the order in which the files of a level
+ * are looked up.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class VocabularyFormats {
+  /** Private constructor to prevent instantiation. */
+  private VocabularyFormats() {}
+
+  /** Loads the providers on first use. */
+  private static final class Holder {
+    /** The registered formats. */
+    private static final List<VocabularyFormat> FORMATS =
+        ServiceLoader.load(VocabularyFormat.class).stream().map(ServiceLoader.Provider::get).toList();
+  }
+
+  /**
+   * Gets all registered formats.
+   *
+   * @return The formats in lookup order.
+   */
+  public static List<VocabularyFormat> all() {
+    return Holder.FORMATS;
+  }
+
+  /**
+   * Gets a format by its name.
+   *
+   * @param name The name of the format, for example {@code xlsx}.
+   * @return The format.
+   * @throws IllegalArgumentException if no format with the name is registered.
+   */
+  public static VocabularyFormat forName(final String name) {
+    for (final VocabularyFormat format : all()) {
+      if (format.getName().equalsIgnoreCase(name)) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("Unknown vocabulary format: " + name);
+  }
+
+  /**
+   * Gets the format of a file by its extension.
+   *
+   * @param fileName The name of the file.
+   * @return The format, or {@code null} if no format has the extension of the file.
+   */
+  public static VocabularyFormat forFile(final String fileName) {
+    final String name = fileName.toLowerCase(Locale.ROOT);
+    for (final VocabularyFormat format : all()) {
+      if (name.endsWith(format.getExtension())) {
+        return format;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,283 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.prefs.Preferences;
+
+/**
+ * The {@code VocabularyPreloader} class loads the vocabulary of the languages and levels in the
+ * background while the user is still logging in, so that starting a round does not have to wait
+ * for the vocabulary file. Every level is loaded on its own virtual thread through the {@link
+ * VocabularyFactory} of its language, which stores the words in the {@link VocabularyCache}.
+ *
+ * <p>Which levels are loaded at startup is chosen by the system property {@value #POLICY_PROPERTY}:
+ *
+ * <ul>
+ *   <li>{@code eager} (the default) loads every combination of language and level concurrently,
+ *   <li>{@code lazy} loads nothing until a level is requested,
+ *   <li>{@code last_used} loads only the level the last round was played in, for example to save
+ *       memory with many large vocabulary lists.
+ * </ul>
+ *
+ * <p>The last used language and level are remembered in the user preferences.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class VocabularyPreloader {
+  /** The logger of the VocabularyPreloader class. */
+  private static final Logger logger = Logger.getLogger(VocabularyPreloader.class.getName());
+
+  /** The system property choosing the preload policy. */
+  static final String POLICY_PROPERTY = "vocabtrainer.preload";
+
+  /** The preference key of the last used language. */
+  private static final String LAST_LANGUAGE_KEY = "lastLanguage";
+
+  /** The preference key of the last used level. */
+  private static final String LAST_LEVEL_KEY = "lastLevel";
+
+  /** The levels that are loaded at startup. */
+  public enum Policy {
+    /** Loads every combination of language and level. */
+    EAGER,
+    /** Loads nothing until a level is requested. */
+    LAZY,
+    /** Loads only the last used level. */
+    LAST_USED
+  }
+
+  /** The singleton instance of the VocabularyPreloader. */
+  private static VocabularyPreloader instance;
+
+  /** The preload policy. */
+  private final Policy policy;
+
+  /** The preferences holding the last used language and level. */
+  private final Preferences preferences;
+
+  /** Loads the words of a language and level. */
+  private final BiFunction<String, String, List<Word>> loader;
+
+  /** Runs every load on its own virtual thread. */
+  private final ExecutorService executor;
+
+  /** The started loads, indexed by language and level. */
+  private final Map<String, CompletableFuture<List<Word>>> loads;
+
+  /**
+   * Constructs a new {@code VocabularyPreloader}.
+   *
+   * @param policy The preload policy.
+   * @param preferences The preferences holding the last used language and level.
+   * @param loader Loads the words of a language and level.
+   */
+  VocabularyPreloader(
+      final Policy policy,
+      final Preferences preferences,
+      final BiFunction<String, String, List<Word>> loader) {
+    this.policy = policy;
+    this.preferences = preferences;
+    this.loader = loader;
+    this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    this.loads = new HashMap<>();
+  }
+
+  /**
+   * Gets the singleton instance of the {@code VocabularyPreloader}.
+   *
+   * @return The singleton instance of the {@code VocabularyPreloader}.
+   */
+  public static synchronized VocabularyPreloader getInstance() {
+    if (instance == null) {
+      instance =
+          new VocabularyPreloader(
+              parsePolicy(System.getProperty(POLICY_PROPERTY)),
+              Preferences.userRoot().node("vocabtrainer"),
+              (language, level) ->
+                  VocabularyCatalog.getInstance().getFactory(language).createWord(level));
+    }
+    return instance;
+  }
+
+  /**
+   * Parses the value of the policy property.
+   *
+   * @param value The value of the property, may be {@code null}.
+   * @return The policy, {@link Policy#EAGER} if the value is missing or unknown.
+   */
+  static Policy parsePolicy(final String value) {
+    if (value == null) {
+      return Policy.EAGER;
+    }
+    try {
+      return Policy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      logger.log(Level.WARNING, "Unknown preload policy " + value + ", using eager");
+      return Policy.EAGER;
+    }
+  }
+
+  /**
+   * Starts loading the levels chosen by the policy in the background and returns immediately.
+   *
+   * @param languages The available languages.
+   * @param levels The available levels.
+   */
+  public void start(final List<String> languages, final List<String> levels) {
+    final long start = System.nanoTime();
+    final List<CompletableFuture<List<Word>>> started =
+        switch (policy) {
+          case EAGER ->
+              languages.stream()
+                  .flatMap(language -> levels.stream().map(level -> load(language, level)))
+                  .toList();
+          case LAST_USED -> {
+            final String language = getLastUsedLanguage();
+            final String level = getLastUsedLevel();
+            yield languages.contains(language) && levels.contains(level)
+                ? List.of(load(language, level))
+                : List.of();
+          }
+          case LAZY -> List.of();
+        };
+    if (started.isEmpty()) {
+      return;
+    }
+    CompletableFuture.allOf(started.toArray(new CompletableFuture<?>[0]))
+        .whenComplete(
+            (ignored, e) ->
+                logger.log(
+                    Level.INFO,
+                    String.format(
+                        "Preloaded %d levels (%s) in %d ms",
+                        started.size(), policy, elapsedMillis(start))));
+  }
+
+  /**
+   * Gets the words of a language and level. If the level was not preloaded, loading it starts now.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @return The load of the words; completed if the level was already loaded.
+   */
+  public synchronized CompletableFuture<List<Word>> load(final String language, final String level) {
+    final String key = key(language, level);
+    final CompletableFuture<List<Word>> load = loads.get(key);
+    if (load != null && !load.isCompletedExceptionally()) {
+      return load;
+    }
+
+    final CompletableFuture<List<Word>> started =
+        CompletableFuture.supplyAsync(
+            () -> {
+              final long start = System.nanoTime();
+              final List<Word> words = loader.apply(language, level);
+              logger.log(
+                  Level.INFO,
+                  String.format(
+                      "Loaded %d words of %s %s in %d ms",
+                      words.size(), language, level, elapsedMillis(start)));
+              return words;
+            },
+            executor);
+    started.whenComplete(
+        (words, e) -> {
+          if (e != null) {
+            logger.log(Level.SEVERE, "Error loading " + language + " " + level, e);
+          }
+        });
+    loads.put(key, started);
+    return started;
+  }
+
+  /**
+   * Replaces the words of a language and level that were loaded before, for example because the
+   * vocabulary file was edited.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param words The new words.
+   */
+  public synchronized void replace(
+      final String language, final String level, final List<Word> words) {
+    loads.put(key(language, level), CompletableFuture.completedFuture(words));
+  }
+
+  /**
+   * Forgets the words of a language and level, so that the next request loads them again.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   */
+  public synchronized void invalidate(final String language, final String level) {
+    loads.remove(key(language, level));
+  }
+
+  /**
+   * Remembers the language and level of the round being started, so that the next start preloads
+   * them.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   */
+  public void recordLastUsed(final String language, final String level) {
+    preferences.put(LAST_LANGUAGE_KEY, language);
+    preferences.put(LAST_LEVEL_KEY, level);
+  }
+
+  /**
+   * Gets the language of the last round.
+   *
+   * @return The last used language, or "Spanish" if no round was played yet.
+   */
+  public String getLastUsedLanguage() {
+    return preferences.get(LAST_LANGUAGE_KEY, "Spanish");
+  }
+
+  /**
+   * Gets the level of the last round.
+   *
+   * @return The last used level, or "Beginner" if no round was played yet.
+   */
+  public String getLastUsedLevel() {
+    return preferences.get(LAST_LEVEL_KEY, "Beginner");
+  }
+
+  /**
+   * Gets the preload policy.
+   *
+   * @return The preload policy.
+   */
+  public Policy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * Builds the key of a language and level.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @return The key.
+   */
+  private static String key(final String language, final String level) {
+    return language.toLowerCase(Locale.ROOT) + "/" + level.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Calculates the milliseconds elapsed since a point in time.
+   *
+   * @param start The point in time from {@link System#nanoTime()}.
+   * @return The elapsed milliseconds.
+   */
+  private static long elapsedMillis(final long start) {
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+}
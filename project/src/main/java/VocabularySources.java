@@ -0,0 +1,110 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * The {@code VocabularySources} class finds and reads the vocabulary file of a level. The file of a
+ * level is named after the resource of its {@link VocabularyCatalog} entry, for example {@code
+ * spanish_beginner}, and may be stored in any registered {@link VocabularyFormat}.
+ *
+ * <p>If the system property {@value #DIRECTORY_PROPERTY} names a directory, the files in it take
+ * precedence over the files on the classpath, so word lists can be edited without rebuilding the
+ * application (see {@link VocabularyWatcher}). On the classpath, the list precompiled by the build
+ * is preferred over the file in the format of the catalog entry.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class VocabularySources {
+  /** The system property naming the external vocabulary directory. */
+  static final String DIRECTORY_PROPERTY = "vocabtrainer.vocabularyDirectory";
+
+  /** Private constructor to prevent instantiation. */
+  private VocabularySources() {}
+
+  /**
+   * Gets the external vocabulary directory.
+   *
+   * @return The directory, or {@code null} if the property is not set.
+   */
+  public static Path getDirectory() {
+    final String directory = System.getProperty(DIRECTORY_PROPERTY);
+    return directory == null || directory.isBlank() ? null : Paths.get(directory);
+  }
+
+  /**
+   * Reads the words of a level, from the external directory if it has a file for the level and
+   * from the classpath otherwise.
+   *
+   * @param baseName The name of the file without extension, for example {@code spanish_beginner}.
+   * @param format The format of the file on the classpath.
+   * @return The words of the level.
+   * @throws RuntimeException if there is no file for the level or it cannot be read.
+   */
+  public static List<Word> readWords(final String baseName, final VocabularyFormat format) {
+    final Path directory = getDirectory();
+    if (directory != null) {
+      try {
+        final List<Word> words = readDirectory(directory, baseName);
+        if (words != null) {
+          return words;
+        }
+      } catch (IOException e) {
+        throw new RuntimeException("Error reading " + baseName + " from " + directory, e);
+      }
+    }
+
+    final List<Word> compiled =
+        VocabularyFile.readResource("/" + baseName + VocabularyFile.EXTENSION);
+    if (compiled != null) {
+      return compiled;
+    }
+    final String resourceName = "/" + baseName + format.getExtension();
+    final List<Word> words = format.readResource(resourceName);
+    if (words == null) {
+      throw new RuntimeException("Resource not found: " + resourceName);
+    }
+    return words;
+  }
+
+  /**
+   * Reads the words of a level from a directory. The formats are tried in the order of {@link
+   * VocabularyFormats#all()}.
+   *
+   * @param directory The directory.
+   * @param baseName The name of the file without extension.
+   * @return The words of the level, or {@code null} if the directory has no file for the level.
+   * @throws IOException If the file cannot be read or contains no words.
+   */
+  public static List<Word> readDirectory(final Path directory, final String baseName)
+      throws IOException {
+    for (final VocabularyFormat format : VocabularyFormats.all()) {
+      final Path file = directory.resolve(baseName + format.getExtension());
+      if (Files.isRegularFile(file)) {
+        return readFile(file, format);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Reads the words of a file.
+   *
+   * @param file The file.
+   * @param format The format of the file.
+   * @return The words of the file.
+   * @throws IOException If the file cannot be read or contains no words.
+   */
+  private static List<Word> readFile(final Path file, final VocabularyFormat format)
+      throws IOException {
+    final List<Word> words = format.read(file);
+    if (words.isEmpty()) {
+      // An empty list is usually a file that is still being written
+      throw new IOException("No words in " + file);
+    }
+    return words;
+  }
+}
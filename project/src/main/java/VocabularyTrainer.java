@@ -1,7 +1,10 @@
+import java.util.List;
+
 /**
  * The {@code VocabularyTrainer} class represents a singleton instance that manages the state of a
  * vocabulary trainer application. It includes functionality to update the current language and
- * level, as well as access the current language and level settings.
+ * level, as well as access the current language and level settings. The words of the current
+ * language can be replaced while the application is running when its vocabulary file is edited.
  *
  * @author Iuliia Mozhina
  * @author Alejandra Camelo Cruz
@@ -46,17 +49,39 @@ public final class VocabularyTrainer {
    * @param language The new language setting.
    * @param level The new level setting.
    */
-  public void updateLanguageAndLevel(final Language language, final VocabularyLevel level) {
+  public synchronized void updateLanguageAndLevel(
+      final Language language, final VocabularyLevel level) {
     this.currentLanguage = language;
     this.currentLevel = level;
   }
 
+  /**
+   * Replaces the words of the current language if it is the given language and level. Rounds that
+   * already started keep their words.
+   *
+   * @param languageName The name of the language whose words changed.
+   * @param levelName The name of the level whose words changed.
+   * @param words The new words.
+   * @return {@code true} if the current language was replaced.
+   */
+  public synchronized boolean replaceWords(
+      final String languageName, final String levelName, final List<Word> words) {
+    if (currentLanguage == null
+        || currentLevel == null
+        || !currentLanguage.getName().equalsIgnoreCase(languageName)
+        || !currentLevel.getLevelName().equalsIgnoreCase(levelName)) {
+      return false;
+    }
+    currentLanguage = new Language(currentLanguage.getName(), words);
+    return true;
+  }
+
   /**
    * Retrieves the current language setting of the vocabulary trainer.
    *
    * @return The current language setting.
    */
-  public Language getCurrentLanguage() {
+  public synchronized Language getCurrentLanguage() {
     return currentLanguage;
   }
 
@@ -65,7 +90,7 @@ public final class VocabularyTrainer {
    *
    * @return The current level setting.
    */
-  public VocabularyLevel getCurrentLevel() {
+  public synchronized VocabularyLevel getCurrentLevel() {
     return currentLevel;
   }
 }
@@ -0,0 +1,306 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@code VocabularyWatcher} class reloads word lists in the external vocabulary directory (see
+ * {@link VocabularySources}) while the application is running. It watches the directory with a
+ * {@link WatchService}; when a file such as {@code spanish_beginner.tsv} is created, modified or
+ * deleted, only the {@link VocabularyCatalog} entry with that resource is read again and the words
+ * are compared with the previous words. The resulting {@link Change} is passed to a listener, which
+ * by default swaps the words in the {@link VocabularyCache}, the {@link VocabularyPreloader} and
+ * the {@link VocabularyTrainer}, and passes the added and removed words to the {@link
+ * ReviewScheduler}, so the review state of the unchanged words is kept.
+ *
+ * <p>Events are collected until the directory has been quiet for {@value #QUIET_PERIOD_MILLIS} ms,
+ * because editors usually write a file in several steps. If the new file cannot be read or contains
+ * no words, the old words are kept.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class VocabularyWatcher implements Closeable {
+  /** The logger of the VocabularyWatcher class. */
+  private static final Logger logger = Logger.getLogger(VocabularyWatcher.class.getName());
+
+  /** The time without events after which the changed files are read. */
+  static final long QUIET_PERIOD_MILLIS = 50;
+
+  /** The watcher of the external vocabulary directory, started by {@link #startDefault()}. */
+  private static VocabularyWatcher instance;
+
+  /**
+   * A change of the words of a language and level.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param words All words of the level after the change.
+   * @param added The words that were added.
+   * @param removed The words that were removed.
+   */
+  public record Change(
+      String language, String level, List<Word> words, List<Word> added, List<Word> removed) {}
+
+  /** The watched directory. */
+  private final Path directory;
+
+  /** The catalog mapping files to languages and levels. */
+  private final VocabularyCatalog catalog;
+
+  /** Receives the changes. */
+  private final Consumer<Change> listener;
+
+  /** The last words read of every language and level, indexed by base name. */
+  private final Map<String, List<Word>> knownWords;
+
+  /** The watch service, or {@code null} if not started. */
+  private WatchService watchService;
+
+  /** The thread processing the events, or {@code null} if not started. */
+  private Thread thread;
+
+  /**
+   * Constructs a new {@code VocabularyWatcher}.
+   *
+   * @param directory The directory to watch.
+   * @param catalog The catalog mapping files to languages and levels.
+   * @param listener Receives the changes.
+   */
+  VocabularyWatcher(
+      final Path directory, final VocabularyCatalog catalog, final Consumer<Change> listener) {
+    this.directory = directory;
+    this.catalog = catalog;
+    this.listener = listener;
+    this.knownWords = new HashMap<>();
+  }
+
+  /**
+   * Starts watching the external vocabulary directory if the system property {@value
+   * VocabularySources#DIRECTORY_PROPERTY} is set. Changes are applied to the cached vocabulary.
+   *
+   * @return The watcher, or {@code null} if no directory is configured or it cannot be watched.
+   */
+  public static synchronized VocabularyWatcher startDefault() {
+    final Path directory = VocabularySources.getDirectory();
+    if (instance == null && directory != null) {
+      final VocabularyWatcher watcher =
+          new VocabularyWatcher(
+              directory, VocabularyCatalog.getInstance(), VocabularyWatcher::apply);
+      try {
+        watcher.start();
+        instance = watcher;
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Error watching vocabulary directory " + directory, e);
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Swaps the changed words into the cached vocabulary and updates the loaded review queues.
+   *
+   * @param change The change.
+   */
+  private static void apply(final Change change) {
+    final List<Word> words =
+        VocabularyCache.getInstance().replace(change.language(), change.level(), change.words());
+    VocabularyPreloader.getInstance().replace(change.language(), change.level(), words);
+    VocabularyTrainer.getInstance().replaceWords(change.language(), change.level(), words);
+    ReviewScheduler.getInstance()
+        .update(change.language(), change.level(), words, change.added(), change.removed());
+  }
+
+  /**
+   * Starts watching the directory on a background thread.
+   *
+   * @throws IOException If the directory cannot be watched.
+   */
+  public synchronized void start() throws IOException {
+    if (watchService != null) {
+      return;
+    }
+    watchService = FileSystems.getDefault().newWatchService();
+    directory.register(
+        watchService,
+        StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY,
+        StandardWatchEventKinds.ENTRY_DELETE);
+    final WatchService service = watchService;
+    thread =
+        Thread.ofPlatform()
+            .name("vocabulary-watcher")
+            .daemon()
+            .start(() -> processEvents(service));
+    logger.log(Level.INFO, "Watching vocabulary directory " + directory);
+  }
+
+  /** Stops watching the directory. */
+  @Override
+  public synchronized void close() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+      watchService = null;
+    }
+    if (thread != null) {
+      thread.interrupt();
+      thread = null;
+    }
+  }
+
+  /**
+   * Processes the events of the watch service until it is closed.
+   *
+   * @param service The watch service.
+   */
+  private void processEvents(final WatchService service) {
+    try {
+      while (true) {
+        // Collect the changed levels until the directory is quiet
+        final Set<String> changed = new LinkedHashSet<>();
+        WatchKey key = service.take();
+        while (key != null) {
+          collect(key, changed);
+          key = service.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        for (final String baseName : changed) {
+          reload(baseName);
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // The watcher was closed
+    }
+  }
+
+  /**
+   * Collects the levels of the files of a watch key.
+   *
+   * @param key The watch key.
+   * @param changed Receives the base names of the changed files.
+   */
+  private void collect(final WatchKey key, final Set<String> changed) {
+    for (final WatchEvent<?> event : key.pollEvents()) {
+      if (event.context() instanceof Path file) {
+        final String baseName = baseName(file.getFileName().toString());
+        if (baseName != null && catalog.findByResource(baseName) != null) {
+          changed.add(baseName);
+        }
+      }
+    }
+    key.reset();
+  }
+
+  /**
+   * Reads the words of a level again and reports the change.
+   *
+   * @param baseName The base name of the file of the level, for example {@code spanish_beginner}.
+   */
+  void reload(final String baseName) {
+    final VocabularyCatalog.Entry entry = catalog.findByResource(baseName);
+    if (entry == null) {
+      return;
+    }
+    final long start = System.nanoTime();
+    final List<Word> words;
+    try {
+      words = VocabularySources.readDirectory(directory, baseName);
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Keeping the old words of " + baseName, e);
+      return;
+    }
+    if (words == null) {
+      // The file was deleted, the level falls back to the classpath the next time it is loaded
+      synchronized (this) {
+        knownWords.remove(baseName);
+      }
+      VocabularyCache.getInstance().invalidate(entry.language(), entry.level());
+      VocabularyPreloader.getInstance().invalidate(entry.language(), entry.level());
+      logger.log(Level.INFO, "Removed " + baseName + " from the vocabulary directory");
+      return;
+    }
+
+    final List<Word> previous;
+    synchronized (this) {
+      previous = knownWords.put(baseName, words);
+    }
+    final List<Word> oldWords =
+        previous != null
+            ? previous
+            : VocabularyCache.getInstance().peek(entry.language(), entry.level());
+    final Change change = diff(entry.language(), entry.level(), oldWords, words);
+    listener.accept(change);
+    logger.log(
+        Level.INFO,
+        String.format(
+            "Reloaded %s in %d ms: %d words, %d added, %d removed",
+            baseName,
+            (System.nanoTime() - start) / 1_000_000,
+            words.size(),
+            change.added().size(),
+            change.removed().size()));
+  }
+
+  /**
+   * Compares the old and new words of a level.
+   *
+   * @param language The name of the language.
+   * @param level The name of the level.
+   * @param oldWords The old words, or {@code null} if they are not known.
+   * @param newWords The new words.
+   * @return The change.
+   */
+  static Change diff(
+      final String language,
+      final String level,
+      final List<Word> oldWords,
+      final List<Word> newWords) {
+    final Set<Word> oldSet = oldWords == null ? Set.of() : new LinkedHashSet<>(oldWords);
+    final Set<Word> newSet = new LinkedHashSet<>(newWords);
+    final List<Word> added = new ArrayList<>();
+    for (final Word word : newSet) {
+      if (!oldSet.contains(word)) {
+        added.add(word);
+      }
+    }
+    final List<Word> removed = new ArrayList<>();
+    for (final Word word : oldSet) {
+      if (!newSet.contains(word)) {
+        removed.add(word);
+      }
+    }
+    return new Change(language, level, newWords, List.copyOf(added), List.copyOf(removed));
+  }
+
+  /**
+   * Gets the base name of a vocabulary file.
+   *
+   * @param fileName The name of the file, for example {@code spanish_beginner.tsv}.
+   * @return The base name in lower case, for example {@code spanish_beginner}, or {@code null} if
+   *     no {@link VocabularyFormat} has the extension of the file.
+   */
+  static String baseName(final String fileName) {
+    final VocabularyFormat format = VocabularyFormats.forFile(fileName);
+    if (format == null) {
+      return null;
+    }
+    final String name = fileName.toLowerCase(Locale.ROOT);
+    return name.substring(0, name.length() - format.getExtension().length());
+  }
+}
@@ -1,9 +1,20 @@
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
 /**
  * The {@code Word} class represents a word and its translation. It provides methods to access the
  * original word, translation, and a string representation of the word.
  *
+ * <p>A word may have several accepted translations, for example synonyms such as "coche" and
+ * "carro". The first one is the translation that is shown; an answer is correct if it matches any
+ * of them (see {@link #getAnswerKeys()}).
+ *
  * <p>Instances of this class are immutable once created, and the original and translation values
- * cannot be modified after instantiation.
+ * cannot be modified after instantiation. Two words are equal if their original and translations
+ * are equal, since a {@link WordTable} creates a new {@code Word} every time a word is accessed.
  *
  * @author Iuliia Mozhina
  * @author Alejandra Camelo Cruz
@@ -13,9 +24,18 @@ public class Word {
   /** The word in the original language. */
   private final String original;
 
-  /** The translation of the word. */
+  /** The translation of the word that is shown. */
   private final String translation;
 
+  /** All accepted translations, starting with the one that is shown. */
+  private final List<String> translations;
+
+  /** The key of the translation used to check answers, computed on first use. */
+  private String answerKey;
+
+  /** The keys of all accepted translations, computed on first use. */
+  private Set<String> answerKeys;
+
   /**
    * Constructs a new Word with the specified original and its translation
    *
@@ -25,6 +45,42 @@ public class Word {
   public Word(final String original, final String translation) {
     this.original = original;
     this.translation = translation;
+    this.translations = Collections.singletonList(translation);
+  }
+
+  /**
+   * Constructs a new Word with the specified original and several accepted translations
+   *
+   * @param original the word in the original language
+   * @param translations the accepted translations, starting with the one that is shown
+   * @throws IllegalArgumentException if there is no translation
+   */
+  public Word(final String original, final List<String> translations) {
+    this(original, List.copyOf(translations), null, null);
+  }
+
+  /**
+   * Constructs a new Word whose answer keys may already be known.
+   *
+   * @param original the word in the original language
+   * @param translations the accepted translations, starting with the one that is shown
+   * @param answerKey the key of the first translation, or {@code null} to compute it on first use
+   * @param answerKeys the keys of all translations, or {@code null} to compute them on first use
+   * @throws IllegalArgumentException if there is no translation
+   */
+  Word(
+      final String original,
+      final List<String> translations,
+      final String answerKey,
+      final Set<String> answerKeys) {
+    if (translations.isEmpty()) {
+      throw new IllegalArgumentException("A word needs a translation: " + original);
+    }
+    this.original = original;
+    this.translation = translations.get(0);
+    this.translations = translations;
+    this.answerKey = answerKey;
+    this.answerKeys = answerKeys;
   }
 
   /**
@@ -45,14 +101,90 @@ public class Word {
     return translation;
   }
 
+  /**
+   * Gets all accepted translations.
+   *
+   * @return the translations, starting with the one returned by {@link #getTranslation()}
+   */
+  public List<String> getTranslations() {
+    return translations;
+  }
+
+  /**
+   * Gets the key of the translation used to check answers, see {@link AnswerMatcher#key(String)}.
+   *
+   * @return the answer key
+   */
+  public String getAnswerKey() {
+    String key = answerKey;
+    if (key == null) {
+      // Strings are immutable, so computing the key twice in parallel is harmless
+      key = AnswerMatcher.key(translation);
+      answerKey = key;
+    }
+    return key;
+  }
+
+  /**
+   * Gets the keys of all accepted translations, so an answer can be looked up in constant time
+   * however many translations the word has.
+   *
+   * @return the answer keys
+   */
+  public Set<String> getAnswerKeys() {
+    Set<String> keys = answerKeys;
+    if (keys == null) {
+      if (translations.size() == 1) {
+        keys = Set.of(getAnswerKey());
+      } else {
+        final Set<String> distinctKeys = new LinkedHashSet<>();
+        for (final String value : translations) {
+          distinctKeys.add(AnswerMatcher.key(value));
+        }
+        keys = Set.copyOf(distinctKeys);
+      }
+      answerKeys = keys;
+    }
+    return keys;
+  }
+
   /**
    * Returns a string representation of the Word. The string representation is in the form
-   * "(original, translation)".
+   * "(original, translation)", with further translations separated by " / ".
    *
    * @return a string representation of the Word
    */
   @Override
   public String toString() {
-    return "(" + original + ", " + translation + ")";
+    return "(" + original + ", " + String.join(" / ", translations) + ")";
+  }
+
+  /**
+   * Compares this word to another object. They are equal if the other object is a Word with the
+   * same original and translations.
+   *
+   * @param o the object to compare with
+   * @return true if the object is an equal Word
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Word)) {
+      return false;
+    }
+    final Word word = (Word) o;
+    return Objects.equals(original, word.original) && translations.equals(word.translations);
+  }
+
+  /**
+   * Returns a hash code of the original and translations.
+   *
+   * @return the hash code of the Word
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(original, translations);
   }
 }
@@ -0,0 +1,519 @@
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * The {@code WordTable} class is an immutable list of words that stores the originals and
+ * translations of all words in one shared text array instead of one {@link Word} and two {@link
+ * String} objects per word. String {@code 2 * i} is the original and string {@code 2 * i + 1} the
+ * translation of word {@code i}; the offsets array holds where every string starts. If a word has
+ * several translations, the strings of every word are instead located by the index of the first
+ * string of the word, and the original is followed by all translations.
+ *
+ * <p>As long as every character fits into ISO-8859-1, the text is stored with one byte per
+ * character, otherwise with one {@code char} per character. {@link #get(int)} creates a {@link Word}
+ * view on demand; {@link #getOriginal(int)} and {@link #getTranslation(int)} only create the string
+ * that is asked for.
+ *
+ * <p>The answer keys of the translations (see {@link Word#getAnswerKeys()}) and an index from the
+ * answer keys back to the words (see {@link #findByTranslation(String)}) are computed on demand and
+ * kept with the table. The same index makes {@link #indexOf(Object)} and {@link #contains(Object)}
+ * hash lookups, and builds the {@link #reversed()} table for questions asked from the translation
+ * to the original.
+ *
+ * @author Iuliia Mozhina
+ * @author Alejandra Camelo Cruz
+ * @version 1.0
+ */
+public final class WordTable extends AbstractList<Word> implements RandomAccess {
+  /** An empty table. */
+  private static final WordTable EMPTY = new Builder(0).build();
+
+  /** The text of all strings if every character is in ISO-8859-1, otherwise {@code null}. */
+  private final byte[] latin1Text;
+
+  /** The text of all strings if a character is not in ISO-8859-1, otherwise {@code null}. */
+  private final char[] utf16Text;
+
+  /** The start of every string in the text, followed by the end of the text. */
+  private final int[] offsets;
+
+  /**
+   * The index of the first string of every word followed by the number of strings, or {@code null}
+   * if every word has exactly one translation.
+   */
+  private final int[] wordStarts;
+
+  /** The answer keys of the translations, or {@code null} until they are computed. */
+  private volatile AnswerKeys answerKeys;
+
+  /** The words of every answer key, or {@code null} until a translation is looked up. */
+  private volatile Map<String, int[]> wordsByAnswerKey;
+
+  /** The similarity index of the translations, built on first use. */
+  private volatile SimilarityIndex similarityIndex;
+
+  /** The table with originals and translations swapped, built on first use. */
+  private volatile WordTable reversedTable;
+
+  /**
+   * The answer keys of a table.
+   *
+   * @param firstKeys The key of the first translation of every word.
+   * @param keySets The keys of all translations of every word, {@code null} for a word with one
+   *     translation.
+   */
+  private record AnswerKeys(String[] firstKeys, List<Set<String>> keySets) {}
+
+  /**
+   * Constructs a new {@code WordTable}. Exactly one of the text arrays is not {@code null}.
+   *
+   * @param latin1Text The text stored with one byte per character.
+   * @param utf16Text The text stored with one char per character.
+   * @param offsets The start of every string, followed by the end of the text.
+   * @param wordStarts The first string of every word followed by the number of strings, or {@code
+   *     null} if every word has one translation.
+   */
+  private WordTable(
+      final byte[] latin1Text, final char[] utf16Text, final int[] offsets, final int[] wordStarts) {
+    this.latin1Text = latin1Text;
+    this.utf16Text = utf16Text;
+    this.offsets = offsets;
+    this.wordStarts = wordStarts;
+  }
+
+  /**
+   * Returns a table with the given words. A {@code WordTable} is returned as is.
+   *
+   * @param words The words.
+   * @return The table.
+   * @throws NullPointerException if a word, an original or a translation is {@code null}.
+   */
+  public static WordTable copyOf(final Collection<? extends Word> words) {
+    if (words instanceof WordTable table) {
+      return table;
+    }
+    if (words.isEmpty()) {
+      return EMPTY;
+    }
+    final Builder builder = new Builder(words.size());
+    for (final Word word : words) {
+      builder.add(word.getOriginal(), word.getTranslations());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Gets a view of a word.
+   *
+   * @param index The index of the word.
+   * @return A new {@link Word} with the original and translations of the word, and its answer keys
+   *     if the keys were computed.
+   */
+  @Override
+  public Word get(final int index) {
+    final AnswerKeys keys = answerKeys;
+    return new Word(
+        getOriginal(index),
+        getTranslations(index),
+        keys == null ? null : keys.firstKeys()[index],
+        keys == null ? null : keys.keySets().get(index));
+  }
+
+  /**
+   * Gets the original of a word without creating a {@link Word}.
+   *
+   * @param index The index of the word.
+   * @return The original of the word.
+   */
+  public String getOriginal(final int index) {
+    return string(firstString(checkIndex(index)));
+  }
+
+  /**
+   * Gets the first translation of a word without creating a {@link Word}.
+   *
+   * @param index The index of the word.
+   * @return The translation of the word.
+   */
+  public String getTranslation(final int index) {
+    return string(firstString(checkIndex(index)) + 1);
+  }
+
+  /**
+   * Gets all translations of a word.
+   *
+   * @param index The index of the word.
+   * @return The translations of the word, starting with {@link #getTranslation(int)}.
+   */
+  public List<String> getTranslations(final int index) {
+    final int first = firstString(checkIndex(index)) + 1;
+    final int end = firstString(index + 1);
+    if (end - first == 1) {
+      return Collections.singletonList(string(first));
+    }
+    final List<String> translations = new ArrayList<>(end - first);
+    for (int i = first; i < end; i++) {
+      translations.add(string(i));
+    }
+    return Collections.unmodifiableList(translations);
+  }
+
+  /**
+   * Finds the words with a translation. The translation is compared by its answer key, so case,
+   * accents and punctuation do not matter.
+   *
+   * @param translation The translation.
+   * @return The words that have the translation among their translations, in the order of the
+   *     table.
+   */
+  public List<Word> findByTranslation(final String translation) {
+    final int[] indices = getWordsByAnswerKey().get(AnswerMatcher.key(translation));
+    final List<Word> found = new ArrayList<>(indices == null ? 0 : indices.length);
+    if (indices != null) {
+      for (final int index : indices) {
+        found.add(get(index));
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Finds the first index of a word by the answer key of its translation, instead of comparing all
+   * words. The index of the answer keys is built on first use.
+   *
+   * @param o The word to find.
+   * @return The index of the first equal word, or -1 if the table does not contain the word.
+   */
+  @Override
+  public int indexOf(final Object o) {
+    if (!(o instanceof Word word)) {
+      return -1;
+    }
+    final int[] indices = getWordsByAnswerKey().get(word.getAnswerKey());
+    if (indices != null) {
+      for (final int index : indices) {
+        if (getOriginal(index).equals(word.getOriginal())
+            && getTranslations(index).equals(word.getTranslations())) {
+          return index;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  /**
+   * Gets the table asking the words the other way round. Word {@code i} of the reversed table has
+   * the first translation of word {@code i} as its original. Its translations are the original of
+   * word {@code i} followed by the originals of all other words with the same translation, so every
+   * one of them is accepted as an answer and none of them is offered as a wrong answer. The table is
+   * built on first use with the index of the answer keys and then kept with this table.
+   *
+   * @return The reversed table, with the same size and order as this table.
+   */
+  public WordTable reversed() {
+    WordTable table = reversedTable;
+    if (table == null) {
+      synchronized (this) {
+        table = reversedTable;
+        if (table == null) {
+          final Map<String, int[]> index = getWordsByAnswerKey();
+          final String[] firstKeys = answerKeys.firstKeys();
+          final Builder builder = new Builder(size());
+          final List<String> originals = new ArrayList<>();
+          for (int i = 0; i < firstKeys.length; i++) {
+            final int[] sameTranslation = index.get(firstKeys[i]);
+            if (sameTranslation.length == 1) {
+              builder.add(getTranslation(i), getOriginal(i));
+              continue;
+            }
+            originals.clear();
+            originals.add(getOriginal(i));
+            for (final int other : sameTranslation) {
+              final String original = getOriginal(other);
+              if (!originals.contains(original)) {
+                originals.add(original);
+              }
+            }
+            builder.add(getTranslation(i), originals);
+          }
+          table = builder.build();
+          table.computeAnswerKeys();
+          reversedTable = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Computes the answer keys of all translations (see {@link Word#getAnswerKey()}), so the words of
+   * the table do not compute them while a question is answered. Does nothing if they are computed.
+   */
+  public void computeAnswerKeys() {
+    if (answerKeys == null) {
+      synchronized (this) {
+        if (answerKeys == null) {
+          final String[] firstKeys = new String[size()];
+          final List<Set<String>> keySets = new ArrayList<>(Collections.nCopies(size(), null));
+          for (int i = 0; i < firstKeys.length; i++) {
+            firstKeys[i] = AnswerMatcher.key(getTranslation(i));
+            if (wordStarts != null && wordStarts[i + 1] - wordStarts[i] > 2) {
+              keySets.set(i, get(i).getAnswerKeys());
+            }
+          }
+          answerKeys = new AnswerKeys(firstKeys, keySets);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the index from the answer keys of all translations to the words, building it on first use.
+   *
+   * @return The indices of the words of every answer key.
+   */
+  private Map<String, int[]> getWordsByAnswerKey() {
+    Map<String, int[]> index = wordsByAnswerKey;
+    if (index == null) {
+      synchronized (this) {
+        index = wordsByAnswerKey;
+        if (index == null) {
+          computeAnswerKeys();
+          index = new HashMap<>();
+          for (int i = 0; i < size(); i++) {
+            for (final String key : get(i).getAnswerKeys()) {
+              final int[] indices = index.get(key);
+              if (indices == null) {
+                index.put(key, new int[] {i});
+              } else {
+                final int[] grown = Arrays.copyOf(indices, indices.length + 1);
+                grown[indices.length] = i;
+                index.put(key, grown);
+              }
+            }
+          }
+          wordsByAnswerKey = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Gets the similarity index of the translations. It is built on first use and then shared by all
+   * users of the table.
+   *
+   * @return The similarity index.
+   */
+  public SimilarityIndex getSimilarityIndex() {
+    SimilarityIndex index = similarityIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = similarityIndex;
+        if (index == null) {
+          index = new SimilarityIndex(this);
+          similarityIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  @Override
+  public int size() {
+    return wordStarts == null ? (offsets.length - 1) / 2 : wordStarts.length - 1;
+  }
+
+  /**
+   * Gets the number of bytes used by the text and the offsets, without object headers.
+   *
+   * @return The number of bytes.
+   */
+  long getDataSize() {
+    final long text = latin1Text != null ? latin1Text.length : 2L * utf16Text.length;
+    return text + 4L * offsets.length + (wordStarts == null ? 0 : 4L * wordStarts.length);
+  }
+
+  /**
+   * Checks that an index is in range.
+   *
+   * @param index The index of a word.
+   * @return The index.
+   */
+  private int checkIndex(final int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size());
+    }
+    return index;
+  }
+
+  /**
+   * Gets the index of the first string of a word.
+   *
+   * @param index The index of the word, or the size of the table for the end of the strings.
+   * @return The index of the original of the word.
+   */
+  private int firstString(final int index) {
+    return wordStarts == null ? 2 * index : wordStarts[index];
+  }
+
+  /**
+   * Creates a string of the text.
+   *
+   * @param stringIndex The index of the string.
+   * @return The string.
+   */
+  private String string(final int stringIndex) {
+    final int start = offsets[stringIndex];
+    final int length = offsets[stringIndex + 1] - start;
+    if (latin1Text != null) {
+      return new String(latin1Text, start, length, StandardCharsets.ISO_8859_1);
+    }
+    return new String(utf16Text, start, length);
+  }
+
+  /**
+   * The {@code Builder} class collects words for a {@link WordTable} without creating {@link Word}
+   * objects.
+   */
+  public static final class Builder {
+    /** The text added so far, stored in a char array until it is known if it fits in bytes. */
+    private char[] text;
+
+    /** The number of characters of the text. */
+    private int length;
+
+    /** The start of every string added so far. */
+    private int[] offsets;
+
+    /** The number of strings added so far. */
+    private int strings;
+
+    /** The index of the first string of every word added so far. */
+    private int[] wordStarts;
+
+    /** The number of words added so far. */
+    private int words;
+
+    /** Whether a word added so far has more than one translation. */
+    private boolean synonyms;
+
+    /** Whether every character added so far is in ISO-8859-1. */
+    private boolean latin1;
+
+    /**
+     * Constructs a new {@code Builder}.
+     *
+     * @param expectedWords The expected number of words.
+     */
+    public Builder(final int expectedWords) {
+      this.text = new char[Math.max(16, expectedWords * 16)];
+      this.offsets = new int[Math.max(2, expectedWords * 2 + 1)];
+      this.wordStarts = new int[Math.max(2, expectedWords + 1)];
+      this.latin1 = true;
+    }
+
+    /**
+     * Adds a word.
+     *
+     * @param original The original of the word.
+     * @param translation The translation of the word.
+     * @return This builder.
+     * @throws NullPointerException if the original or the translation is {@code null}.
+     */
+    public Builder add(final String original, final String translation) {
+      startWord();
+      append(original);
+      append(translation);
+      return this;
+    }
+
+    /**
+     * Adds a word with several translations.
+     *
+     * @param original The original of the word.
+     * @param translations The translations of the word, starting with the one that is shown.
+     * @return This builder.
+     * @throws IllegalArgumentException if there is no translation.
+     * @throws NullPointerException if the original or a translation is {@code null}.
+     */
+    public Builder add(final String original, final List<String> translations) {
+      if (translations.isEmpty()) {
+        throw new IllegalArgumentException("A word needs a translation: " + original);
+      }
+      startWord();
+      append(original);
+      for (final String translation : translations) {
+        append(translation);
+      }
+      synonyms |= translations.size() > 1;
+      return this;
+    }
+
+    /**
+     * Builds the table.
+     *
+     * @return The table with the added words.
+     */
+    public WordTable build() {
+      final int[] tableOffsets = Arrays.copyOf(offsets, strings + 1);
+      tableOffsets[strings] = length;
+      // The word starts are only needed if a word does not have exactly two strings
+      final int[] tableWordStarts = synonyms ? Arrays.copyOf(wordStarts, words + 1) : null;
+      if (tableWordStarts != null) {
+        tableWordStarts[words] = strings;
+      }
+      if (!latin1) {
+        return new WordTable(null, Arrays.copyOf(text, length), tableOffsets, tableWordStarts);
+      }
+      final byte[] bytes = new byte[length];
+      for (int i = 0; i < length; i++) {
+        bytes[i] = (byte) text[i];
+      }
+      return new WordTable(bytes, null, tableOffsets, tableWordStarts);
+    }
+
+    /** Records the start of a word. */
+    private void startWord() {
+      if (words + 1 >= wordStarts.length) {
+        wordStarts = Arrays.copyOf(wordStarts, wordStarts.length * 2);
+      }
+      wordStarts[words++] = strings;
+    }
+
+    /**
+     * Appends a string to the text.
+     *
+     * @param value The string.
+     */
+    private void append(final String value) {
+      final int valueLength = value.length();
+      if (length + valueLength > text.length) {
+        text = Arrays.copyOf(text, Math.max(text.length * 2, length + valueLength));
+      }
+      value.getChars(0, valueLength, text, length);
+      for (int i = length; latin1 && i < length + valueLength; i++) {
+        latin1 = text[i] <= 0xFF;
+      }
+      if (strings + 1 >= offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+      offsets[strings++] = length;
+      length += valueLength;
+    }
+  }
+}
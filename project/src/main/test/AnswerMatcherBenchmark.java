@@ -0,0 +1,61 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the time and the allocated bytes per answer check of {@link AnswerMatcher} for exact,
+ * near-miss and wrong answers, next to the previous check that lower-cased both strings and compared
+ * them with {@code equals}.
+ *
+ * <p>Usage: {@code java AnswerMatcherBenchmark}.
+ */
+public class AnswerMatcherBenchmark {
+
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Keeps the results alive so the JIT cannot drop the calls. */
+    private static long sink;
+
+    public static void main(String[] args) {
+        Word word = new Word("Schmetterling", "Mariposa Monarca");
+        word.getAnswerKey();
+        String[][] cases = {
+            {"exact", "mariposa monarca"},
+            {"accents", "Maripósa Monárca!"},
+            {"near miss", "mariposa monarka"},
+            {"wrong", "escarabajo"},
+        };
+        for (int round = 0; round < 2; round++) {
+            for (String[] test : cases) {
+                String answer = test[1];
+                double[] matcher = measure(() -> AnswerMatcher.check(answer, word).ordinal());
+                double[] previous = measure(() ->
+                        answer.toLowerCase().equals(word.getTranslation().toLowerCase()) ? 1 : 0);
+                if (round == 1) {
+                    System.out.printf("%-10s matcher %6.1f ns/op %5.1f B/op   toLowerCase+equals %6.1f ns/op %5.1f B/op%n",
+                            test[0], matcher[0], matcher[1], previous[0], previous[1]);
+                }
+            }
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    /** Returns the nanoseconds and allocated bytes per operation. */
+    private static double[] measure(java.util.function.IntSupplier check) {
+        long thread = Thread.currentThread().getId();
+        long operations = 0;
+        long bytes = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 1024; i++) {
+                sink += check.getAsInt();
+            }
+            operations += 1024;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        bytes = THREADS.getThreadAllocatedBytes(thread) - bytes;
+        return new double[] {(double) elapsed / operations, (double) bytes / operations};
+    }
+}
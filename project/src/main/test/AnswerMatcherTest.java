@@ -0,0 +1,121 @@
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnswerMatcherTest {
+
+    @Test
+    public void testKeyIgnoresCaseAccentsAndPunctuation() {
+        assertEquals("cafe", AnswerMatcher.key("Café"));
+        assertEquals("cafe", AnswerMatcher.key("café"));
+        assertEquals("que tal", AnswerMatcher.key("  ¿Qué   tal?  "));
+        assertEquals("еж", AnswerMatcher.key("Ёж"));
+        assertEquals("strasse", AnswerMatcher.key("STRASSE"));
+    }
+
+    @Test
+    public void testLettersOfTheirOwnKeepTheirMarks() {
+        assertEquals("año", AnswerMatcher.key("AÑO"));
+        assertEquals("мой", AnswerMatcher.key("МОЙ"));
+        assertNotEquals(AnswerMatcher.key("año"), AnswerMatcher.key("ano"));
+    }
+
+    @Test
+    public void testGrades() {
+        Word word = new Word("кофе", "café");
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check("cafe", word));
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check("CAFÉ!", word));
+        assertEquals(AnswerMatcher.Grade.NEAR_MISS, AnswerMatcher.check("caffe", word));
+        assertEquals(AnswerMatcher.Grade.WRONG, AnswerMatcher.check("cofee", word));
+        assertEquals(AnswerMatcher.Grade.WRONG, AnswerMatcher.check("", word));
+
+        Word hedgehog = new Word("hedgehog", "ёж");
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check("еж", hedgehog));
+        // Short words have no tolerance
+        assertEquals(AnswerMatcher.Grade.WRONG, AnswerMatcher.check("уж", hedgehog));
+
+        Word butterfly = new Word("Schmetterling", "mariposa");
+        assertEquals(AnswerMatcher.Grade.NEAR_MISS, AnswerMatcher.check("maripoza", butterfly));
+        assertEquals(AnswerMatcher.Grade.NEAR_MISS, AnswerMatcher.check("marioza", butterfly));
+        assertEquals(AnswerMatcher.Grade.WRONG, AnswerMatcher.check("marzipan", butterfly));
+    }
+
+    @Test
+    public void testDistanceMatchesFullLevenshtein() {
+        AnswerMatcher matcher = new AnswerMatcher();
+        List<String> texts = List.of("casa", "cosa", "caso", "casas", "cas", "asa", "mariposa",
+                "maripoza", "marisposa", "mariposas", "ma", "");
+        for (String key : texts) {
+            for (String answer : texts) {
+                int distance = SimilarityIndex.levenshtein(key, answer);
+                int tolerance = AnswerMatcher.tolerance(key.length());
+                AnswerMatcher.Grade expected = distance == 0
+                        ? AnswerMatcher.Grade.EXACT
+                        : distance <= tolerance ? AnswerMatcher.Grade.NEAR_MISS : AnswerMatcher.Grade.WRONG;
+                assertEquals(expected, matcher.grade(answer, key), key + " / " + answer);
+            }
+        }
+    }
+
+    @Test
+    public void testRandomAnswersMatchFullLevenshtein() {
+        AnswerMatcher matcher = new AnswerMatcher();
+        SplittableRandom random = new SplittableRandom(9);
+        for (int i = 0; i < 20_000; i++) {
+            String key = randomText(random);
+            String answer = randomText(random);
+            int distance = SimilarityIndex.levenshtein(key, answer);
+            int tolerance = AnswerMatcher.tolerance(key.length());
+            AnswerMatcher.Grade expected = distance == 0
+                    ? AnswerMatcher.Grade.EXACT
+                    : distance <= tolerance ? AnswerMatcher.Grade.NEAR_MISS : AnswerMatcher.Grade.WRONG;
+            assertEquals(expected, matcher.grade(answer, key), key + " / " + answer);
+        }
+    }
+
+    private static String randomText(SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        int length = 2 + random.nextInt(11);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void testLongAnswersGrowTheBuffers() {
+        String translation = "a".repeat(500);
+        Word word = new Word("x", translation);
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check(translation.toUpperCase(), word));
+        assertEquals(AnswerMatcher.Grade.NEAR_MISS, AnswerMatcher.check(translation + "b", word));
+        assertEquals(AnswerMatcher.Grade.WRONG, AnswerMatcher.check("b".repeat(600), word));
+    }
+
+    @Test
+    public void testTableKeysArePrecomputed() {
+        WordTable words = new WordTable.Builder(2).add("gato", "Gató").add("perro", "perro").build();
+        words.computeAnswerKeys();
+        assertEquals("gato", words.get(0).getAnswerKey());
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check("gato", words.get(0)));
+    }
+
+    @Test
+    public void testAccentVariantsAreNotDistractors() {
+        List<Word> words = List.of(new Word("a", "papá"), new Word("b", "papa"), new Word("c", "pipa"));
+        assertEquals(List.of(new Word("c", "pipa")),
+                SimilarityIndex.of(words).findSimilar(words.get(0), 5));
+    }
+
+    @Test
+    public void testEverySynonymIsAccepted() {
+        Word word = new Word("coche", List.of("car", "automobile", "motor car"));
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check("car", word));
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check("Automobile", word));
+        assertEquals(AnswerMatcher.Grade.EXACT, AnswerMatcher.check("Motor car!", word));
+        assertEquals(AnswerMatcher.Grade.NEAR_MISS, AnswerMatcher.check("automobil", word));
+        assertEquals(AnswerMatcher.Grade.WRONG, AnswerMatcher.check("bicycle", word));
+    }
+}
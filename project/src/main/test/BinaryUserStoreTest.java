@@ -0,0 +1,99 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryUserStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path textFile;
+    private Path binaryFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        textFile = tempDir.resolve("userDatabase.txt");
+        binaryFile = tempDir.resolve("userDatabase.bin");
+        Files.write(textFile, List.of("guestUser,3", "registered,7,secret,mail@example.com", "Пользователь,1"));
+    }
+
+    @Test
+    public void testImportAndExportRoundTrip() throws IOException {
+        assertEquals(3, BinaryUserStore.importText(textFile, binaryFile));
+
+        Path exported = tempDir.resolve("exported.txt");
+        assertEquals(3, BinaryUserStore.exportText(binaryFile, exported));
+        assertEquals(Files.readAllLines(textFile), Files.readAllLines(exported));
+    }
+
+    @Test
+    public void testUpdateInPlace() throws IOException {
+        BinaryUserStore.importText(textFile, binaryFile);
+        long size = Files.size(binaryFile);
+        UserRepository repository = new UserRepository(new BinaryUserStore(binaryFile));
+
+        repository.updateHighScore("registered", 12);
+        repository.addUser(new UserRecord("newGuest", 0, null, null));
+
+        assertEquals(size, Files.size(binaryFile), "File should not be rewritten");
+        Map<String, UserRecord> users = new BinaryUserStore(binaryFile).load();
+        assertEquals(new UserRecord("registered", 12, "secret", "mail@example.com"), users.get("registered"));
+        assertEquals(new UserRecord("newGuest", 0, null, null), users.get("newGuest"));
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() throws IOException {
+        UserRepository repository = new UserRepository(new BinaryUserStore(binaryFile));
+        for (int i = 0; i < 3000; i++) {
+            repository.addUser(new UserRecord("user" + i, i, null, null));
+        }
+
+        Map<String, UserRecord> users = new BinaryUserStore(binaryFile).load();
+        assertEquals(3000, users.size());
+        assertEquals(2999, users.get("user2999").highScore(), "Scores should match");
+    }
+
+    @Test
+    public void testChangeByAnotherStoreIsDetected() throws IOException {
+        BinaryUserStore.importText(textFile, binaryFile);
+        UserRepository repository = new UserRepository(new BinaryUserStore(binaryFile));
+        assertEquals(3, repository.find("guestUser").highScore(), "Scores should match");
+
+        UserRepository other = new UserRepository(new BinaryUserStore(binaryFile));
+        other.updateHighScore("guestUser", 9);
+
+        assertEquals(9, repository.find("guestUser").highScore(), "Scores should match");
+    }
+
+    @Test
+    public void testTooLongValueIsRejected() throws IOException {
+        UserRepository repository = new UserRepository(new BinaryUserStore(binaryFile));
+        // A checked exception, so the registration shows an error instead of crashing
+        assertThrows(IOException.class,
+                () -> repository.addUser(new UserRecord("x".repeat(64), 0, null, null)));
+        assertThrows(IOException.class,
+                () -> repository.addUser(new UserRecord("user", 0, "secret", "m".repeat(128))));
+
+        repository.addUser(new UserRecord("y".repeat(63), 0, "p".repeat(63), "m".repeat(127)));
+        assertNull(repository.find("x".repeat(64)));
+        assertNull(repository.find("user"));
+        assertEquals(1, new BinaryUserStore(binaryFile).load().size());
+    }
+
+    @Test
+    public void testImportSkipsTooLongUsers() throws IOException {
+        Files.write(textFile, List.of("guestUser,3", "x".repeat(64) + ",5",
+                "registered,7,secret," + "m".repeat(128), "other,1,secret,mail@example.com"));
+
+        assertEquals(2, BinaryUserStore.importText(textFile, binaryFile));
+        Map<String, UserRecord> users = new BinaryUserStore(binaryFile).load();
+        assertEquals(List.of("guestUser", "other"), List.copyOf(users.keySet()));
+    }
+}
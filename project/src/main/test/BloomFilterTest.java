@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testAddedStringsAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i), "There should be no false negatives");
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateIsRespected() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("guest" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positive rate should be about 1%: " + falsePositives);
+    }
+
+    @Test
+    public void testInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+    @Test
+    public void testRepositoryPersistsFilter() throws IOException {
+        Path databaseFile = tempDir.resolve("userDatabase.txt");
+        Files.write(databaseFile, List.of("guestUser,3", "registered,7,secret,mail@example.com"));
+        UserRepository repository = new UserRepository(new TextUserStore(databaseFile));
+
+        assertTrue(repository.mightContain("guestUser"));
+        assertNull(repository.find("newGuest"));
+        repository.addUser(new UserRecord("newGuest", 0, null, null));
+        assertTrue(repository.mightContain("newGuest"));
+        assertNotNull(repository.find("newGuest"));
+
+        BloomFilter persisted = BloomFilter.readFrom(tempDir.resolve("userDatabase.txt.bloom"));
+        for (String username : List.of("guestUser", "registered", "newGuest")) {
+            assertTrue(persisted.mightContain(username), "Persisted filter should contain " + username);
+        }
+    }
+
+    @Test
+    public void testPersistedFilterAnswersBeforeLoading() throws IOException {
+        Path databaseFile = tempDir.resolve("userDatabase.txt");
+        Files.write(databaseFile, List.of("guestUser,3"));
+        new UserRepository(new TextUserStore(databaseFile)).addUser(new UserRecord("newGuest", 0, null, null));
+
+        AtomicInteger loads = new AtomicInteger();
+        UserRepository restarted = new UserRepository(new TextUserStore(databaseFile) {
+            @Override
+            public Map<String, UserRecord> load() throws IOException {
+                loads.incrementAndGet();
+                return super.load();
+            }
+        });
+        assertNull(restarted.find("unknownGuest"));
+        assertFalse(restarted.mightContain("unknownGuest"));
+        assertEquals(0, loads.get(), "A username missing from the filter should not load the store");
+        assertEquals(0, restarted.find("newGuest").highScore());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testPersistedFilterOlderThanStoreIsIgnored() throws IOException {
+        Path databaseFile = tempDir.resolve("userDatabase.txt");
+        Files.write(databaseFile, List.of("guestUser,3"));
+        new UserRepository(new TextUserStore(databaseFile)).find("guestUser");
+
+        // Written by hand after the filter was persisted
+        Files.write(databaseFile, List.of("guestUser,3", "editedGuest,5"));
+        Files.setLastModifiedTime(databaseFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        UserRepository restarted = new UserRepository(new TextUserStore(databaseFile));
+        assertEquals(5, restarted.find("editedGuest").highScore(), "Scores should match");
+    }
+}
@@ -0,0 +1,80 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the parse throughput of {@link DelimitedTextReader} on generated TSV and CSV files and
+ * compares it with reading the lines with a {@link BufferedReader} and splitting them.
+ *
+ * <p>Usage: {@code java DelimitedTextReaderBenchmark [lines]} (default 2000000 lines).
+ */
+public class DelimitedTextReaderBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        for (String extension : new String[] {".tsv", ".csv"}) {
+            String delimiter = ".tsv".equals(extension) ? "\t" : ",";
+            Path file = Files.createTempFile("vocabulary", extension);
+            try {
+                writeFile(file, lines, delimiter);
+                double megabytes = Files.size(file) / (1024.0 * 1024.0);
+                System.out.printf("%s file with %d lines: %.1f MB%n", extension, lines, megabytes);
+                for (int run = 0; run < RUNS; run++) {
+                    boolean last = run == RUNS - 1;
+                    measure("mapped, WordTable", megabytes, last,
+                            () -> DelimitedTextReader.readWords(file).size());
+                    measure("mapped, consumer", megabytes, last, () -> {
+                        int[] count = new int[1];
+                        DelimitedTextReader.readWords(file, word -> count[0]++);
+                        return count[0];
+                    });
+                    measure("BufferedReader+split", megabytes, last, () -> splitRead(file, delimiter));
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private interface Reader {
+        int read() throws IOException;
+    }
+
+    private static int splitRead(Path file, String delimiter) throws IOException {
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(delimiter);
+                if (fields.length >= 2) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void measure(String name, double megabytes, boolean print, Reader reader)
+            throws IOException {
+        long start = System.nanoTime();
+        int words = reader.read();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (print) {
+            System.out.printf("  %-22s %8d words %7.1f ms %7.1f MB/s%n",
+                    name, words, seconds * 1000, megabytes / seconds);
+        }
+    }
+
+    private static void writeFile(Path file, int lines, String delimiter) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write("palabra" + i + delimiter + "перевод" + i + delimiter + "note\n");
+            }
+        }
+    }
+}
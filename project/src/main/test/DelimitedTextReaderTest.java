@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DelimitedTextReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<Word> read(String fileName, String content) throws IOException {
+        Path file = tempDir.resolve(fileName);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return DelimitedTextReader.readWords(file);
+    }
+
+    @Test
+    public void testReadsTabSeparatedFile() throws IOException {
+        List<Word> words = read("words.tsv", "hola\thello\nпривет\thi\textra\r\n\nsolo\nadiós\tgoodbye");
+
+        assertEquals(List.of(new Word("hola", "hello"), new Word("привет", List.of("hi", "extra")),
+                new Word("adiós", "goodbye")), words);
+    }
+
+    @Test
+    public void testReadsQuotedCommaSeparatedFile() throws IOException {
+        List<Word> words = read("words.CSV",
+                "﻿\"sí, claro\",\"yes, of course\"\n"
+                        + "\"el \"\"libro\"\"\",the book\n"
+                        + "\"dos\nlíneas\",two lines,\n"
+                        + "vacío,\n");
+
+        assertEquals(List.of(new Word("sí, claro", "yes, of course"),
+                new Word("el \"libro\"", "the book"),
+                new Word("dos\nlíneas", "two lines"),
+                new Word("vacío", "")), words);
+    }
+
+    @Test
+    public void testConsumerReceivesWordsInOrder() throws IOException {
+        Path file = tempDir.resolve("words.tsv");
+        Files.writeString(file, "uno\tone\ndos\ttwo\n");
+        List<Word> words = new ArrayList<>();
+        DelimitedTextReader.readWords(file, words::add);
+        assertEquals(List.of(new Word("uno", "one"), new Word("dos", "two")), words);
+    }
+
+    @Test
+    public void testUnsupportedExtension() {
+        assertThrows(IllegalArgumentException.class, () -> read("words.txt", "a\tb"));
+        assertNull(DelimitedTextReader.readResource("/missing_level.tsv"));
+    }
+
+    @Test
+    public void testFurtherFieldsAreSynonyms() throws IOException {
+        List<Word> words = read("words.csv", "coche,car,automobile,\n"
+                + "hola,hello,, \n"
+                + "gracias,thanks\n");
+
+        assertEquals(List.of(new Word("coche", List.of("car", "automobile")),
+                new Word("hola", "hello"),
+                new Word("gracias", "thanks")), words);
+    }
+}
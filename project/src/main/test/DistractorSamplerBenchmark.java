@@ -0,0 +1,79 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the time per multiple-choice question of {@link DistractorSampler} with the previous
+ * implementation of {@link PlayRound#generateAnswerOptions(Word, List)}, which copied and shuffled
+ * the whole word list, for word lists of 100 to 1,000,000 words.
+ *
+ * <p>Usage: {@code java DistractorSamplerBenchmark [sizes...]}.
+ */
+public class DistractorSamplerBenchmark {
+
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    /** Keeps the results alive so the JIT cannot drop the calls. */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {100, 1_000, 10_000, 100_000, 1_000_000};
+        for (int size : sizes) {
+            WordTable.Builder builder = new WordTable.Builder(size);
+            for (int i = 0; i < size; i++) {
+                builder.add("palabra" + i, "word" + i);
+            }
+            WordTable words = builder.build();
+
+            // Warm up both before measuring
+            measure(words, true);
+            measure(words, false);
+            double sampler = measure(words, true);
+            double shuffle = measure(words, false);
+            System.out.printf("%,9d words  sampler %,12.0f ns/op  shuffle %,14.0f ns/op  %,.0fx%n",
+                    size, sampler, shuffle, shuffle / sampler);
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    private static double measure(WordTable words, boolean sampler) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 16; i++) {
+                Word correct = words.get(ThreadLocalRandom.current().nextInt(words.size()));
+                List<Word> options = sampler
+                        ? PlayRound.generateAnswerOptions(correct, words)
+                        : shuffleAnswerOptions(correct, words);
+                sink += options.size();
+            }
+            operations += 16;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return (double) elapsed / operations;
+    }
+
+    /** The previous implementation of generateAnswerOptions. */
+    private static List<Word> shuffleAnswerOptions(Word correctAnswer, List<Word> words) {
+        List<Word> answerOptions = new ArrayList<>();
+        List<Word> shuffledWords = new ArrayList<>(words);
+        Random random = new Random();
+        for (int i = shuffledWords.size() - 1; i > 0; i--) {
+            int index = random.nextInt(i + 1);
+            Word temp = shuffledWords.get(index);
+            shuffledWords.set(index, shuffledWords.get(i));
+            shuffledWords.set(i, temp);
+        }
+        for (int i = 0; i < Math.min(3, shuffledWords.size()); i++) {
+            if (!shuffledWords.get(i).equals(correctAnswer)) {
+                answerOptions.add(shuffledWords.get(i));
+            }
+        }
+        answerOptions.add(random.nextInt(answerOptions.size() + 1), correctAnswer);
+        return answerOptions;
+    }
+}
@@ -0,0 +1,111 @@
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistractorSamplerTest {
+
+    private static WordTable words(int count) {
+        WordTable.Builder builder = new WordTable.Builder(count);
+        for (int i = 0; i < count; i++) {
+            builder.add("palabra" + i, "word" + i);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testDistractorsAreDistinctAndExcludeAnswer() {
+        WordTable words = words(10);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 1000; round++) {
+            Word correct = words.get(round % words.size());
+            List<Word> distractors = DistractorSampler.sample(words, correct, 3, random);
+            assertEquals(3, distractors.size());
+            assertEquals(3, new HashSet<>(distractors).size());
+            assertFalse(distractors.contains(correct));
+        }
+    }
+
+    @Test
+    public void testAnswerOptionsAlwaysHaveFourEntries() {
+        // The correct answer used to be dropped from the options if it was shuffled into the first three
+        WordTable words = words(4);
+        for (int round = 0; round < 1000; round++) {
+            Word correct = words.get(round % 4);
+            List<Word> options = PlayRound.generateAnswerOptions(correct, words);
+            assertEquals(4, options.size());
+            assertEquals(1, options.stream().filter(correct::equals).count());
+        }
+    }
+
+    @Test
+    public void testSmallAndDuplicateListsFallBackToScan() {
+        Word hola = new Word("hola", "hello");
+        List<Word> duplicates = List.of(hola, hola, hola, hola, hola, new Word("sí", "yes"));
+        List<Word> distractors = DistractorSampler.sample(duplicates, hola, 3, new SplittableRandom(1));
+        assertEquals(List.of(new Word("sí", "yes")), distractors);
+
+        assertTrue(DistractorSampler.sample(List.of(hola), hola, 3).isEmpty());
+        assertTrue(DistractorSampler.sample(List.of(), hola, 3).isEmpty());
+    }
+
+    @Test
+    public void testEveryWordCanBePicked() {
+        WordTable words = words(20);
+        int[] picks = new int[20];
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 20_000; round++) {
+            for (Word word : DistractorSampler.sample(words, words.get(0), 3, random)) {
+                picks[Integer.parseInt(word.getTranslation().substring(4))]++;
+            }
+        }
+        assertEquals(0, picks[0]);
+        for (int i = 1; i < picks.length; i++) {
+            // 60000 picks over 19 words, about 3158 each
+            assertTrue(picks[i] > 2800 && picks[i] < 3500, "Word " + i + " picked " + picks[i] + " times");
+        }
+    }
+
+    @Test
+    public void testSynonymsAreNeverDistractors() {
+        WordTable words = new WordTable.Builder(0)
+                .add("coche", List.of("car", "automobile"))
+                .add("carro", "car")
+                .add("auto", "automobile")
+                .add("hola", "hello")
+                .add("adiós", "goodbye")
+                .add("gracias", "thanks")
+                .build();
+        Word correct = words.get(0);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 1000; round++) {
+            List<Word> distractors = DistractorSampler.sample(words, correct, 3, 0.5, random);
+            assertEquals(3, distractors.size());
+            assertFalse(distractors.contains(words.get(1)));
+            assertFalse(distractors.contains(words.get(2)));
+        }
+    }
+
+    @Test
+    public void testWordsWithTheSameTranslationAreNotBothPicked() {
+        WordTable words = new WordTable.Builder(0)
+                .add("hola", "hello")
+                .add("coche", "car")
+                .add("carro", "car")
+                .add("auto", "Car")
+                .add("adiós", "goodbye")
+                .add("gracias", "thanks")
+                .build();
+        Word correct = words.get(0);
+        SplittableRandom random = new SplittableRandom(5);
+        for (int round = 0; round < 1000; round++) {
+            List<Word> distractors = DistractorSampler.sample(words, correct, 3, random);
+            assertEquals(3, distractors.size());
+            assertEquals(3, distractors.stream().map(Word::getAnswerKey).distinct().count(),
+                    "Distractors should not show the same translation twice: " + distractors);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the parse time and peak heap of {@link Utilities#readWordsFromExcel(InputStream)} (DOM)
+ * and {@link StreamingExcelReader} (SAX) on a generated workbook.
+ *
+ * <p>Usage: {@code java ExcelReaderBenchmark [rows]} (default 50000 rows).
+ */
+public class ExcelReaderBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        Path workbook = Files.createTempFile("vocabulary", ".xlsx");
+        try {
+            writeWorkbook(workbook, rows);
+            System.out.printf("Workbook with %d rows: %d KB%n", rows, Files.size(workbook) / 1024);
+
+            // Warm up both readers before measuring
+            measure("warm-up DOM", () -> domRead(workbook));
+            measure("warm-up SAX", () -> saxRead(workbook));
+
+            measure("DOM (XSSFWorkbook)", () -> domRead(workbook));
+            measure("SAX (stream)", () -> saxRead(workbook));
+            measure("SAX (file)", () -> {
+                AtomicInteger count = new AtomicInteger();
+                StreamingExcelReader.readWords(workbook.toString(), word -> count.incrementAndGet());
+                return count.get();
+            });
+        } finally {
+            Files.deleteIfExists(workbook);
+        }
+    }
+
+    private interface Reader {
+        int read() throws IOException;
+    }
+
+    private static int domRead(Path workbook) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(workbook)) {
+            return Utilities.readWordsFromExcel(inputStream).size();
+        }
+    }
+
+    private static int saxRead(Path workbook) throws IOException {
+        AtomicInteger count = new AtomicInteger();
+        try (InputStream inputStream = Files.newInputStream(workbook)) {
+            StreamingExcelReader.readWords(inputStream, word -> count.incrementAndGet());
+        }
+        return count.get();
+    }
+
+    private static void measure(String name, Reader reader) throws IOException {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        long baseline = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        int words = reader.read();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long peak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        System.out.printf("%-20s %7d words %6d ms  peak heap +%d MB%n",
+                name, words, millis, Math.max(0, peak - baseline) / (1024 * 1024));
+    }
+
+    private static void writeWorkbook(Path file, int rows) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream outputStream = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("palabra" + i);
+                row.createCell(1).setCellValue("word" + i);
+            }
+            workbook.write(outputStream);
+            workbook.dispose();
+        }
+    }
+}
@@ -80,6 +80,9 @@ public class HighScoreTest {
     public static void cleanUp() {
         try {
             Files.delete(Paths.get("userDatabase.txt"));
+            Files.deleteIfExists(Paths.get("userDatabase.txt.log"));
+            Files.deleteIfExists(Paths.get("userDatabase.txt.lock"));
+            Files.deleteIfExists(Paths.get("userDatabase.txt.bloom"));
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTest {
+
+    @Test
+    public void testTopAndRankFollowUpdates() {
+        Leaderboard leaderboard = new Leaderboard(List.of(
+                new UserRecord("anna", 10, null, null),
+                new UserRecord("ben", 30, "pw", "ben@example.com"),
+                new UserRecord("carl", 20, null, null)));
+
+        assertEquals(List.of(new RankedScores.Entry("ben", 30), new RankedScores.Entry("carl", 20)),
+                leaderboard.getTop(2));
+        assertEquals(3, leaderboard.getRank("anna"));
+
+        leaderboard.updateHighScore("anna", 40);
+        assertEquals(1, leaderboard.getRank("anna"), "Rank should follow the new high score");
+        assertEquals(3, leaderboard.getRank("carl"));
+        assertEquals(0, leaderboard.getRank("unknown"));
+    }
+
+    @Test
+    public void testViewsPerLanguageAndLevel() {
+        Leaderboard leaderboard = new Leaderboard(List.of());
+        leaderboard.addPoints("anna", "Spanish", "Beginner", 5);
+        leaderboard.addPoints("ben", "Spanish", "Beginner", 3);
+        leaderboard.addPoints("ben", "Spanish", "Beginner", 4);
+        leaderboard.addPoints("anna", "Russian", "Beginner", 8);
+
+        assertEquals(List.of(new RankedScores.Entry("ben", 7), new RankedScores.Entry("anna", 5)),
+                leaderboard.getTop("Spanish", "Beginner", 10));
+        assertEquals(1, leaderboard.getRank("anna", "Russian", "Beginner"));
+        assertEquals(0, leaderboard.getRank("ben", "Russian", "Beginner"));
+        assertTrue(leaderboard.getTop("Spanish", "Advanced", 10).isEmpty());
+
+        leaderboard.reset("ben");
+        assertEquals(1, leaderboard.getRank("anna", "Spanish", "Beginner"));
+    }
+
+    @Test
+    public void testRankedScoresMatchSortedOrder() {
+        RankedScores ranking = new RankedScores();
+        List<RankedScores.Entry> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            ranking.put("user" + i, random.nextInt(100));
+        }
+        for (int i = 0; i < 2_000; i++) {
+            // Move every user once more, so that updates are exercised as well
+            ranking.add("user" + i, random.nextInt(10));
+            if (i % 7 == 0) {
+                ranking.remove("user" + i);
+            }
+        }
+        for (int i = 0; i < 2_000; i++) {
+            Integer score = ranking.getScore("user" + i);
+            if (score != null) {
+                expected.add(new RankedScores.Entry("user" + i, score));
+            }
+        }
+        expected.sort(Comparator.comparingInt(RankedScores.Entry::score).reversed()
+                .thenComparing(RankedScores.Entry::username));
+
+        assertEquals(expected.size(), ranking.size());
+        assertEquals(expected.subList(0, 50), ranking.getTop(50));
+        for (int rank = 1; rank <= expected.size(); rank++) {
+            RankedScores.Entry entry = expected.get(rank - 1);
+            assertEquals(rank, ranking.getRank(entry.username()), "Ranks should match sorted order");
+            assertEquals(entry, ranking.getEntry(rank));
+        }
+    }
+}
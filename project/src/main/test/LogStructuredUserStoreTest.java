@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogStructuredUserStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path databaseFile;
+    private Path logFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        databaseFile = tempDir.resolve("userDatabase.txt");
+        logFile = tempDir.resolve("userDatabase.txt.log");
+        Files.write(databaseFile, List.of("guestUser,3", "registered,7,secret,mail@example.com"));
+    }
+
+    @Test
+    public void testUpdateAppendsToLogOnly() throws IOException {
+        UserRepository repository = new UserRepository(new LogStructuredUserStore(databaseFile, 100));
+        repository.updateHighScore("registered", 10);
+        repository.addUser(new UserRecord("newGuest", 0, null, null));
+
+        assertEquals(List.of("guestUser,3", "registered,7,secret,mail@example.com"),
+                Files.readAllLines(databaseFile), "Snapshot should not be rewritten");
+        List<String> log = Files.readAllLines(logFile);
+        assertEquals(List.of("=registered,10", "+newGuest,0"), log.subList(1, log.size()));
+    }
+
+    @Test
+    public void testRecoveryReplaysLog() throws IOException {
+        UserRepository repository = new UserRepository(new LogStructuredUserStore(databaseFile, 100));
+        repository.updateHighScore("registered", 10);
+        repository.updateHighScore("guestUser", 4);
+
+        Map<String, UserRecord> users = new LogStructuredUserStore(databaseFile, 100).load();
+
+        assertEquals(10, users.get("registered").highScore(), "Scores should match");
+        assertEquals("secret", users.get("registered").password());
+        assertEquals(4, users.get("guestUser").highScore(), "Scores should match");
+        assertEquals(List.of("guestUser,3", "registered,7,secret,mail@example.com"),
+                Files.readAllLines(databaseFile), "Loading should not write to the snapshot");
+    }
+
+    @Test
+    public void testReloadReplaysOnlyAppendedRecords() throws IOException {
+        UserRepository writer = new UserRepository(new LogStructuredUserStore(databaseFile, 100));
+        writer.updateHighScore("guestUser", 8);
+        LogStructuredUserStore reader = new LogStructuredUserStore(databaseFile, 100);
+        Map<String, UserRecord> users = reader.load();
+        assertFalse(reader.hasChanged(), "Store should be unchanged after loading");
+
+        writer.updateHighScore("guestUser", 9);
+        writer.addUser(new UserRecord("newGuest", 2, null, null));
+
+        assertTrue(reader.hasChanged(), "Appends of another writer should be detected");
+        Map<String, UserRecord> reloaded = reader.reload(users);
+        assertSame(users, reloaded, "Appended records should be replayed in place");
+        assertEquals(9, reloaded.get("guestUser").highScore(), "Scores should match");
+        assertEquals(2, reloaded.get("newGuest").highScore(), "Scores should match");
+        assertFalse(reader.hasChanged(), "Store should be unchanged after reloading");
+    }
+
+    @Test
+    public void testCompactionAfterThreshold() throws IOException {
+        UserRepository repository = new UserRepository(new LogStructuredUserStore(databaseFile, 3));
+        repository.updateHighScore("guestUser", 4);
+        repository.updateHighScore("guestUser", 5);
+        repository.updateHighScore("guestUser", 6);
+
+        assertEquals(List.of("guestUser,6", "registered,7,secret,mail@example.com"),
+                Files.readAllLines(databaseFile).stream().sorted().toList());
+        assertEquals(1, Files.readAllLines(logFile).size(), "Log should only contain its header");
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws IOException {
+        UserRepository repository = new UserRepository(new LogStructuredUserStore(databaseFile, 100));
+        repository.updateHighScore("guestUser", 4);
+        Files.writeString(logFile, "=guestUser,12", StandardOpenOption.APPEND);
+
+        Map<String, UserRecord> users = new LogStructuredUserStore(databaseFile, 100).load();
+
+        assertEquals(4, users.get("guestUser").highScore(), "Incomplete record should be ignored");
+
+        // A record appended after the torn one must not be glued onto it
+        UserRepository recovered = new UserRepository(new LogStructuredUserStore(databaseFile, 100));
+        recovered.updateHighScore("registered", 9);
+        users = new LogStructuredUserStore(databaseFile, 100).load();
+
+        assertEquals(4, users.get("guestUser").highScore(), "Incomplete record should be ignored");
+        assertEquals(9, users.get("registered").highScore(), "Record after torn one should be kept");
+    }
+
+    @Test
+    public void testLogOfReplacedSnapshotIsDiscarded() throws IOException {
+        UserRepository repository = new UserRepository(new LogStructuredUserStore(databaseFile, 100));
+        repository.updateHighScore("guestUser", 4);
+
+        Files.delete(databaseFile);
+        Files.write(databaseFile, List.of("otherUser,1"));
+
+        assertNull(repository.find("guestUser"));
+        assertEquals(1, repository.find("otherUser").highScore(), "Scores should match");
+    }
+
+    @Test
+    public void testLongLogIsCompactedOnRecovery() throws IOException {
+        UserRepository writer = new UserRepository(new LogStructuredUserStore(databaseFile, 100));
+        for (int i = 1; i <= 5; i++) {
+            writer.updateHighScore("guestUser", 3 + i);
+        }
+
+        UserRepository recovered = new UserRepository(new LogStructuredUserStore(databaseFile, 3));
+        assertEquals(8, recovered.find("guestUser").highScore(), "Scores should match");
+
+        assertTrue(Files.readAllLines(databaseFile).contains("guestUser,8"), "Snapshot should hold the log");
+        assertEquals(1, Files.readAllLines(logFile).size(), "Log should only hold its header");
+    }
+}
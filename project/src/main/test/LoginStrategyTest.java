@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginStrategyTest {
+
+    @BeforeAll
+    public static void setUp() throws IOException {
+        Files.write(Paths.get("userDatabase.txt"),
+                List.of("guestUser,3", "registered,7,secret,mail@example.com"));
+    }
+
+    @Test
+    public void testRegularLoginResolvesCompleteUser() {
+        RegistrierterNutzer user = new RegularLoginStrategy().authenticate("registered", "secret");
+
+        assertNotNull(user);
+        assertEquals("registered", user.getUserName(), "Usernames should match");
+        assertEquals(7, Nutzer.getUserHighscore(user), "Scores should match");
+        assertEquals("mail@example.com", user.getEmailAddress());
+        assertEquals("secret", user.getPassword());
+    }
+
+    @Test
+    public void testRegularLoginWithWrongPassword() {
+        assertNull(new RegularLoginStrategy().authenticate("registered", "wrong"));
+        assertFalse(new RegularLoginStrategy().login("unknown", "secret"));
+    }
+
+    @Test
+    public void testGuestLoginOfExistingUser() {
+        Nutzer user = new GuestLoginStrategy().authenticate("guestUser", null);
+
+        assertEquals(3, Nutzer.getUserHighscore(user), "Scores should match");
+    }
+
+    @Test
+    public void testGuestLoginAddsNewUser() throws IOException {
+        Nutzer user = new GuestLoginStrategy().authenticate("newGuest", null);
+
+        assertEquals(0, Nutzer.getUserHighscore(user), "Scores should match");
+        assertTrue(UserRepository.getInstance().contains("newGuest"));
+    }
+
+    @AfterAll
+    public static void cleanUp() throws IOException {
+        Files.delete(Paths.get("userDatabase.txt"));
+        Files.deleteIfExists(Paths.get("userDatabase.txt.log"));
+        Files.deleteIfExists(Paths.get("userDatabase.txt.lock"));
+        Files.deleteIfExists(Paths.get("userDatabase.txt.bloom"));
+    }
+}
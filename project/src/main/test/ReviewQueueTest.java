@@ -0,0 +1,228 @@
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewQueueTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static WordTable words(int count) {
+        WordTable.Builder builder = new WordTable.Builder(count);
+        for (int i = 0; i < count; i++) {
+            builder.add("palabra" + i, "word" + i);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testIntervalsFollowSm2() {
+        Word word = new Word("gato", "cat");
+        ReviewQueue queue = new ReviewQueue(List.of(word));
+
+        queue.record(word, ReviewQueue.QUALITY_CORRECT, NOW);
+        assertEquals(1, queue.getItem(word).getInterval());
+        assertEquals(NOW + ReviewQueue.DAY_MILLIS, queue.getItem(word).getDue());
+
+        queue.record(word, ReviewQueue.QUALITY_CORRECT, NOW);
+        assertEquals(6, queue.getItem(word).getInterval());
+
+        queue.record(word, ReviewQueue.QUALITY_CORRECT, NOW);
+        assertEquals(15, queue.getItem(word).getInterval());
+        assertEquals(ReviewQueue.INITIAL_EASE, queue.getItem(word).getEase(), 1e-9);
+
+        queue.record(word, ReviewQueue.QUALITY_WRONG, NOW);
+        assertEquals(0, queue.getItem(word).getRepetitions());
+        assertEquals(NOW + ReviewQueue.RELEARN_DELAY_MILLIS, queue.getItem(word).getDue());
+        assertEquals(ReviewQueue.INITIAL_EASE - 0.54, queue.getItem(word).getEase(), 1e-9);
+
+        for (int i = 0; i < 10; i++) {
+            queue.record(word, 0, NOW);
+        }
+        assertEquals(ReviewQueue.MIN_EASE, queue.getItem(word).getEase(), 1e-9);
+    }
+
+    @Test
+    public void testDueWordsComeBeforeNewWords() {
+        WordTable words = words(100);
+        ReviewQueue queue = new ReviewQueue(words, new SplittableRandom(1));
+        Word known = queue.next(NOW);
+        Word forgotten = queue.next(NOW);
+        queue.record(known, ReviewQueue.QUALITY_CORRECT, NOW);
+        queue.record(forgotten, ReviewQueue.QUALITY_WRONG, NOW);
+
+        // Before the relearn delay, new words are asked
+        Word newWord = queue.next(NOW + 1);
+        assertNotEquals(known, newWord);
+        assertNotEquals(forgotten, newWord);
+        queue.record(newWord, ReviewQueue.QUALITY_CORRECT, NOW + 1);
+
+        // After it, the forgotten word comes back before any new word
+        assertEquals(forgotten, queue.next(NOW + ReviewQueue.RELEARN_DELAY_MILLIS));
+        queue.record(forgotten, ReviewQueue.QUALITY_CORRECT, NOW + ReviewQueue.RELEARN_DELAY_MILLIS);
+
+        // The most overdue word comes first
+        assertEquals(known, queue.next(NOW + 30 * ReviewQueue.DAY_MILLIS));
+    }
+
+    @Test
+    public void testNextTakesEveryWordOnce() {
+        WordTable words = words(50);
+        ReviewQueue queue = new ReviewQueue(words, new SplittableRandom(2));
+        queue.record(words.get(3), ReviewQueue.QUALITY_WRONG, NOW);
+        Set<Word> taken = new HashSet<>();
+        Word word;
+        while ((word = queue.next(NOW)) != null) {
+            assertTrue(taken.add(word), "taken twice: " + word);
+        }
+        assertEquals(new HashSet<>(words), taken);
+    }
+
+    @Test
+    public void testUpdateKeepsStateOfRemovedWords() {
+        Word cat = new Word("gato", "cat");
+        Word dog = new Word("perro", "dog");
+        ReviewQueue queue = new ReviewQueue(List.of(cat, dog));
+        queue.record(cat, ReviewQueue.QUALITY_CORRECT, NOW);
+
+        queue.update(List.of(dog));
+        assertEquals(dog, queue.next(NOW));
+        assertNull(queue.next(NOW));
+
+        // The taken but unanswered dog is returned to the new words
+        queue.update(List.of(cat, dog));
+        assertEquals(1, queue.getNewCount());
+        assertEquals(1, queue.getItem(cat).getInterval());
+    }
+
+    @Test
+    public void testIncrementalUpdateKeepsStateOfUnchangedWords() {
+        Word cat = new Word("gato", "cat");
+        Word dog = new Word("perro", "dog");
+        Word house = new Word("casa", "house");
+        ReviewQueue queue = new ReviewQueue(List.of(cat, dog));
+        assertEquals(Set.of(cat, dog), Set.of(queue.next(NOW), queue.next(NOW)));
+        queue.record(cat, ReviewQueue.QUALITY_CORRECT, NOW);
+        queue.record(dog, ReviewQueue.QUALITY_WRONG, NOW);
+
+        queue.update(List.of(cat, house), List.of(house), List.of(dog));
+        assertEquals(1, queue.getNewCount());
+        assertEquals(house, queue.next(NOW));
+        assertEquals(cat, queue.next(NOW + ReviewQueue.DAY_MILLIS));
+        assertNull(queue.next(NOW + ReviewQueue.DAY_MILLIS), "Removed word should not be asked");
+
+        // The removed word comes back with its state
+        queue.releaseTaken();
+        queue.update(List.of(cat, dog, house), List.of(dog), List.of());
+        assertEquals(1, queue.getNewCount(), "Only the unanswered house should be new");
+        assertEquals(NOW + ReviewQueue.RELEARN_DELAY_MILLIS, queue.getItem(dog).getDue());
+        assertEquals(dog, queue.next(NOW + ReviewQueue.RELEARN_DELAY_MILLIS));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        WordTable words = words(1000);
+        ReviewQueue queue = new ReviewQueue(words, new SplittableRandom(3));
+        for (int i = 0; i < 100; i++) {
+            Word word = queue.next(NOW);
+            queue.record(word, i % 3 == 0 ? ReviewQueue.QUALITY_WRONG : ReviewQueue.QUALITY_CORRECT, NOW);
+        }
+        assertTrue(queue.isChanged());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        queue.writeTo(new DataOutputStream(bytes));
+        assertFalse(queue.isChanged());
+        // Only the asked words are stored
+        assertTrue(bytes.size() < 100 * 40, "size=" + bytes.size());
+
+        ReviewQueue read = ReviewQueue.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), true, words);
+        assertEquals(900, read.getNewCount());
+        assertEquals(queue.getDueCount(NOW + ReviewQueue.RELEARN_DELAY_MILLIS),
+                read.getDueCount(NOW + ReviewQueue.RELEARN_DELAY_MILLIS));
+        for (Word word : words) {
+            ReviewQueue.Item expected = queue.getItem(word);
+            ReviewQueue.Item actual = read.getItem(word);
+            if (expected == null) {
+                assertNull(actual);
+            } else {
+                assertEquals(expected.getDue(), actual.getDue());
+                assertEquals(expected.getInterval(), actual.getInterval());
+                assertEquals(expected.getEase(), actual.getEase(), 0.005);
+                assertEquals(expected.getRepetitions(), actual.getRepetitions());
+            }
+        }
+    }
+
+    @Test
+    public void testWriteAndReadSynonyms() throws IOException {
+        WordTable words = new WordTable.Builder(0)
+                .add("coche", List.of("car", "automobile"))
+                .add("hola", "hello")
+                .build();
+        ReviewQueue queue = new ReviewQueue(words, new SplittableRandom(3));
+        queue.record(words.get(0), ReviewQueue.QUALITY_CORRECT, NOW);
+        queue.record(words.get(1), ReviewQueue.QUALITY_WRONG, NOW);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        queue.writeTo(new DataOutputStream(bytes));
+        ReviewQueue read = ReviewQueue.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), true, words);
+
+        assertEquals(0, read.getNewCount());
+        assertEquals(1, read.getItem(words.get(0)).getRepetitions());
+        assertFalse(read.isChanged());
+
+        // No stale copy of the word is written again
+        ByteArrayOutputStream rewritten = new ByteArrayOutputStream();
+        read.writeTo(new DataOutputStream(rewritten));
+        assertArrayEquals(bytes.toByteArray(), rewritten.toByteArray());
+    }
+
+    @Test
+    public void testReadsStateWithFirstTranslationOnly() throws IOException {
+        WordTable words = new WordTable.Builder(0)
+                .add("coche", List.of("car", "automobile"))
+                .add("hola", "hello")
+                .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1);
+        out.writeUTF("coche");
+        out.writeUTF("car");
+        out.writeLong(NOW + 86_400_000L);
+        out.writeInt(1);
+        out.writeShort(250);
+        out.writeShort(1);
+
+        ReviewQueue read = ReviewQueue.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), false, words);
+        assertEquals(1, read.getNewCount());
+        assertEquals(1, read.getItem(words.get(0)).getRepetitions());
+    }
+
+    @Test
+    public void testNextIsFastForLargeLists() {
+        WordTable words = words(200_000);
+        ReviewQueue queue = new ReviewQueue(words, new SplittableRandom(4));
+        for (int i = 0; i < 100_000; i++) {
+            queue.record(queue.next(NOW), ReviewQueue.QUALITY_CORRECT, NOW + i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            long now = NOW + 2 * ReviewQueue.DAY_MILLIS + i;
+            queue.record(queue.next(now), ReviewQueue.QUALITY_CORRECT, now);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(millis < 2000, "100,000 reviews took " + millis + " ms");
+    }
+}
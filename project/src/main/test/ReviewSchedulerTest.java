@@ -0,0 +1,92 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewSchedulerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    private final List<Word> words = List.of(
+            new Word("gato", "cat"), new Word("perro", "dog"), new Word("casa", "house"));
+
+    @Test
+    public void testQueueIsWrittenAndReadLazily() throws Exception {
+        ReviewScheduler scheduler = new ReviewScheduler(directory);
+        ReviewQueue queue = scheduler.getQueue("anna", "Spanish", "Beginner", words);
+        assertSame(queue, scheduler.getQueue("anna", "Spanish", "Beginner", words));
+        assertEquals(0, Files.list(directory).count());
+
+        queue.record(words.get(0), ReviewQueue.QUALITY_WRONG, NOW);
+        scheduler.save(queue).get();
+        Path file = scheduler.fileOf("anna", "Spanish", "Beginner");
+        assertTrue(Files.exists(file));
+        scheduler.shutdown();
+
+        ReviewScheduler restarted = new ReviewScheduler(directory);
+        ReviewQueue read = restarted.getQueue("anna", "Spanish", "Beginner", words);
+        assertEquals(NOW + ReviewQueue.RELEARN_DELAY_MILLIS, read.getItem(words.get(0)).getDue());
+        assertEquals(words.get(0), read.next(NOW + ReviewQueue.RELEARN_DELAY_MILLIS));
+        assertNull(restarted.getQueue("anna", "Spanish", "Advanced", words).getItem(words.get(0)));
+        restarted.shutdown();
+    }
+
+    @Test
+    public void testUpdatePassesChangeToQueuesOfTheLevel() {
+        ReviewScheduler scheduler = new ReviewScheduler(directory);
+        ReviewQueue beginner = scheduler.getQueue("anna", "Spanish", "Beginner", words);
+        ReviewQueue advanced = scheduler.getQueue("anna", "Spanish", "Advanced", words);
+        Word asked = beginner.next(NOW);
+        beginner.record(asked, ReviewQueue.QUALITY_WRONG, NOW);
+
+        Word removed = words.stream().filter(word -> !word.equals(asked)).findFirst().orElseThrow();
+        Word tree = new Word("árbol", "tree");
+        List<Word> changed = new ArrayList<>(words);
+        changed.remove(removed);
+        changed.add(tree);
+        scheduler.update("Spanish", "Beginner", changed, List.of(tree), List.of(removed));
+
+        assertSame(beginner, scheduler.getQueue("anna", "Spanish", "Beginner", changed));
+        assertEquals(2, beginner.getNewCount(), "Only the added word should replace the removed one");
+        assertEquals(NOW + ReviewQueue.RELEARN_DELAY_MILLIS, beginner.getItem(asked).getDue());
+        assertEquals(3, advanced.getNewCount(), "Other levels should be unchanged");
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testUnchangedQueueIsNotWritten() throws Exception {
+        ReviewScheduler scheduler = new ReviewScheduler(directory);
+        scheduler.save(scheduler.getQueue("anna", "Spanish", "Beginner", words)).get();
+        scheduler.save(new ReviewQueue(words)).get();
+        assertEquals(0, Files.list(directory).count());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testFileNamesAreDistinctAndValid() {
+        ReviewScheduler scheduler = new ReviewScheduler(directory);
+        Path a = scheduler.fileOf("a~b", "Spanish", "Beginner");
+        Path b = scheduler.fileOf("a", "b~Spanish", "Beginner");
+        assertNotEquals(a, b);
+        assertEquals(directory, scheduler.fileOf("../x/y", "Spanish", "Beginner").getParent());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testCorruptFileStartsOver() throws IOException {
+        ReviewScheduler scheduler = new ReviewScheduler(directory);
+        Files.write(scheduler.fileOf("anna", "Spanish", "Beginner"), new byte[] {1, 2, 3});
+        ReviewQueue queue = scheduler.getQueue("anna", "Spanish", "Beginner", words);
+        assertEquals(3, queue.getNewCount());
+        scheduler.shutdown();
+    }
+}
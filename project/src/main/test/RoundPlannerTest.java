@@ -0,0 +1,121 @@
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoundPlannerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static WordTable words(int count) {
+        WordTable.Builder builder = new WordTable.Builder(count);
+        for (int i = 0; i < count; i++) {
+            builder.add("palabra" + i, "word" + i);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testRoundNeverRepeatsAWord() {
+        WordTable words = words(20);
+        for (int round = 0; round < 200; round++) {
+            List<RoundPlanner.QuestionPlan> plans =
+                    RoundPlanner.plan(words, new ReviewQueue(words), 15, Direction.FORWARD, NOW);
+            assertEquals(15, plans.size());
+            Set<Word> asked = new HashSet<>();
+            for (RoundPlanner.QuestionPlan plan : plans) {
+                assertTrue(asked.add(plan.word()), "repeated " + plan.word());
+            }
+        }
+    }
+
+    @Test
+    public void testQuestionsAreComplete() {
+        WordTable words = words(100);
+        List<RoundPlanner.QuestionPlan> plans =
+                RoundPlanner.plan(words, new ReviewQueue(words), 15, Direction.FORWARD, NOW);
+        for (RoundPlanner.QuestionPlan plan : plans) {
+            if (RoundPlanner.MULTIPLE_CHOICE.equals(plan.questionType())) {
+                assertEquals(4, plan.answerOptions().size());
+                assertTrue(plan.answerOptions().contains(plan.word()));
+            } else {
+                assertEquals(RoundPlanner.TRANSLATION, plan.questionType());
+                assertTrue(plan.answerOptions().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testSmallListGivesShortRound() {
+        WordTable words = words(5);
+        assertEquals(5, RoundPlanner.plan(words, new ReviewQueue(words), 15, Direction.FORWARD, NOW).size());
+    }
+
+    @Test
+    public void testUnaskedWordsAreReleased() {
+        WordTable words = words(15);
+        ReviewQueue reviews = new ReviewQueue(words);
+        List<RoundPlanner.QuestionPlan> plans = RoundPlanner.plan(words, reviews, 15, Direction.FORWARD, NOW);
+        assertNull(reviews.next(NOW));
+
+        // Only the first question was answered before the round was left
+        reviews.record(plans.get(0).word(), ReviewQueue.QUALITY_CORRECT, NOW);
+        reviews.releaseTaken();
+        assertEquals(14, reviews.getNewCount());
+        assertEquals(15, RoundPlanner.plan(words, reviews, 15, Direction.FORWARD, NOW).size());
+    }
+
+    @Test
+    public void testPlanningRunsInTheBackground() throws Exception {
+        WordTable words = words(1000);
+        Thread caller = Thread.currentThread();
+        List<RoundPlanner.QuestionPlan> plans = RoundPlanner
+                .planAsync(words, new ReviewQueue(words), 15, Direction.FORWARD)
+                .thenApply(planned -> {
+                    assertNotSame(caller, Thread.currentThread());
+                    return planned;
+                })
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(15, plans.size());
+    }
+
+    @Test
+    public void testReverseQuestionsShowTheTranslation() {
+        WordTable words = words(100);
+        List<RoundPlanner.QuestionPlan> plans =
+                RoundPlanner.plan(words, new ReviewQueue(words), 15, Direction.REVERSE, NOW);
+        assertEquals(15, plans.size());
+        for (RoundPlanner.QuestionPlan plan : plans) {
+            assertEquals(Direction.REVERSE, plan.direction());
+            assertEquals(plan.word().getTranslation(), plan.askedWord().getOriginal());
+            assertEquals(plan.word().getOriginal(), plan.askedWord().getTranslation());
+            if (RoundPlanner.MULTIPLE_CHOICE.equals(plan.questionType())) {
+                assertEquals(4, plan.answerOptions().size());
+                assertTrue(plan.answerOptions().contains(plan.askedWord()));
+                for (Word option : plan.answerOptions()) {
+                    assertTrue(option.getTranslation().startsWith("palabra"), "not an original: " + option);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMixedRoundsAskBothDirections() {
+        WordTable words = words(100);
+        Set<Direction> directions = new HashSet<>();
+        for (int round = 0; round < 10; round++) {
+            for (RoundPlanner.QuestionPlan plan :
+                    RoundPlanner.plan(words, new ReviewQueue(words), 15, Direction.MIXED, NOW)) {
+                directions.add(plan.direction());
+                if (plan.direction() == Direction.FORWARD) {
+                    assertEquals(plan.word(), plan.askedWord());
+                }
+            }
+        }
+        assertEquals(Set.of(Direction.FORWARD, Direction.REVERSE), directions);
+    }
+}
@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreBufferTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path databaseFile;
+    private UserRepository repository;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        databaseFile = tempDir.resolve("userDatabase.txt");
+        Files.write(databaseFile, List.of("guestUser,3"));
+        repository = new UserRepository(new TextUserStore(databaseFile));
+    }
+
+    @Test
+    public void testPointsAreBufferedUntilFlush() throws IOException {
+        ScoreBuffer buffer = new ScoreBuffer(repository, 60_000, 100);
+        buffer.add("guestUser", 5);
+        buffer.add("guestUser", 2);
+        buffer.add("newGuest", 1);
+
+        assertEquals(List.of("guestUser,3"), Files.readAllLines(databaseFile), "Nothing should be written yet");
+        assertEquals(10, buffer.getHighScore("guestUser"), "Buffered points should be visible");
+
+        buffer.flush();
+
+        assertEquals(10, repository.find("guestUser").highScore(), "Scores should match");
+        assertEquals(1, repository.find("newGuest").highScore(), "Scores should match");
+        assertEquals(10, buffer.getHighScore("guestUser"), "Points should not be counted twice");
+        buffer.shutdown();
+    }
+
+    @Test
+    public void testThresholdTriggersFlush() throws Exception {
+        ScoreBuffer buffer = new ScoreBuffer(repository, 60_000, 2);
+        buffer.add("guestUser", 1);
+        buffer.add("guestUser", 1);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (repository.find("guestUser").highScore() != 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(5, repository.find("guestUser").highScore(), "Scores should match");
+        buffer.shutdown();
+    }
+
+    @Test
+    public void testShutdownFlushesRemainingPoints() throws IOException {
+        ScoreBuffer buffer = new ScoreBuffer(repository, 60_000, 100);
+        buffer.add("guestUser", 4);
+        buffer.shutdown();
+
+        assertEquals(List.of("guestUser,7"), Files.readAllLines(databaseFile));
+    }
+
+    @Test
+    public void testDiscardWaitsForRunningFlush() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserRepository slowRepository = new UserRepository(new TextUserStore(databaseFile) {
+            @Override
+            public void updateAll(Collection<UserRecord> users) throws IOException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                super.updateAll(users);
+            }
+        });
+        ScoreBuffer buffer = new ScoreBuffer(slowRepository, 60_000, 100);
+        buffer.add("guestUser", 5);
+
+        Thread flush = new Thread(buffer::flush);
+        flush.start();
+        assertTrue(writing.await(5, TimeUnit.SECONDS), "Flush should start writing");
+        Thread discard = new Thread(() -> buffer.discard("guestUser"));
+        discard.start();
+        discard.join(200);
+        assertTrue(discard.isAlive(), "Discard should wait for the running flush");
+
+        release.countDown();
+        discard.join(5000);
+        assertFalse(discard.isAlive(), "Discard should finish after the flush");
+        // The reset following the discard is now written after the flushed points
+        slowRepository.updateHighScore("guestUser", 0);
+        flush.join(5000);
+        assertEquals(0, slowRepository.find("guestUser").highScore(), "Scores should match");
+        buffer.shutdown();
+    }
+}
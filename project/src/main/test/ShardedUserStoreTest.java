@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedUserStoreTest {
+
+    private static final int SHARDS = 4;
+
+    @TempDir
+    Path tempDir;
+
+    private Path databaseFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        databaseFile = tempDir.resolve("userDatabase.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            lines.add(i % 2 == 0 ? "user" + i + "," + i : "user" + i + "," + i + ",pw" + i + ",mail" + i);
+        }
+        Files.write(databaseFile, lines);
+        assertEquals(100, ShardedUserStore.split(databaseFile, SHARDS, TextUserStore::new));
+    }
+
+    @Test
+    public void testSplitRoutesEveryUserToItsShard() throws IOException {
+        ShardedUserStore store = new ShardedUserStore(databaseFile, SHARDS, TextUserStore::new);
+        Map<String, UserRecord> users = store.load();
+
+        assertEquals(100, users.size());
+        assertEquals("pw7", users.get("user7").password());
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Path shardFile = ShardedUserStore.shardFile(databaseFile, shard);
+            for (UserRecord user : new TextUserStore(shardFile).load().values()) {
+                assertEquals(shard, store.shardOf(user.username()), "User should be in its own shard");
+            }
+        }
+    }
+
+    @Test
+    public void testUpdateRewritesOnlyOneShard() throws IOException {
+        ShardedUserStore store = new ShardedUserStore(databaseFile, SHARDS, TextUserStore::new);
+        UserRepository repository = new UserRepository(store);
+        List<List<String>> before = readShards();
+
+        repository.updateHighScore("user7", 1000);
+
+        List<List<String>> after = readShards();
+        int changedShard = store.shardOf("user7");
+        for (int shard = 0; shard < SHARDS; shard++) {
+            if (shard == changedShard) {
+                assertTrue(after.get(shard).contains("user7,1000,pw7,mail7"));
+            } else {
+                assertEquals(before.get(shard), after.get(shard), "Other shards should be untouched");
+            }
+        }
+        assertEquals(1000, repository.find("user7").highScore(), "Scores should match");
+    }
+
+    @Test
+    public void testReloadReadsOnlyChangedShards() throws IOException {
+        ShardedUserStore reader = new ShardedUserStore(databaseFile, SHARDS, TextUserStore::new);
+        Map<String, UserRecord> users = reader.load();
+
+        UserRepository writer =
+                new UserRepository(new ShardedUserStore(databaseFile, SHARDS, TextUserStore::new));
+        writer.addUser(new UserRecord("newGuest", 5, null, null));
+
+        assertTrue(reader.hasChanged());
+        assertSame(users, reader.reload(users));
+        assertEquals(5, users.get("newGuest").highScore(), "Scores should match");
+        assertEquals(101, users.size());
+    }
+
+    @Test
+    public void testAggregateScansAllShards() throws IOException {
+        ShardedUserStore store = new ShardedUserStore(databaseFile, SHARDS, TextUserStore::new);
+        long total = store.aggregate(
+                users -> users.stream().mapToLong(UserRecord::highScore).sum(), Long::sum);
+        assertEquals(99 * 100 / 2, total);
+    }
+
+    @Test
+    public void testLeaderboardIsRankedShardByShard() throws IOException {
+        UserRepository repository = new UserRepository(
+                new ShardedUserStore(databaseFile, SHARDS, TextUserStore::new));
+        RankedScores ranking = repository.aggregate(Leaderboard::rank, Leaderboard::merge);
+
+        assertEquals(100, ranking.size());
+        assertEquals(new RankedScores.Entry("user99", 99), ranking.getEntry(1));
+        assertEquals(100, ranking.getRank("user0"));
+
+        // Once the index is loaded, it is ranked instead of reading the shards again
+        repository.updateHighScore("user0", 1000);
+        ranking = repository.aggregate(Leaderboard::rank, Leaderboard::merge);
+        assertEquals(1, ranking.getRank("user0"));
+    }
+
+    @Test
+    public void testDifferentShardCountIsRejected() {
+        ShardedUserStore store = new ShardedUserStore(databaseFile, SHARDS + 1, TextUserStore::new);
+        assertThrows(IOException.class, store::load);
+    }
+
+    private List<List<String>> readShards() throws IOException {
+        List<List<String>> shards = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            shards.add(Files.readAllLines(ShardedUserStore.shardFile(databaseFile, shard)));
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Compares the time to find the five most similar translations with the bigram index of {@link
+ * SimilarityIndex} and with a scan comparing every word, for word lists of 10,000 to 1,000,000
+ * random words. Also prints the time to build the index.
+ *
+ * <p>Usage: {@code java SimilarityIndexBenchmark [sizes...]}.
+ */
+public class SimilarityIndexBenchmark {
+
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    private static final int COUNT = 5;
+
+    /** Keeps the results alive so the JIT cannot drop the calls. */
+    private static long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {10_000, 100_000, 1_000_000};
+        SplittableRandom random = new SplittableRandom(1);
+        for (int size : sizes) {
+            WordTable.Builder builder = new WordTable.Builder(size);
+            for (int i = 0; i < size; i++) {
+                StringBuilder translation = new StringBuilder();
+                int length = 4 + random.nextInt(7);
+                for (int j = 0; j < length; j++) {
+                    translation.append((char) ('a' + random.nextInt(26)));
+                }
+                builder.add("palabra" + i, translation.toString());
+            }
+            WordTable words = builder.build();
+
+            long start = System.nanoTime();
+            SimilarityIndex index = words.getSimilarityIndex();
+            double build = (System.nanoTime() - start) / 1e6;
+
+            measure(words, index, true, random);
+            measure(words, index, false, random);
+            double indexed = measure(words, index, true, random);
+            double scan = measure(words, index, false, random);
+            System.out.printf("%,9d words  build %,8.0f ms  index %,12.0f ns/op  scan %,14.0f ns/op  %,.1fx%n",
+                    size, build, indexed, scan, scan / indexed);
+        }
+        System.out.println(sink == 42 ? "" : "done");
+    }
+
+    private static double measure(WordTable words, SimilarityIndex index, boolean indexed,
+            SplittableRandom random) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            Word query = words.get(random.nextInt(words.size()));
+            List<Word> similar = indexed ? index.findSimilar(query, COUNT) : scan(words, query);
+            sink += similar.size();
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return (double) elapsed / operations;
+    }
+
+    /** Compares the query with every translation. */
+    private static List<Word> scan(WordTable words, Word query) {
+        String key = query.getTranslation().toLowerCase(Locale.ROOT);
+        int radius = SimilarityIndex.maxDistance(key);
+        List<int[]> matches = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            int distance = SimilarityIndex.levenshtein(key, words.getTranslation(i).toLowerCase(Locale.ROOT));
+            if (distance > 0 && distance <= radius) {
+                matches.add(new int[] {distance, i});
+            }
+        }
+        matches.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : a[1] - b[1]);
+        List<Word> similar = new ArrayList<>(COUNT);
+        for (int i = 0; i < Math.min(COUNT, matches.size()); i++) {
+            similar.add(words.get(matches.get(i)[1]));
+        }
+        return similar;
+    }
+}
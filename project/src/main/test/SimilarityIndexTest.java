@@ -0,0 +1,147 @@
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimilarityIndexTest {
+
+    private static WordTable randomWords(int count, SplittableRandom random) {
+        WordTable.Builder builder = new WordTable.Builder(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder translation = new StringBuilder();
+            int length = 3 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                translation.append((char) ('a' + random.nextInt(6)));
+            }
+            builder.add("palabra" + i, translation.toString());
+        }
+        return builder.build();
+    }
+
+    private static List<Integer> bruteForceDistances(List<Word> words, Word query, int count) {
+        String key = query.getTranslation().trim().toLowerCase(Locale.ROOT);
+        int radius = SimilarityIndex.maxDistance(key);
+        List<Integer> distances = new ArrayList<>();
+        for (Word word : words) {
+            int distance = SimilarityIndex.levenshtein(key, word.getTranslation().toLowerCase(Locale.ROOT));
+            if (distance > 0 && distance <= radius) {
+                distances.add(distance);
+            }
+        }
+        distances.sort(Comparator.naturalOrder());
+        return distances.subList(0, Math.min(count, distances.size()));
+    }
+
+    @Test
+    public void testLevenshtein() {
+        assertEquals(0, SimilarityIndex.levenshtein("gato", "gato"));
+        assertEquals(1, SimilarityIndex.levenshtein("gato", "pato"));
+        assertEquals(1, SimilarityIndex.levenshtein("gato", "gatos"));
+        assertEquals(3, SimilarityIndex.levenshtein("kitten", "sitting"));
+        assertEquals(4, SimilarityIndex.levenshtein("", "casa"));
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(11);
+        WordTable words = randomWords(5000, random);
+        SimilarityIndex index = words.getSimilarityIndex();
+        for (int i = 0; i < 200; i++) {
+            Word query = words.get(random.nextInt(words.size()));
+            List<Word> similar = index.findSimilar(query, 5);
+            List<Integer> distances = new ArrayList<>();
+            for (Word word : similar) {
+                distances.add(SimilarityIndex.levenshtein(query.getTranslation(), word.getTranslation()));
+            }
+            assertEquals(bruteForceDistances(words, query, 5), distances);
+        }
+    }
+
+    @Test
+    public void testSameTranslationIsExcluded() {
+        List<Word> words = List.of(
+                new Word("gato", "cat"),
+                new Word("gata", "Cat"),
+                new Word("coche", "car"),
+                new Word("carro", "cart"),
+                new Word("perro", "dog"));
+        List<Word> similar = SimilarityIndex.of(words).findSimilar(new Word("gato", "cat"), 5);
+        assertEquals(List.of(new Word("coche", "car"), new Word("carro", "cart")), similar);
+    }
+
+    @Test
+    public void testSynonymsAreExcluded() {
+        List<Word> words = List.of(
+                new Word("coche", List.of("car", "cart")),
+                new Word("carro", "cart"),
+                new Word("gato", "cat"),
+                new Word("perro", "dog"));
+        List<Word> similar = SimilarityIndex.of(words)
+                .findSimilar(new Word("coche", List.of("car", "cart")), 5);
+        assertEquals(List.of(new Word("gato", "cat")), similar);
+    }
+
+    @Test
+    public void testIndexIsKeptWithTable() {
+        WordTable words = randomWords(100, new SplittableRandom(3));
+        assertSame(words.getSimilarityIndex(), SimilarityIndex.of(words));
+        assertEquals(100, SimilarityIndex.of(words).size());
+    }
+
+    @Test
+    public void testDifficultyBlendsSimilarAndRandomDistractors() {
+        WordTable.Builder builder = new WordTable.Builder(1000);
+        builder.add("casa", "house");
+        builder.add("raton", "mouse");
+        builder.add("caballo", "horse");
+        builder.add("manguera", "hose");
+        for (int i = 0; i < 996; i++) {
+            builder.add("palabra" + i, "unrelated" + i);
+        }
+        WordTable words = builder.build();
+        Word correct = words.get(0);
+        SplittableRandom random = new SplittableRandom(5);
+
+        List<Word> hard = DistractorSampler.sample(words, correct, 3, 1.0, random);
+        assertEquals(3, hard.size());
+        assertTrue(hard.containsAll(List.of(words.get(1), words.get(2), words.get(3))));
+
+        int similar = 0;
+        for (int round = 0; round < 1000; round++) {
+            List<Word> distractors = DistractorSampler.sample(words, correct, 3, 0.0, random);
+            assertEquals(3, distractors.size());
+            assertFalse(distractors.contains(correct));
+            for (Word word : distractors) {
+                if (!word.getTranslation().startsWith("unrelated")) {
+                    similar++;
+                }
+            }
+        }
+        // Random distractors hit one of the three similar words about 9 times in 1000 rounds
+        assertTrue(similar < 50, "similar=" + similar);
+
+        for (int round = 0; round < 1000; round++) {
+            List<Word> distractors = DistractorSampler.sample(words, correct, 3, 0.5, random);
+            assertEquals(3, distractors.size());
+            assertEquals(3, distractors.stream().distinct().count());
+            assertFalse(distractors.contains(correct));
+        }
+    }
+
+    @Test
+    public void testDifficultyProperty() {
+        try {
+            System.setProperty(DistractorSampler.DIFFICULTY_PROPERTY, "0.8");
+            assertEquals(0.8, DistractorSampler.getDifficulty());
+            System.setProperty(DistractorSampler.DIFFICULTY_PROPERTY, "2");
+            assertEquals(DistractorSampler.DEFAULT_DIFFICULTY, DistractorSampler.getDifficulty());
+        } finally {
+            System.clearProperty(DistractorSampler.DIFFICULTY_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingExcelReaderTest {
+
+    @Test
+    public void testStreamingReaderMatchesWorkbookReader() throws IOException {
+        for (String language : List.of("spanish", "russian")) {
+            for (String level : List.of("beginner", "intermediate", "advanced")) {
+                String resource = "/" + language + "_" + level + ".xlsx";
+                List<Word> expected;
+                try (InputStream inputStream = getClass().getResourceAsStream(resource)) {
+                    expected = Utilities.readWordsFromExcel(inputStream);
+                }
+                List<Word> actual;
+                try (InputStream inputStream = getClass().getResourceAsStream(resource)) {
+                    actual = StreamingExcelReader.readWords(inputStream);
+                }
+
+                assertFalse(actual.isEmpty(), resource + " should contain words");
+                assertEquals(expected.size(), actual.size(), "Word counts should match in " + resource);
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getOriginal(), actual.get(i).getOriginal());
+                    assertEquals(expected.get(i).getTranslation(), actual.get(i).getTranslation());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts several JVMs updating the same user database at the same time and checks that no update
+ * is lost. The throughput for each number of processes is printed.
+ */
+public class UserDatabaseStressTest {
+
+    private static final int UPDATES_PER_PROCESS = 100;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"log", "rewrite", "binary"})
+    public void testConcurrentProcessesLoseNoUpdates(String mode) throws Exception {
+        for (int processes : new int[] {1, 2, 4}) {
+            Path databaseFile = tempDir.resolve(mode + "-" + processes + ".txt");
+
+            long start = System.nanoTime();
+            List<Process> children = new ArrayList<>();
+            for (int i = 0; i < processes; i++) {
+                children.add(startWriter(databaseFile, mode, "user" + i));
+            }
+            for (Process child : children) {
+                assertTrue(child.waitFor(2, TimeUnit.MINUTES), "Writer process should finish");
+                assertEquals(0, child.exitValue(), "Writer process should succeed");
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.setProperty(UserRepository.PERSISTENCE_PROPERTY, mode);
+            UserRepository repository;
+            try {
+                repository = new UserRepository(UserRepository.createStore(databaseFile));
+            } finally {
+                System.clearProperty(UserRepository.PERSISTENCE_PROPERTY);
+            }
+            assertEquals(processes * UPDATES_PER_PROCESS, repository.find("shared").highScore(),
+                    "No update of the shared user should be lost");
+            for (int i = 0; i < processes; i++) {
+                assertEquals(UPDATES_PER_PROCESS, repository.find("user" + i).highScore(),
+                        "No update of a process's own user should be lost");
+            }
+            System.out.printf("%s: %d processes, %.0f updates/s%n",
+                    mode, processes, 2 * processes * UPDATES_PER_PROCESS / seconds);
+        }
+    }
+
+    private static Process startWriter(Path databaseFile, String mode, String username)
+            throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java,
+                "-cp", classPath(),
+                "-D" + UserRepository.PERSISTENCE_PROPERTY + "=" + mode,
+                UserDatabaseStressTest.class.getName(),
+                databaseFile.toString(), username)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    private static String classPath() {
+        // The tests may be run by a launcher with its own class loader, so add the code sources
+        List<String> entries = new ArrayList<>(List.of(System.getProperty("java.class.path")));
+        for (Class<?> type : List.of(UserDatabaseStressTest.class, UserRepository.class)) {
+            entries.add(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().getPath())
+                    .toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * Entry point of a writer process: adds one point at a time to a shared user and to the
+     * process's own user.
+     */
+    public static void main(String[] args) throws IOException {
+        UserRepository repository =
+                new UserRepository(UserRepository.createStore(new File(args[0]).toPath()));
+        for (int i = 0; i < UPDATES_PER_PROCESS; i++) {
+            repository.addToHighScore("shared", 1);
+            repository.addToHighScore(args[1], 1);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDatabaseWriterTest {
+
+    @Test
+    public void testErrorCompletesFutureAndKeepsWriterAlive() throws Exception {
+        UserDatabaseWriter writer = new UserDatabaseWriter("test-writer", 1);
+
+        CompletableFuture<Object> failed = writer.submit(() -> {
+            throw new OutOfMemoryError("simulated");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> failed.get(5, TimeUnit.SECONDS), "Future should complete with the error");
+        assertInstanceOf(OutOfMemoryError.class, e.getCause());
+
+        // More mutations than the queue holds, so they only finish if the writer thread survived
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            assertEquals(value, writer.submit(() -> value).get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -75,6 +75,9 @@ public class UserNameTest {
     public static void cleanUp() {
         try {
             Files.delete(Paths.get("userDatabase.txt"));
+            Files.deleteIfExists(Paths.get("userDatabase.txt.log"));
+            Files.deleteIfExists(Paths.get("userDatabase.txt.lock"));
+            Files.deleteIfExists(Paths.get("userDatabase.txt.bloom"));
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path databaseFile;
+    private UserRepository repository;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        databaseFile = tempDir.resolve("userDatabase.txt");
+        Files.write(databaseFile, List.of("guestUser,3", "registered,7,secret,mail@example.com"));
+        repository = new UserRepository(new TextUserStore(databaseFile));
+    }
+
+    @Test
+    public void testFindGuestAndRegisteredUser() throws IOException {
+        UserRecord guest = repository.find("guestUser");
+        assertEquals(3, guest.highScore(), "Scores should match");
+        assertFalse(guest.isRegistered());
+
+        UserRecord registered = repository.find("registered");
+        assertEquals(7, registered.highScore(), "Scores should match");
+        assertEquals("secret", registered.password());
+        assertEquals("mail@example.com", registered.email());
+
+        assertNull(repository.find("unknown"));
+    }
+
+    @Test
+    public void testUpdateHighScoreKeepsOtherColumns() throws IOException {
+        repository.updateHighScore("registered", 10);
+
+        assertEquals(10, repository.find("registered").highScore(), "Scores should match");
+        assertEquals(List.of("guestUser,3", "registered,10,secret,mail@example.com"),
+                Files.readAllLines(databaseFile));
+    }
+
+    @Test
+    public void testExternalChangeIsReloaded() throws IOException {
+        assertTrue(repository.contains("guestUser"));
+
+        Files.delete(databaseFile);
+        assertFalse(repository.contains("guestUser"));
+
+        Files.write(databaseFile, List.of("newUser,1"));
+        assertTrue(repository.contains("newUser"));
+        assertFalse(repository.contains("guestUser"));
+    }
+
+    @Test
+    public void testConcurrentUpdatesAreSerialized() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 25; j++) {
+                    repository.addToHighScoresAsync(Map.of("guestUser", 1)).join();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(203, repository.find("guestUser").highScore(), "No update should be lost");
+        assertEquals(203, new TextUserStore(databaseFile).load().get("guestUser").highScore());
+    }
+
+    @Test
+    public void testAddUser() throws IOException {
+        repository.addUser(new UserRecord("another", 0, null, null));
+
+        assertTrue(repository.contains("another"));
+        assertEquals("another,0", Files.readAllLines(databaseFile).get(2));
+    }
+}
@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VocabularyCacheTest {
+
+    private final List<Word> words = List.of(new Word("hola", "hello"), new Word("adiós", "goodbye"));
+
+    @Test
+    public void testSecondRequestIsServedFromCache() {
+        VocabularyCache cache = new VocabularyCache(4);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Word> first = cache.get("Spanish", "Beginner", () -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(words);
+        });
+        List<Word> second = cache.get("spanish", "beginner", () -> {
+            loads.incrementAndGet();
+            return words;
+        });
+
+        assertEquals(1, loads.get(), "Words should only be loaded once");
+        assertSame(first, second, "The cached list should be shared");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new Word("sí", "yes")));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedLevelIsEvicted() {
+        VocabularyCache cache = new VocabularyCache(2);
+        cache.get("Spanish", "Beginner", () -> words);
+        cache.get("Spanish", "Advanced", () -> words);
+        cache.get("Spanish", "Beginner", () -> words);
+        cache.get("Russian", "Beginner", () -> words);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        cache.get("Spanish", "Beginner", () -> words);
+        assertEquals(2, cache.getHits(), "Recently used level should still be cached");
+        cache.get("Spanish", "Advanced", () -> words);
+        assertEquals(4, cache.getMisses(), "Least recently used level should have been evicted");
+    }
+
+    @Test
+    public void testFailedOrEmptyLoadsAreNotCached() {
+        VocabularyCache cache = new VocabularyCache(2);
+        assertThrows(IllegalStateException.class, () -> cache.get("Spanish", "Beginner", () -> {
+            throw new IllegalStateException("missing");
+        }));
+        assertTrue(cache.get("Spanish", "Beginner", List::of).isEmpty());
+        assertEquals(words, cache.get("Spanish", "Beginner", () -> words));
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testLoaderErrorDoesNotBlockWaitingRequests() throws Exception {
+        VocabularyCache cache = new VocabularyCache(2);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        Thread loader = new Thread(() -> assertThrows(Error.class,
+                () -> cache.get("Spanish", "Beginner", () -> {
+                    loading.countDown();
+                    try {
+                        waiting.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new Error("broken vocabulary");
+                })));
+        loader.start();
+        loading.await();
+
+        CompletableFuture<List<Word>> waiter =
+                CompletableFuture.supplyAsync(() -> cache.get("Spanish", "Beginner", () -> words));
+        Thread.sleep(50);
+        waiting.countDown();
+        loader.join();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(Error.class, e.getCause());
+        assertEquals(words, cache.get("Spanish", "Beginner", () -> words), "The failed load should not be cached");
+    }
+
+    @Test
+    public void testFactoryUsesCache() {
+        VocabularyCatalog catalog = VocabularyCatalog.getInstance();
+        List<Word> first = catalog.getFactory("Spanish").createWord("Beginner");
+        assertFalse(first.isEmpty());
+        assertSame(first, new CatalogVocabularyFactory(catalog, "Spanish").createWord("Beginner"));
+    }
+}
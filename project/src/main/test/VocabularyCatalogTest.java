@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VocabularyCatalogTest {
+
+    private static List<VocabularyCatalog.Entry> parse(String manifest) throws IOException {
+        return VocabularyCatalog.parse(new ByteArrayInputStream(manifest.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testManifestIsParsed() throws IOException {
+        List<VocabularyCatalog.Entry> entries = parse(
+                "# language\tlevel\tresource\tformat\n\n"
+                        + "Italian\tBeginner\titalian_beginner\ttsv\n"
+                        + "Italian\tExpert\titalian_expert\tcsv\n"
+                        + "French\tBeginner\tfrench_beginner\txlsx\n");
+        VocabularyCatalog catalog = new VocabularyCatalog(entries);
+
+        assertEquals(List.of("Italian", "French"), catalog.getLanguages());
+        assertEquals(List.of("Beginner", "Expert"), catalog.getLevels());
+        assertEquals(new VocabularyCatalog.Entry("Italian", "Expert", "italian_expert", "csv"),
+                catalog.find("italian", "EXPERT"));
+        assertNull(catalog.find("French", "Expert"));
+        assertEquals("French", catalog.findByResource("french_beginner").language());
+        assertThrows(IllegalArgumentException.class, () -> parse("Italian\tBeginner\titalian_beginner\n"));
+    }
+
+    @Test
+    public void testDefaultCatalogListsBundledLevels() {
+        VocabularyCatalog catalog = VocabularyCatalog.getInstance();
+        assertEquals(List.of("Spanish", "Russian"), catalog.getLanguages());
+        assertEquals(List.of("Beginner", "Intermediate", "Advanced"), catalog.getLevels());
+        assertEquals("russian_beginner", catalog.find("Russian", "Beginner").resource());
+    }
+
+    @Test
+    public void testFactoriesAreCreatedOnDemand() {
+        VocabularyCatalog catalog = new VocabularyCatalog(List.of(
+                new VocabularyCatalog.Entry("Italian", "Beginner", "italian_missing", "tsv")));
+        VocabularyFactory factory = catalog.getFactory("italian");
+
+        assertSame(factory, catalog.getFactory("Italian"));
+        assertThrows(IllegalArgumentException.class, () -> catalog.getFactory("Klingon"));
+        assertThrows(IllegalArgumentException.class, () -> factory.createWord("Expert"));
+        assertThrows(RuntimeException.class, () -> factory.createWord("Beginner"),
+                "A missing vocabulary file should only fail when the level is used");
+    }
+
+    @Test
+    public void testFactoryReadsBundledLevel() {
+        Language language = VocabularyCatalog.getInstance().getFactory("Russian")
+                .createLanguage(new VocabularyLevel("Advanced"));
+        assertEquals("Russian", language.getName());
+        assertFalse(language.getWords().isEmpty());
+    }
+
+    @Test
+    public void testFormatsAreRegisteredWithServiceLoader() {
+        assertEquals(List.of("vocab", "tsv", "csv", "xlsx"),
+                VocabularyFormats.all().stream().map(VocabularyFormat::getName).toList());
+        assertInstanceOf(ExcelVocabularyFormat.class, VocabularyFormats.forName("XLSX"));
+        assertInstanceOf(TsvVocabularyFormat.class, VocabularyFormats.forFile("words.tsv"));
+        assertNull(VocabularyFormats.forFile("words.txt"));
+        assertThrows(IllegalArgumentException.class, () -> VocabularyFormats.forName("doc"));
+    }
+}
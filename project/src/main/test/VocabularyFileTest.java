@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.util.zip.CRC32;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VocabularyFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWriteAndReadRoundTrip() throws IOException {
+        List<Word> words = List.of(new Word("hola", "hello"), new Word("привет", "hi"),
+                new Word("", "empty original"));
+        Path file = tempDir.resolve("words.vocab");
+        VocabularyFile.write(words, file);
+
+        List<Word> read = VocabularyFile.read(file);
+        assertEquals(words.size(), read.size());
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(words.get(i).getOriginal(), read.get(i).getOriginal());
+            assertEquals(words.get(i).getTranslation(), read.get(i).getTranslation());
+        }
+    }
+
+    @Test
+    public void testCorruptedFileIsRejected() throws IOException {
+        Path file = tempDir.resolve("words.vocab");
+        VocabularyFile.write(List.of(new Word("hola", "hello")), file);
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 1] ^= 1;
+        Files.write(file, content);
+
+        IOException e = assertThrows(IOException.class, () -> VocabularyFile.read(file));
+        assertTrue(e.getMessage().contains("Checksum"));
+
+        Files.write(file, "not a vocabulary file".getBytes());
+        assertThrows(IOException.class, () -> VocabularyFile.read(file));
+    }
+
+    @Test
+    public void testCompiledDirectoryMatchesWorkbooks() throws IOException {
+        Path source = tempDir.resolve("source");
+        Files.createDirectories(source);
+        try (InputStream inputStream = getClass().getResourceAsStream("/spanish_beginner.xlsx")) {
+            Files.copy(inputStream, source.resolve("spanish_beginner.xlsx"));
+        }
+        Path target = tempDir.resolve("target");
+        assertEquals(1, VocabularyFile.compileDirectory(source, target));
+        assertEquals(0, VocabularyFile.compileDirectory(source, target), "Up-to-date files should be skipped");
+
+        List<Word> compiled = VocabularyFile.read(target.resolve("spanish_beginner.vocab"));
+        List<Word> expected;
+        try (InputStream inputStream = getClass().getResourceAsStream("/spanish_beginner.xlsx")) {
+            expected = Utilities.readWordsFromExcel(inputStream);
+        }
+        assertEquals(expected.size(), compiled.size());
+        assertEquals(expected.get(0).getTranslation(), compiled.get(0).getTranslation());
+    }
+
+    @Test
+    public void testMissingResourceFallsBack() {
+        assertNull(VocabularyFile.readResource("/missing_level.vocab"));
+    }
+
+    @Test
+    public void testSynonymsRoundTrip() throws IOException {
+        List<Word> words = List.of(new Word("coche", List.of("car", "automobile", "auto")),
+                new Word("hola", "hello"));
+        Path file = tempDir.resolve("words.vocab");
+        VocabularyFile.write(words, file);
+        assertEquals(words, VocabularyFile.read(file));
+    }
+
+    @Test
+    public void testReadsSingleTranslationVersion() throws IOException {
+        byte[] hola = "hola".getBytes(StandardCharsets.UTF_8);
+        byte[] hello = "hello".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(4 + hola.length + hello.length);
+        payload.putShort((short) hola.length).put(hola).putShort((short) hello.length).put(hello);
+        CRC32 checksum = new CRC32();
+        checksum.update(payload.array());
+        ByteBuffer content = ByteBuffer.allocate(20 + payload.capacity());
+        content.putInt(0x56545643).putInt(1).putInt(1).putInt(payload.capacity())
+                .putInt((int) checksum.getValue()).put(payload.array());
+        Path file = tempDir.resolve("old.vocab");
+        Files.write(file, content.array());
+
+        assertEquals(List.of(new Word("hola", "hello")), VocabularyFile.read(file));
+    }
+}
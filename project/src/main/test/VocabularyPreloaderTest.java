@@ -0,0 +1,117 @@
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VocabularyPreloaderTest {
+
+    private static final List<String> LANGUAGES = List.of("Spanish", "Russian");
+    private static final List<String> LEVELS = List.of("Beginner", "Intermediate", "Advanced");
+
+    private final List<Word> words = List.of(new Word("hola", "hello"));
+    private final Set<String> loaded = ConcurrentHashMap.newKeySet();
+    private Preferences preferences;
+
+    @BeforeEach
+    public void setUp() {
+        preferences = Preferences.userRoot().node("vocabtrainer-test-" + System.nanoTime());
+    }
+
+    @AfterEach
+    public void tearDown() throws BackingStoreException {
+        preferences.removeNode();
+    }
+
+    @Test
+    public void testEagerPolicyLoadsAllLevelsConcurrently() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(LANGUAGES.size() * LEVELS.size());
+        VocabularyPreloader preloader = new VocabularyPreloader(
+                VocabularyPreloader.Policy.EAGER, preferences, (language, level) -> {
+                    allStarted.countDown();
+                    try {
+                        // Only returns if every level is loading at the same time
+                        assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    loaded.add(language + "/" + level);
+                    return words;
+                });
+
+        preloader.start(LANGUAGES, LEVELS);
+
+        assertSame(words, preloader.load("Russian", "Advanced").get(10, TimeUnit.SECONDS));
+        for (String language : LANGUAGES) {
+            for (String level : LEVELS) {
+                preloader.load(language, level).get(10, TimeUnit.SECONDS);
+            }
+        }
+        assertEquals(6, loaded.size());
+    }
+
+    @Test
+    public void testLazyPolicyLoadsOnRequest() throws Exception {
+        VocabularyPreloader preloader = new VocabularyPreloader(
+                VocabularyPreloader.Policy.LAZY, preferences, this::record);
+
+        preloader.start(LANGUAGES, LEVELS);
+        assertTrue(loaded.isEmpty(), "Nothing should be loaded at startup");
+
+        assertSame(words, preloader.load("Spanish", "Beginner").get(10, TimeUnit.SECONDS));
+        assertEquals(Set.of("Spanish/Beginner"), loaded);
+    }
+
+    @Test
+    public void testLastUsedPolicyLoadsOnlyLastLevel() throws Exception {
+        VocabularyPreloader first = new VocabularyPreloader(
+                VocabularyPreloader.Policy.LAST_USED, preferences, this::record);
+        first.recordLastUsed("Russian", "Intermediate");
+
+        VocabularyPreloader preloader = new VocabularyPreloader(
+                VocabularyPreloader.Policy.LAST_USED, preferences, this::record);
+        assertEquals("Russian", preloader.getLastUsedLanguage());
+        assertEquals("Intermediate", preloader.getLastUsedLevel());
+        preloader.start(LANGUAGES, LEVELS);
+        preloader.load("Russian", "Intermediate").get(10, TimeUnit.SECONDS);
+
+        assertEquals(Set.of("Russian/Intermediate"), loaded);
+    }
+
+    @Test
+    public void testLoadIsSharedAndRetriedAfterFailure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        VocabularyPreloader preloader = new VocabularyPreloader(
+                VocabularyPreloader.Policy.LAZY, preferences, (language, level) -> {
+                    if (calls.incrementAndGet() == 1) {
+                        throw new IllegalStateException("file missing");
+                    }
+                    return words;
+                });
+
+        assertThrows(Exception.class, () -> preloader.load("Spanish", "Beginner").get(10, TimeUnit.SECONDS));
+        assertSame(words, preloader.load("Spanish", "Beginner").get(10, TimeUnit.SECONDS));
+        assertSame(preloader.load("Spanish", "Beginner"), preloader.load("spanish", "beginner"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testParsePolicy() {
+        assertEquals(VocabularyPreloader.Policy.EAGER, VocabularyPreloader.parsePolicy("eager"));
+        assertEquals(VocabularyPreloader.Policy.LAST_USED, VocabularyPreloader.parsePolicy("last_used"));
+        assertEquals(VocabularyPreloader.Policy.EAGER, VocabularyPreloader.parsePolicy(null));
+        assertEquals(VocabularyPreloader.Policy.EAGER, VocabularyPreloader.parsePolicy("sometimes"));
+    }
+
+    private List<Word> record(String language, String level) {
+        loaded.add(language + "/" + level);
+        return words;
+    }
+}
@@ -0,0 +1,150 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VocabularyWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private final BlockingQueue<VocabularyWatcher.Change> changes = new LinkedBlockingQueue<>();
+    private VocabularyWatcher watcher;
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private static String lines(int from, int to) {
+        StringBuilder content = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            content.append("palabra").append(i).append('\t').append("word").append(i).append('\n');
+        }
+        return content.toString();
+    }
+
+    private static void writeAtomically(Path file, String content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".part");
+        Files.writeString(temp, content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Test
+    public void testEditedFileIsReloadedWithDiff() throws Exception {
+        Files.writeString(directory.resolve("russian_advanced.tsv"), lines(0, 5));
+        watcher = new VocabularyWatcher(directory, VocabularyCatalog.getInstance(), changes::add);
+        watcher.start();
+
+        Path file = directory.resolve("spanish_beginner.tsv");
+        long start = System.nanoTime();
+        Files.writeString(file, lines(0, 10));
+        VocabularyWatcher.Change change = changes.poll(10, TimeUnit.SECONDS);
+        long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Reload latency: " + latencyMillis + " ms");
+
+        assertNotNull(change, "The new file should be picked up");
+        assertEquals("Spanish", change.language());
+        assertEquals("Beginner", change.level());
+        assertEquals(10, change.words().size());
+        assertTrue(latencyMillis < 5_000, "Reload took " + latencyMillis + " ms");
+
+        Files.writeString(file, lines(2, 12));
+        change = changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(change);
+        assertEquals(List.of(new Word("palabra10", "word10"), new Word("palabra11", "word11")), change.added());
+        assertEquals(List.of(new Word("palabra0", "word0"), new Word("palabra1", "word1")), change.removed());
+        assertNull(changes.poll(300, TimeUnit.MILLISECONDS), "Untouched levels should not be reloaded");
+    }
+
+    @Test
+    public void testUnreadableFileKeepsOldWords() throws Exception {
+        watcher = new VocabularyWatcher(directory, VocabularyCatalog.getInstance(), changes::add);
+        watcher.start();
+        Path file = directory.resolve("spanish_beginner.csv");
+        Files.writeString(file, "hola,hello\n");
+        assertNotNull(changes.poll(10, TimeUnit.SECONDS));
+
+        Files.writeString(file, "no delimiter here\n");
+        assertNull(changes.poll(500, TimeUnit.MILLISECONDS), "A file without words should be ignored");
+        Files.writeString(directory.resolve("notes.txt"), "not a vocabulary file");
+        Files.writeString(directory.resolve("klingon_beginner.tsv"), "nuqneH\thello\n");
+        assertNull(changes.poll(300, TimeUnit.MILLISECONDS), "Files outside the catalog should be ignored");
+    }
+
+    @Test
+    public void testReadersNeverSeeMissingWordsDuringSwaps() throws Exception {
+        VocabularyCache cache = new VocabularyCache(4);
+        cache.get("spanish", "beginner", () -> table(0, 100));
+        watcher = new VocabularyWatcher(directory, VocabularyCatalog.getInstance(), change -> {
+            cache.replace(change.language(), change.level(), change.words());
+            changes.add(change);
+        });
+        watcher.start();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger reads = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (running.get()) {
+                    List<Word> words = cache.get("spanish", "beginner", () -> {
+                        failure.set("The level was missing from the cache");
+                        return List.of();
+                    });
+                    if (words.size() != 100) {
+                        failure.set("Read a partial list of " + words.size() + " words");
+                    }
+                    reads.incrementAndGet();
+                }
+            });
+            readers[i].start();
+        }
+
+        Path file = directory.resolve("spanish_beginner.tsv");
+        for (int round = 1; round <= 10; round++) {
+            writeAtomically(file, lines(round, round + 100));
+            VocabularyWatcher.Change change = changes.poll(10, TimeUnit.SECONDS);
+            assertNotNull(change, "Round " + round + " was not reloaded");
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get(), failure.get());
+        assertTrue(reads.get() > 0);
+        assertEquals(new Word("palabra10", "word10"), cache.peek("spanish", "beginner").get(0));
+    }
+
+    @Test
+    public void testBaseName() {
+        assertEquals("spanish_beginner", VocabularyWatcher.baseName("Spanish_Beginner.XLSX"));
+        assertEquals("russian_advanced", VocabularyWatcher.baseName("russian_advanced.vocab"));
+        assertEquals("spanish", VocabularyWatcher.baseName("spanish.tsv"));
+        assertNull(VocabularyWatcher.baseName("spanish_beginner.vocab_temp"));
+    }
+
+    private static List<Word> table(int from, int to) {
+        WordTable.Builder builder = new WordTable.Builder(to - from);
+        for (int i = from; i < to; i++) {
+            builder.add("palabra" + i, "word" + i);
+        }
+        return builder.build();
+    }
+}
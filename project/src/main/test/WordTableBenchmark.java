@@ -0,0 +1,52 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the retained heap of a list of {@link Word} objects with a {@link WordTable} holding the
+ * same words, for Latin and Cyrillic vocabularies.
+ *
+ * <p>Usage: {@code java WordTableBenchmark [sizes...]} (default 10000 100000 1000000).
+ */
+public class WordTableBenchmark {
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {10_000, 100_000, 1_000_000};
+        for (int size : sizes) {
+            compare(size, "latin", i -> new Word("palabra" + i, "word" + i));
+            compare(size, "cyrillic", i -> new Word("слово" + i, "word" + i));
+        }
+    }
+
+    private static void compare(int size, String alphabet, IntFunction<Word> wordFactory) {
+        long baseline = usedHeap();
+        List<Word> words = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            words.add(wordFactory.apply(i));
+        }
+        long listBytes = usedHeap() - baseline;
+
+        WordTable table = WordTable.copyOf(words);
+        long bothBytes = usedHeap() - baseline;
+        words = null;
+        long tableBytes = usedHeap() - baseline;
+
+        System.out.printf("%,9d words %-8s  List<Word> %,12d B (%5.1f B/word)"
+                        + "  WordTable %,12d B (%5.1f B/word)  %.1fx%n",
+                size, alphabet, listBytes, (double) listBytes / size,
+                tableBytes, (double) tableBytes / size, (double) listBytes / tableBytes);
+        if (table.size() != size || bothBytes < tableBytes) {
+            throw new IllegalStateException("Unexpected measurement");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
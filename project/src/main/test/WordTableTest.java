@@ -0,0 +1,118 @@
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordTableTest {
+
+    @Test
+    public void testCopyKeepsWordsInOrder() {
+        List<Word> words = List.of(new Word("hola", "hello"), new Word("", "empty"),
+                new Word("adiós", "goodbye"));
+        WordTable table = WordTable.copyOf(words);
+
+        assertEquals(words, table);
+        assertEquals(3, table.size());
+        assertEquals("adiós", table.getOriginal(2));
+        assertEquals("goodbye", table.getTranslation(2));
+        assertEquals("", table.getOriginal(1));
+        assertEquals(words.hashCode(), table.hashCode());
+        assertSame(table, WordTable.copyOf(table), "A table should not be copied again");
+    }
+
+    @Test
+    public void testNonLatin1Text() {
+        WordTable table = new WordTable.Builder(1)
+                .add("привет", "hello")
+                .add("hola", "hi")
+                .build();
+
+        assertEquals(new Word("привет", "hello"), table.get(0));
+        assertEquals("hi", table.getTranslation(1));
+    }
+
+    @Test
+    public void testTableIsImmutable() {
+        WordTable table = WordTable.copyOf(List.of(new Word("hola", "hello")));
+        assertThrows(UnsupportedOperationException.class, () -> table.add(new Word("sí", "yes")));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getOriginal(-1));
+        assertTrue(WordTable.copyOf(List.of()).isEmpty());
+    }
+
+    @Test
+    public void testBuilderGrows() {
+        WordTable.Builder builder = new WordTable.Builder(0);
+        List<Word> words = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            builder.add("palabra" + i, "word" + i);
+            words.add(new Word("palabra" + i, "word" + i));
+        }
+        assertEquals(words, builder.build());
+    }
+
+    @Test
+    public void testLanguageStoresWordsInTable() {
+        Language language = new Language("Spanish", List.of(new Word("hola", "hello")));
+        assertInstanceOf(WordTable.class, language.getWords());
+        assertTrue(language.getWords().contains(new Word("hola", "hello")));
+    }
+
+    @Test
+    public void testWordsWithSeveralTranslations() {
+        WordTable table = new WordTable.Builder(0)
+                .add("coche", List.of("car", "automobile"))
+                .add("hola", "hello")
+                .build();
+        assertEquals(2, table.size());
+        assertEquals(new Word("coche", List.of("car", "automobile")), table.get(0));
+        assertEquals("car", table.getTranslation(0));
+        assertEquals(List.of("car", "automobile"), table.get(0).getTranslations());
+        assertEquals(List.of("hello"), table.get(1).getTranslations());
+        assertEquals(table, WordTable.copyOf(table));
+    }
+
+    @Test
+    public void testFindByTranslation() {
+        WordTable table = new WordTable.Builder(0)
+                .add("coche", List.of("car", "automobile"))
+                .add("carro", "car")
+                .add("hola", "hello")
+                .build();
+        assertEquals(List.of(table.get(0), table.get(1)), table.findByTranslation("CAR"));
+        assertEquals(List.of(table.get(0)), table.findByTranslation("automobile"));
+        assertEquals(List.of(), table.findByTranslation("bicycle"));
+    }
+
+    @Test
+    public void testIndexOfFindsWordsByTranslation() {
+        WordTable table = new WordTable.Builder(0)
+                .add("coche", List.of("car", "automobile"))
+                .add("carro", "car")
+                .add("hola", "hello")
+                .build();
+        assertEquals(1, table.indexOf(new Word("carro", "car")));
+        assertEquals(0, table.indexOf(new Word("coche", List.of("car", "automobile"))));
+        assertEquals(-1, table.indexOf(new Word("coche", "car")));
+        assertEquals(-1, table.indexOf("hola"));
+        assertTrue(table.contains(new Word("hola", "hello")));
+        assertFalse(table.contains(new Word("hola", "hi")));
+    }
+
+    @Test
+    public void testReversedTableAcceptsAllOriginals() {
+        WordTable table = new WordTable.Builder(0)
+                .add("coche", List.of("car", "automobile"))
+                .add("carro", "Car")
+                .add("hola", "hello")
+                .build();
+        WordTable reversed = table.reversed();
+        assertSame(reversed, table.reversed());
+        assertEquals(List.of(new Word("car", List.of("coche", "carro")),
+                new Word("Car", List.of("carro", "coche")),
+                new Word("hello", "hola")), reversed);
+        assertSame(reversed, new Language("Spanish", table).getReversedWords());
+    }
+}